@@ -0,0 +1,307 @@
+package Benchmarks;
+
+import static java.lang.System.out;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the scenarios in warmup and measurement iterations of a fixed time,
+ * in the manner of JMH, reporting for each one the throughput and the
+ * allocation rate, both per second and per operation.
+ *
+ * The allocation is read from the allocated bytes counter of each thread,
+ * measured and background ones alike, so it is what the operation allocates
+ * and not what the rest of the process does.
+ */
+public class BenchmarkRunner {
+
+    private final int warmup;                   // iterations not measured
+    private final int iterations;               // iterations measured
+    private final long iterationMillis;         // time of each iteration
+    private final com.sun.management.ThreadMXBean threads;    // allocation counters, null if not available
+
+    /**
+     * Public constructor
+     *
+     * @param warmup number of iterations not measured
+     * @param iterations number of iterations measured
+     * @param iterationMillis time of each iteration in milliseconds
+     */
+    public BenchmarkRunner(int warmup, int iterations, long iterationMillis) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.iterationMillis = iterationMillis;
+
+        com.sun.management.ThreadMXBean bean = null;
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+            if (!bean.isThreadAllocatedMemorySupported()) {
+                bean = null;
+            } else {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+
+        threads = bean;
+    }
+
+    /**
+     * Runs a scenario and prints each iteration and the result
+     *
+     * @param scenario to be run
+     * @return result of the measured iterations
+     * @throws Exception if the scenario fails
+     */
+    public Result run(Scenario scenario) throws Exception {
+        double[] throughput = new double[iterations];
+        double allocationRate = 0;
+        double allocationPerOp = 0;
+
+        out.printf("# %s, %d thread(s)%n", scenario.getName(), scenario.getThreads());
+
+        scenario.setUp();
+
+        try {
+            for (int i = 1; i <= warmup; i++) {
+                Iteration iteration = iterate(scenario);
+
+                out.printf("# Warmup Iteration %3d: %s%n", i, iteration);
+            }
+
+            for (int i = 1; i <= iterations; i++) {
+                Iteration iteration = iterate(scenario);
+
+                out.printf("Iteration %3d: %s%n", i, iteration);
+
+                throughput[i - 1] = iteration.getThroughput();
+                allocationRate += iteration.getAllocationRate() / iterations;
+                allocationPerOp += iteration.getAllocationPerOp() / iterations;
+            }
+        } finally {
+            scenario.tearDown();
+        }
+
+        Result result = new Result(scenario.getName(), scenario.getThreads(), throughput,
+                allocationRate, allocationPerOp);
+
+        out.println(result);
+        out.println();
+
+        return result;
+    }
+
+    /**
+     * Runs one iteration of a scenario
+     *
+     * @param scenario to be run
+     * @return measures of the iteration
+     * @throws Exception if the scenario fails
+     */
+    private Iteration iterate(Scenario scenario) throws Exception {
+        int count = scenario.getThreads();
+        long[] operations = new long[count];
+        long[] allocated = new long[count];
+        Thread[] workers = new Thread[count];
+        CountDownLatch ready = new CountDownLatch(count);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicBoolean stop = new AtomicBoolean(false);
+
+        for (int t = 0; t < count; t++) {
+            final int thread = t;
+
+            workers[t] = new Thread(() -> {
+                ready.countDown();
+
+                try {
+                    start.await();
+
+                    long before = allocatedBytes(Thread.currentThread());
+                    long done = 0;
+
+                    while (!stop.get()) {
+                        scenario.operation(thread);
+                        done++;
+                    }
+
+                    operations[thread] = done;
+                    allocated[thread] = allocatedBytes(Thread.currentThread()) - before;
+                } catch (Exception ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            }, scenario.getName() + "-" + t);
+            workers[t].start();
+        }
+
+        ready.await();
+
+        long backgroundBefore = backgroundBytes(scenario);
+        long begin = System.nanoTime();
+
+        start.countDown();
+        Thread.sleep(iterationMillis);
+
+        stop.set(true);
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long elapsed = System.nanoTime() - begin;
+        long bytes = backgroundBytes(scenario) - backgroundBefore;
+        long total = 0;
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        for (int t = 0; t < count; t++) {
+            total += operations[t];
+            bytes += allocated[t];
+        }
+
+        return new Iteration(total, elapsed, (threads == null) ? -1 : bytes);
+    }
+
+    /**
+     * Gets the bytes allocated by a thread
+     *
+     * @param thread to be read
+     * @return bytes allocated since the thread started, 0 if not available
+     */
+    private long allocatedBytes(Thread thread) {
+        return (threads == null) ? 0 : Math.max(0, threads.getThreadAllocatedBytes(thread.getId()));
+    }
+
+    /**
+     * Gets the bytes allocated by the background threads of a scenario
+     *
+     * @param scenario running
+     * @return bytes allocated by its background threads
+     */
+    private long backgroundBytes(Scenario scenario) {
+        long bytes = 0;
+
+        for (Thread thread : scenario.getBackground()) {
+            bytes += allocatedBytes(thread);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Measures of an iteration
+     */
+    private static class Iteration {
+
+        private final long operations;          // operations done by the measured threads
+        private final long elapsed;             // nanoseconds the iteration took
+        private final long allocated;           // bytes allocated, -1 if not available
+
+        Iteration(long operations, long elapsed, long allocated) {
+            this.operations = operations;
+            this.elapsed = elapsed;
+            this.allocated = allocated;
+        }
+
+        double getThroughput() {
+            return operations / (elapsed / 1e9);
+        }
+
+        double getAllocationRate() {
+            return (allocated < 0) ? Double.NaN : allocated / (elapsed / 1e9) / (1024 * 1024);
+        }
+
+        double getAllocationPerOp() {
+            return (allocated < 0 || operations == 0) ? Double.NaN : (double) allocated / operations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f ops/s, %.3f MB/s, %.1f B/op", getThroughput(), getAllocationRate(),
+                    getAllocationPerOp());
+        }
+    }
+
+    /**
+     * Result of the measured iterations of a scenario
+     */
+    public static class Result {
+
+        private final String name;
+        private final int threads;
+        private final double mean;              // mean throughput in operations per second
+        private final double deviation;         // standard deviation of the throughput
+        private final double allocationRate;    // mean allocation rate in MB per second
+        private final double allocationPerOp;   // mean bytes allocated per operation
+
+        /**
+         * Public constructor
+         *
+         * @param name of the scenario
+         * @param threads number of measured threads
+         * @param throughput of each iteration, in operations per second
+         * @param allocationRate mean allocation rate in MB per second
+         * @param allocationPerOp mean bytes allocated per operation
+         */
+        public Result(String name, int threads, double[] throughput, double allocationRate,
+                double allocationPerOp) {
+            this.name = name;
+            this.threads = threads;
+            this.allocationRate = allocationRate;
+            this.allocationPerOp = allocationPerOp;
+
+            double sum = 0;
+            double squares = 0;
+
+            for (double value : throughput) {
+                sum += value;
+            }
+            mean = sum / throughput.length;
+
+            for (double value : throughput) {
+                squares += (value - mean) * (value - mean);
+            }
+            deviation = (throughput.length > 1) ? Math.sqrt(squares / (throughput.length - 1)) : 0;
+        }
+
+        /**
+         * Gets the mean throughput
+         *
+         * @return operations per second
+         */
+        public double getThroughput() {
+            return mean;
+        }
+
+        /**
+         * Gets the mean allocation per operation
+         *
+         * @return bytes per operation
+         */
+        public double getAllocationPerOp() {
+            return allocationPerOp;
+        }
+
+        /**
+         * Formats the result as a row of the summary table
+         *
+         * @return row with the name, threads, throughput and allocation
+         */
+        public String toRow() {
+            return String.format("%-18s %7d %16.3f %14.3f %10.3f %10.1f", name, threads, mean, deviation,
+                    allocationRate, allocationPerOp);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Result \"%s\": %.3f +- %.3f ops/s, %.3f MB/s, %.1f B/op", name, mean, deviation,
+                    allocationRate, allocationPerOp);
+        }
+    }
+}
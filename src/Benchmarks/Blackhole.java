@@ -0,0 +1,41 @@
+package Benchmarks;
+
+/**
+ * Sink for the values the scenarios compute, in the manner of the JMH
+ * Blackhole, so that the compiler can not drop the code computing them.
+ *
+ * A value is compared with two volatile fields that never hold the same
+ * value. The compiler has to read both fields and keep the value, but the
+ * comparison never succeeds. A volatile read costs a plain load on most
+ * processors, which is cheaper than a volatile write per operation.
+ */
+public final class Blackhole {
+
+    private volatile int i1 = 1;
+    private volatile int i2 = 2;
+    private volatile Object o1 = new Object();
+
+    /**
+     * Consumes an int
+     *
+     * @param value to be consumed
+     */
+    public void consume(int value) {
+        if (value == i1 & value == i2) {
+            // never reached, the fields differ
+            throw new IllegalStateException("Blackhole was fooled");
+        }
+    }
+
+    /**
+     * Consumes an object
+     *
+     * @param value to be consumed
+     */
+    public void consume(Object value) {
+        if (value == o1) {
+            // never reached, the field is never handed out
+            throw new IllegalStateException("Blackhole was fooled");
+        }
+    }
+}
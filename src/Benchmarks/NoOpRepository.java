@@ -0,0 +1,91 @@
+package Benchmarks;
+
+import java.rmi.RemoteException;
+
+import Interfaces.InterfaceGeneralInformationRepository;
+import Others.UpdateBatch;
+import ServerSide.Objects.RefereeSite;
+
+/**
+ * General information repository that does nothing, so a benchmark of
+ * another shared region measures that region alone
+ */
+public class NoOpRepository implements InterfaceGeneralInformationRepository {
+
+    @Override
+    public void updateCoach(int team, int status) throws RemoteException {
+    }
+
+    @Override
+    public void updateContestant(int id, int team, int status, int strength) throws RemoteException {
+    }
+
+    @Override
+    public void updateContestantStrength(int team, int id, int strength) throws RemoteException {
+    }
+
+    @Override
+    public void updateReferee(int status) throws RemoteException {
+    }
+
+    @Override
+    public void applyUpdates(UpdateBatch batch) throws RemoteException {
+    }
+
+    @Override
+    public void printLineUpdate() throws RemoteException {
+    }
+
+    @Override
+    public void close() throws RemoteException {
+    }
+
+    @Override
+    public void printGameHeader() throws RemoteException {
+    }
+
+    @Override
+    public void printGameResult(RefereeSite.GameScore score) throws RemoteException {
+    }
+
+    @Override
+    public void printHeader() throws RemoteException {
+    }
+
+    @Override
+    public void printLegend() throws RemoteException {
+    }
+
+    @Override
+    public void printMatchDraw() throws RemoteException {
+    }
+
+    @Override
+    public void printMatchWinner(int team, int score1, int score2) throws RemoteException {
+    }
+
+    @Override
+    public void resetTeamPlacement(int id, int team) throws RemoteException {
+    }
+
+    @Override
+    public void setFlagPosition(int flagPosition) throws RemoteException {
+    }
+
+    @Override
+    public void setGameNumber(int gameNumber) throws RemoteException {
+    }
+
+    @Override
+    public void setTeamPlacement(int id, int team) throws RemoteException {
+    }
+
+    @Override
+    public void setTrialNumber(int trialNumber) throws RemoteException {
+    }
+
+    @Override
+    public boolean shutdown() throws RemoteException {
+        return true;
+    }
+}
@@ -0,0 +1,293 @@
+package Benchmarks;
+
+import static java.lang.System.out;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Phaser;
+
+import ClientSide.Main.ClientOptions;
+import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.InterfaceRefereeSite.TrialScore;
+import Others.MatchConfig;
+import Others.PullDurationModel;
+import Others.InterfaceContestant.ContestantState;
+import ServerSide.Logging.SyncLogWriter;
+import ServerSide.Objects.ContestantsBench;
+import ServerSide.Objects.GeneralInformationRepository;
+import ServerSide.Objects.Playground;
+import ServerSide.Objects.RefereeSite;
+
+/**
+ *    Benchmarks of the shared regions, called directly in a single process.
+ *
+ *    The playground, contestants bench and referee site are given a general
+ *    information repository that does nothing, so each scenario measures the
+ *    synchronisation of the region alone; the repository is measured on its
+ *    own, logging to a stream that discards the output. Every scenario
+ *    reports its throughput and allocation rate, to be compared with a
+ *    baseline before and after a change to the synchronisation.
+ */
+public class RegionBenchmarks {
+
+    /**
+    *  Main method.
+    *
+    *    @param args runtime arguments, all optional
+    *        trialCycle, seatChurn, flagReaders, printLineUpdate - scenarios to run (default all)
+    *        threads=n - threads of the contended scenarios (default 4)
+    *        warmup=n - warmup iterations (default 3)
+    *        iterations=n - measured iterations (default 5)
+    *        time=ms - time of each iteration (default 1000)
+    */
+    public static void main (String [] args) {
+
+        ClientOptions options = new ClientOptions(args, 0);
+        int threads = 4;                                               // threads of the contended scenarios
+        int warmup = 3;                                                // warmup iterations
+        int iterations = 5;                                            // measured iterations
+        int time = 1000;                                               // milliseconds of each iteration
+
+        try
+        {
+            threads = options.getInt("threads", threads);
+            warmup = options.getInt("warmup", warmup);
+            iterations = options.getInt("iterations", iterations);
+            time = options.getInt("time", time);
+        }
+        catch (NumberFormatException e)
+        {
+            out.println("threads, warmup, iterations and time must be numbers!");
+            System.exit (1);
+        }
+        if ((threads < 1) || (threads > 2 * MatchConfig.MAX_ROSTER) || (warmup < 0) || (iterations < 1) || (time < 1))
+        {
+            out.println("Invalid benchmark parameters!");
+            System.exit (1);
+        }
+
+        List<Scenario> scenarios = new ArrayList<>();
+        boolean all = !options.has("trialCycle") && !options.has("seatChurn") && !options.has("flagReaders")
+                && !options.has("printLineUpdate");
+
+        if (all || options.has("trialCycle"))
+            scenarios.add (new TrialCycle());
+        if (all || options.has("seatChurn"))
+            scenarios.add (new SeatChurn(threads));
+        if (all || options.has("flagReaders"))
+            scenarios.add (new FlagReaders(threads));
+        if (all || options.has("printLineUpdate"))
+            scenarios.add (new PrintLineUpdate(threads));
+
+        BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, time);
+        List<BenchmarkRunner.Result> results = new ArrayList<>();
+
+        out.printf("%d warmup and %d measured iterations of %d ms.%n%n", warmup, iterations, time);
+
+        try {
+            for (Scenario scenario : scenarios)
+                results.add (runner.run(scenario));
+        } catch (Exception e) {
+            out.println("Benchmark failed: " + e);
+            e.printStackTrace();
+            System.exit (1);
+        }
+
+        out.printf("%-18s %7s %16s %14s %10s %10s%n", "Scenario", "Threads", "ops/s", "error", "MB/s", "B/op");
+        for (BenchmarkRunner.Result result : results)
+            out.println(result.toRow());
+    }
+
+    /**
+     * A whole trial as the referee goes through it: both teams are checked in
+     * position, both coaches inform the referee, the referee starts the
+     * trial, waits for the pulls, asserts the result and records the trial
+     * point. The pullers of both teams run in the background as contestants
+     * do in a match: each trial they take their position, wait for the trial
+     * to start, pull and leave the playground. The referee waits for them to
+     * leave, as the coaches do at the bench, before the next trial.
+     */
+    private static class TrialCycle extends Scenario {
+
+        private final MatchConfig config = MatchConfig.getDefault();
+        private final InterfaceGeneralInformationRepository repository = new NoOpRepository();
+        private RefereeSite refereeSite;
+        private Playground playground;
+        private Phaser seated;                  // advanced when every puller of the trial has left the playground
+
+        TrialCycle() {
+            super("trialCycle", 1);
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+
+            refereeSite = new RefereeSite(repository, config, 0);
+            playground = new Playground(repository, PullDurationModel.none(), config, 0);
+            seated = new Phaser(2 * config.getPullers() + 1);
+
+            for (int team = 1; team <= 2; team++) {
+                for (int id = 1; id <= config.getPullers(); id++) {
+                    final int puller = id;
+                    final int pullerTeam = team;
+
+                    startBackground(() -> pull(puller, pullerTeam), "puller" + team + ":" + id);
+                }
+            }
+        }
+
+        @Override
+        public void operation(int thread) throws Exception {
+            playground.checkTeamPlacement(1);
+            playground.checkTeamPlacement(2);
+            refereeSite.informReferee();
+            refereeSite.informReferee();
+            refereeSite.bothTeamsReady();
+
+            blackhole.consume(playground.startPulling());
+            playground.resultAsserted();
+            seated.arriveAndAwaitAdvance();
+
+            int flag = playground.getFlagPosition();
+
+            refereeSite.addTrialPoint(flag < 0 ? TrialScore.VICTORY_TEAM_1
+                    : (flag > 0 ? TrialScore.VICTORY_TEAM_2 : TrialScore.DRAW));
+
+            if (refereeSite.getRemainingTrials() == 0) {
+                refereeSite.resetTrialPoints();
+            }
+        }
+
+        /**
+         * Life of a puller: every trial it takes its position, waits for the
+         * trial to start, pulls and leaves the playground, until the scenario
+         * is torn down. The position is taken through the asynchronous call,
+         * so that being interrupted while waiting for a trial is seen as such.
+         *
+         * @param id of the puller
+         * @param team of the puller
+         */
+        private void pull(int id, int team) {
+            try {
+                // an interrupted pull returns, and running is cleared before the interrupt
+                while (running && !Thread.currentThread().isInterrupted()) {
+                    playground.addContestantAsync(id, team, ContestantState.STAND_IN_POSITION.getId(), 10 + id)
+                            .get();
+                    playground.pullRope();
+                    playground.getContestant(id, team);
+                    seated.arrive();
+                }
+            } catch (InterruptedException ex) {
+                // torn down while waiting for a trial
+            } catch (RemoteException | ExecutionException ex) {
+                throw new IllegalStateException("Puller " + team + ":" + id + " failed", ex);
+            }
+        }
+    }
+
+    /**
+     * Contestants sitting down at the bench and getting up again, each thread
+     * being a different contestant. The match is over, so a contestant sitting
+     * down is not kept waiting to be selected.
+     */
+    private static class SeatChurn extends Scenario {
+
+        private final MatchConfig config;
+        private final InterfaceGeneralInformationRepository repository = new NoOpRepository();
+        private ContestantsBench bench;
+
+        SeatChurn(int threads) {
+            super("seatChurn", threads);
+
+            MatchConfig defaults = MatchConfig.getDefault();
+
+            config = new MatchConfig(Math.max(defaults.getRoster(), (threads + 1) / 2), defaults.getPullers(),
+                    defaults.getTrials(), defaults.getGames(), defaults.getKnockout());
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+
+            bench = new ContestantsBench(repository, config);
+            bench.interrupt(1);
+            bench.interrupt(2);
+        }
+
+        @Override
+        public void operation(int thread) throws Exception {
+            int team = thread % 2 + 1;
+            int id = thread / 2 + 1;
+
+            blackhole.consume(bench.addContestant(id, team, ContestantState.SEAT_AT_THE_BENCH.getId(), 10 + id));
+            bench.getContestant(id, team);
+        }
+    }
+
+    /**
+     * Threads reading the flag position, as the referee and coaches do
+     */
+    private static class FlagReaders extends Scenario {
+
+        private Playground playground;
+
+        FlagReaders(int threads) {
+            super("flagReaders", threads);
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+
+            playground = new Playground(new NoOpRepository(), PullDurationModel.none(), MatchConfig.getDefault(),
+                    0);
+        }
+
+        @Override
+        public void operation(int thread) throws Exception {
+            blackhole.consume(playground.getFlagPosition());
+        }
+    }
+
+    /**
+     * Threads printing the state line of the general information repository,
+     * all contending for its lock
+     */
+    private static class PrintLineUpdate extends Scenario {
+
+        private GeneralInformationRepository repository;
+
+        PrintLineUpdate(int threads) {
+            super("printLineUpdate", threads);
+        }
+
+        @Override
+        public void setUp() throws Exception {
+            super.setUp();
+
+            repository = new GeneralInformationRepository(
+                    new SyncLogWriter(new PrintWriter(OutputStream.nullOutputStream())), null,
+                    MatchConfig.getDefault());
+
+            // state lines are only printed after the header
+            repository.printHeader();
+        }
+
+        @Override
+        public void operation(int thread) throws Exception {
+            repository.printLineUpdate();
+        }
+
+        @Override
+        public void tearDown() throws Exception {
+            super.tearDown();
+
+            repository.close();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package Benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scenario measured by the benchmark runner. The runner calls the operation
+ * in a loop from each of the measured threads; the threads a scenario needs
+ * to keep the operation going, like the pullers of a trial, are started as
+ * background threads, and their allocation is measured as well. The values an
+ * operation computes are given to the blackhole, so that they are not
+ * optimised away.
+ */
+public abstract class Scenario {
+
+    private final String name;
+    private final int threads;                  // threads calling the operation
+    private final List<Thread> background;      // threads keeping the scenario going
+    protected volatile boolean running;         // cleared when the scenario is torn down
+    protected final Blackhole blackhole;        // sink of the values the operations compute
+
+    /**
+     * Constructor for the scenarios
+     *
+     * @param name of the scenario
+     * @param threads number of threads calling the operation
+     */
+    protected Scenario(String name, int threads) {
+        this.name = name;
+        this.threads = threads;
+
+        background = new ArrayList<>();
+        blackhole = new Blackhole();
+        running = false;
+    }
+
+    /**
+     * Gets the name of the scenario
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of threads calling the operation
+     *
+     * @return number of measured threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the scenario up, before the first iteration
+     *
+     * @throws Exception if the scenario can not be set up
+     */
+    public void setUp() throws Exception {
+        running = true;
+    }
+
+    /**
+     * Operation measured
+     *
+     * @param thread index of the measured thread calling it
+     * @throws Exception if the operation fails
+     */
+    public abstract void operation(int thread) throws Exception;
+
+    /**
+     * Tears the scenario down, after the last iteration. The background
+     * threads are interrupted and waited for.
+     *
+     * @throws Exception if the scenario can not be torn down
+     */
+    public void tearDown() throws Exception {
+        running = false;
+
+        for (Thread thread : background) {
+            thread.interrupt();
+        }
+        for (Thread thread : background) {
+            thread.join(1000);
+        }
+        background.clear();
+    }
+
+    /**
+     * Starts a background thread
+     *
+     * @param task to be run, until the scenario is torn down
+     * @param threadName name of the thread
+     */
+    protected void startBackground(Runnable task, String threadName) {
+        Thread thread = new Thread(task, name + "-" + threadName);
+
+        thread.setDaemon(true);
+        background.add(thread);
+        thread.start();
+    }
+
+    /**
+     * Gets the background threads
+     *
+     * @return threads started by the scenario
+     */
+    List<Thread> getBackground() {
+        return background;
+    }
+}
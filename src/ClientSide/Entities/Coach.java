@@ -2,11 +2,11 @@ package ClientSide.Entities;
 
 import java.rmi.RemoteException;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -17,17 +17,24 @@ import Interfaces.InterfacePlayground;
 import Interfaces.InterfaceRefereeSite;
 import Interfaces.InterfaceRefereeSite.TrialScore;
 import Others.InterfaceCoach;
+import Others.MatchConfig;
+import Others.MatchEvents.CoachReviewEvent;
+import Others.MatchEvents.TeamSelectionEvent;
 import Others.Tuple;
 
 /**
  * This is active class Coach which implements the InterfaceCoach
  */
-public class Coach extends Thread implements Comparable<InterfaceCoach>, InterfaceCoach {
+public class Coach implements Runnable, Comparable<InterfaceCoach>, InterfaceCoach {
+
+    private final String name;  // name of the coach, given to the thread running it
 
     private final InterfaceContestantsBench bench; // bench interface to be used
     private final InterfaceRefereeSite refereeSite; // refereeSite interface to be used
     private final InterfacePlayground playground;  // playground interface to be used
     private final InterfaceGeneralInformationRepository informationRepository; // general Information Repository interface to be used
+    private final MatchConfig config; // configuration of the match
+    private final int match; // id of the match
 
     // coach definition
     private CoachState state;
@@ -42,14 +49,18 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
      * @param refereeSite interface to be used
      * @param playground interface to be used
      * @param informationRepository interface to be used
+     * @param config configuration of the match
+     * @param match id of the match
      */
     public Coach(String name, int team,
             InterfaceContestantsBench bench,
             InterfaceRefereeSite refereeSite,
             InterfacePlayground playground,
-            InterfaceGeneralInformationRepository informationRepository) {
+            InterfaceGeneralInformationRepository informationRepository,
+            MatchConfig config,
+            int match) {
 
-        super(name);                    // giving name to thread
+        this.name = name;
 
         // initial state
         state = CoachState.WAIT_FOR_REFEREE_COMMAND;
@@ -60,7 +71,18 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
         this.refereeSite = refereeSite;
         this.playground = playground;
         this.informationRepository = informationRepository;
+        this.config = config;
+        this.match = match;
+
+    }
 
+    /**
+     * Gets the name of the coach
+     *
+     * @return name of the coach
+     */
+    public String getName() {
+        return name;
     }
 
     @Override
@@ -93,7 +115,7 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
             while (!((BooleanSupplier) () -> {
                 boolean hasMatchEnded = false;
                 try {
-                    refereeSite.isMatchEnded();
+                    hasMatchEnded = refereeSite.isMatchEnded();
                 } catch (RemoteException ex) {
                     Logger.getLogger(Coach.class.getName()).log(Level.SEVERE, null, ex);
                     System.exit(1);
@@ -122,13 +144,18 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
     /**
      * The coach selects the players for the round based on
      * a random strategy
+     *
+     * @param contestants at the bench, id and strength
+     * @param selectedContestants mask of the contestants selected for the last trial
+     * @param trialPoints of the current game
+     * @return mask of the picked contestants, bit id - 1 set for each one
      */
 
-    public Set<Integer> pickTeam(Set<Tuple<Integer, Integer>> contestants,
-        Set<Integer> selectedContestants,
+    public long pickTeam(Set<Tuple<Integer, Integer>> contestants,
+        long selectedContestants,
         List<TrialScore> trialPoints) {
 
-        Set<Integer> pickedTeam = new HashSet<>();
+        long pickedTeam = 0;
 
         List<Tuple<Integer, Integer>> contestantsList = new LinkedList<>(contestants); // List of Contestants
 
@@ -142,11 +169,11 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
         Collections.shuffle(contestantsList);
 
         for (Tuple<Integer, Integer> cont : contestants) {
-            if (pickedTeam.size() == 3) {
+            if (Long.bitCount(pickedTeam) == config.getPullers()) {
                 break;
             }
 
-            pickedTeam.add(cont.getLeft());
+            pickedTeam |= 1L << (cont.getLeft() - 1);
         }
 
         return pickedTeam;
@@ -157,7 +184,11 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
      * selected contestants array at the bench
      */
     private void callContestants() throws RemoteException{
-        Set<Integer> pickedContestants = this.pickTeam(
+        TeamSelectionEvent event = new TeamSelectionEvent();
+
+        event.begin();
+
+        long pickedContestants = this.pickTeam(
                 ((Supplier<Set<Tuple<Integer, Integer>>>) () -> {
                     Set<Tuple<Integer, Integer>> getBenches = null;
                     try {
@@ -168,16 +199,16 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
                     return getBenches;
 
                 }).get(),
-                ((Supplier<Set<Integer>>) () -> {
-                    Set<Integer> selectedContestants = null;
+                ((LongSupplier) () -> {
+                    long selectedContestants = 0;
                     try {
-                        selectedContestants = bench.getSelectedContestants(team);
+                        selectedContestants = bench.getSelectedMask(team);
                     } catch (RemoteException ex) {
                         Logger.getLogger(Coach.class.getName()).log(Level.SEVERE, null, ex);
                     }
                     return selectedContestants;
 
-                }).get(),
+                }).getAsLong(),
                 ((Supplier<List<TrialScore>>) () -> {
                     List<TrialScore> trialPoints = null;
                     try {
@@ -188,10 +219,18 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
                     return trialPoints;
                 }).get());
 
-        bench.setSelectedContestants(team, pickedContestants);
+        bench.setSelectedMask(team, pickedContestants);
 
         int checkTeamPlacement = playground.checkTeamPlacement(team);
         state = CoachState.getStateById(checkTeamPlacement);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.match = match;
+            event.team = team;
+            event.selected = pickedContestants;
+            event.commit();
+        }
     }
 
     /**
@@ -208,17 +247,29 @@ public class Coach extends Thread implements Comparable<InterfaceCoach>, Interfa
      * their strength
      */
     private void reviewNotes() throws RemoteException{
+        CoachReviewEvent event = new CoachReviewEvent();
+
+        event.begin();
+
         Set<Tuple<Integer, Integer>> contestants = bench.getBench(team);
-        Set<Integer> selectedContestants = bench.getSelectedContestants(team);
+        long selectedContestants = bench.getSelectedMask(team);
 
-        for (int i = 1; i <= 5; i++) {
-            if (selectedContestants.contains(i)) {
+        for (int i = 1; i <= config.getRoster(); i++) {
+            if ((selectedContestants & (1L << (i - 1))) != 0) {
                 bench.updateContestantStrength(i, team, -1);
             } else {
                 bench.updateContestantStrength(i, team, 1);
             }
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.match = match;
+            event.team = team;
+            event.selected = selectedContestants;
+            event.commit();
+        }
+
         int waitForNextTrial = bench.waitForNextTrial(team, state.getId());
         state = CoachState.getStateById(waitForNextTrial);
     }
@@ -7,17 +7,21 @@ import Interfaces.InterfaceGeneralInformationRepository;
 import Interfaces.InterfacePlayground;
 import Interfaces.InterfaceRefereeSite;
 import Others.InterfaceContestant;
+import Others.MatchEvents.ContestantEvent;
 import Others.Tuple;
 
 /**
  * This is active class Contestant which implements the InterfaceContestant
  */
-public class Contestant extends Thread implements Comparable<InterfaceContestant>, InterfaceContestant {
+public class Contestant implements Runnable, Comparable<InterfaceContestant>, InterfaceContestant {
+
+    private final String name;  // name of the contestant, given to the thread running it
 
     private final InterfaceContestantsBench bench; // bench interface to be used
     private final InterfacePlayground playground; // playground interface to be used
     private final InterfaceRefereeSite refereeSite; // refereeSite interface to be used
     private final InterfaceGeneralInformationRepository informationRepository; // general Information Repository interface to be used
+    private final int match; // id of the match
 
     // contestant definition
     private ContestantState state;
@@ -37,14 +41,16 @@ public class Contestant extends Thread implements Comparable<InterfaceContestant
      * @param playground interface to be used
      * @param refereeSite interface to be used
      * @param informationRepository interface to be used
+     * @param match id of the match
      */
     public Contestant(String name, int team, int id, int strength,
             InterfaceContestantsBench bench,
             InterfacePlayground playground,
             InterfaceRefereeSite refereeSite,
-            InterfaceGeneralInformationRepository informationRepository) {
+            InterfaceGeneralInformationRepository informationRepository,
+            int match) {
 
-        super(name);
+        this.name = name;
 
         state = ContestantState.SEAT_AT_THE_BENCH;
 
@@ -56,7 +62,17 @@ public class Contestant extends Thread implements Comparable<InterfaceContestant
         this.playground = playground;
         this.refereeSite = refereeSite;
         this.informationRepository = informationRepository;
+        this.match = match;
+
+    }
 
+    /**
+     * Gets the name of the contestant
+     *
+     * @return name of the contestant
+     */
+    public String getName() {
+        return name;
     }
 
     @Override
@@ -131,11 +147,17 @@ public class Contestant extends Thread implements Comparable<InterfaceContestant
      * playground
      */
     private void followCoachAdvice() throws RemoteException{
+        ContestantEvent event = new ContestantEvent();
+
+        event.begin();
+
         bench.getContestant(id, team);
 
         if (!refereeSite.isMatchEnded()) {
             int addContestant = playground.addContestant(id, team, state.getId(), strength);
             state = ContestantState.getStateById(addContestant);
+
+            commit(event, "stand");
         }
     }
 
@@ -151,7 +173,13 @@ public class Contestant extends Thread implements Comparable<InterfaceContestant
      * Contestant pulls the rope
      */
     private void pullTheRope()throws RemoteException{
+        ContestantEvent event = new ContestantEvent();
+
+        event.begin();
+
         playground.pullRope();
+
+        commit(event, "pull");
     }
 
     /**
@@ -159,11 +187,35 @@ public class Contestant extends Thread implements Comparable<InterfaceContestant
      * SEAT_AT_THE_BENCH
      */
     private void seatDown() throws RemoteException{
+        ContestantEvent event = new ContestantEvent();
+
+        event.begin();
+
         playground.getContestant(id, team);
         Tuple<Integer, Integer> addContestant = bench.addContestant(id, team, state.getId(), strength);
 
         state = ContestantState.getStateById(addContestant.getLeft());
         strength = addContestant.getRight();
+
+        commit(event, "seat");
+    }
+
+    /**
+     * Ends the event of an action of the contestant and commits it
+     *
+     * @param event of the action
+     * @param action stand, pull or seat
+     */
+    private void commit(ContestantEvent event, String action) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.match = match;
+            event.team = team;
+            event.id = id;
+            event.action = action;
+            event.strength = strength;
+            event.commit();
+        }
     }
 
     @Override
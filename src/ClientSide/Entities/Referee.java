@@ -15,21 +15,34 @@ import Interfaces.InterfaceRefereeSite;
 import Interfaces.InterfaceRefereeSite.GameScore;
 import Interfaces.InterfaceRefereeSite.TrialScore;
 import Others.InterfaceReferee;
+import Others.MatchConfig;
+import Others.MatchEvents.GameEvent;
+import Others.MatchEvents.TrialEvent;
 
 /**
  * This is an active class implements the Referee and his interactions in the
  * passive classes
  */
-public class Referee extends Thread implements InterfaceReferee {
+public class Referee implements Runnable, InterfaceReferee {
+
+    private final String name;  // name of the referee, given to the thread running it
 
     private final InterfaceRefereeSite refereeSite; // referee site interface to be used
     private final InterfacePlayground playground; // playground interface to be used
     private final InterfaceGeneralInformationRepository informationRepository; // general Information Repository interface to be used
     private final InterfaceContestantsBench bench; // list of benches to be used
+    private final MatchConfig config; // configuration of the match
+    private final int match; // id of the match
 
     // referee definition
     private RefereeState state;
 
+    // lifecycle events of the game and trial being played
+    private int game;
+    private int trial;
+    private GameEvent gameEvent;
+    private TrialEvent trialEvent;
+
     /**
      * Referee initialisation
      *
@@ -38,14 +51,18 @@ public class Referee extends Thread implements InterfaceReferee {
      * @param playground interface
      * @param refereeSite interface
      * @param informationRepository interface
+     * @param config configuration of the match
+     * @param match id of the match
      */
     public Referee(String name,
             InterfaceContestantsBench bench,
             InterfacePlayground playground,
             InterfaceRefereeSite refereeSite,
-            InterfaceGeneralInformationRepository informationRepository) {
+            InterfaceGeneralInformationRepository informationRepository,
+            MatchConfig config,
+            int match) {
 
-        super(name);
+        this.name = name;
 
         state = RefereeState.START_OF_THE_MATCH;
 
@@ -54,6 +71,17 @@ public class Referee extends Thread implements InterfaceReferee {
         this.playground = playground;
         this.refereeSite = refereeSite;
         this.informationRepository = informationRepository;
+        this.config = config;
+        this.match = match;
+    }
+
+    /**
+     * Gets the name of the referee
+     *
+     * @return name of the referee
+     */
+    public String getName() {
+        return name;
     }
 
     @Override
@@ -118,6 +146,11 @@ public class Referee extends Thread implements InterfaceReferee {
      * positions for that a new game takes place.
      */
     private void announceNewGame() throws RemoteException{
+        game++;
+        trial = 0;
+        gameEvent = new GameEvent();
+        gameEvent.begin();
+
         refereeSite.resetTrialPoints();
 
         playground.setFlagPosition(0);
@@ -147,6 +180,10 @@ public class Referee extends Thread implements InterfaceReferee {
      * to TEAMS_READY and blocks waiting for the coaches to wake him.
      */
     private void callTrial() throws RemoteException{
+        trial++;
+        trialEvent = new TrialEvent();
+        trialEvent.begin();
+
         informationRepository.setTrialNumber(((Supplier<Integer>) () -> {
             List<TrialScore> trialPoints = null;
             try {
@@ -182,17 +219,31 @@ public class Referee extends Thread implements InterfaceReferee {
         int lastFlagPosition = playground.getLastFlagPosition();
         int flagPosition = playground.getFlagPosition();
 
+        TrialScore score;
+
         if (flagPosition - lastFlagPosition == 0) {
-            refereeSite.addTrialPoint(TrialScore.DRAW);
+            score = TrialScore.DRAW;
         } else if (flagPosition - lastFlagPosition < 0) {
-            refereeSite.addTrialPoint(TrialScore.VICTORY_TEAM_1);
+            score = TrialScore.VICTORY_TEAM_1;
         } else {
-            refereeSite.addTrialPoint(TrialScore.VICTORY_TEAM_2);
+            score = TrialScore.VICTORY_TEAM_2;
         }
+        refereeSite.addTrialPoint(score);
 
         informationRepository.setFlagPosition(flagPosition);
 
         playground.resultAsserted();
+
+        trialEvent.end();
+        if (trialEvent.shouldCommit()) {
+            trialEvent.match = match;
+            trialEvent.game = game;
+            trialEvent.trial = trial;
+            trialEvent.result = score.name();
+            trialEvent.flagDelta = flagPosition - lastFlagPosition;
+            trialEvent.flagPosition = flagPosition;
+            trialEvent.commit();
+        }
     }
 
     /**
@@ -202,36 +253,35 @@ public class Referee extends Thread implements InterfaceReferee {
         List<TrialScore> trialPoints = refereeSite.getTrialPoints();
         int flagPosition = playground.getFlagPosition();
 
-        switch (flagPosition) {
+        GameScore result;
+
+        if (flagPosition <= -config.getKnockout()) {
             // To the left
-            case -4:
-                refereeSite.addGamePoint(GameScore.VICTORY_TEAM_1_BY_KNOCKOUT);
-                break;
+            result = GameScore.VICTORY_TEAM_1_BY_KNOCKOUT;
+        } else if (flagPosition >= config.getKnockout()) {
             // To the right
-            case 4:
-                refereeSite.addGamePoint(GameScore.VICTORY_TEAM_2_BY_KNOCKOUT);
-                break;
-            default:
-                int team1 = 0;
-                int team2 = 0;
-
-                for (TrialScore score : trialPoints) {
-                    if (score == TrialScore.VICTORY_TEAM_1) {
-                        team1++;
-                    } else if (score == TrialScore.VICTORY_TEAM_2) {
-                        team2++;
-                    }
+            result = GameScore.VICTORY_TEAM_2_BY_KNOCKOUT;
+        } else {
+            int team1 = 0;
+            int team2 = 0;
+
+            for (TrialScore score : trialPoints) {
+                if (score == TrialScore.VICTORY_TEAM_1) {
+                    team1++;
+                } else if (score == TrialScore.VICTORY_TEAM_2) {
+                    team2++;
                 }
+            }
 
-                if (team1 == team2) {
-                    refereeSite.addGamePoint(GameScore.DRAW);
-                } else if (team1 > team2) {
-                    refereeSite.addGamePoint(GameScore.VICTORY_TEAM_1_BY_POINTS);
-                } else {
-                    refereeSite.addGamePoint(GameScore.VICTORY_TEAM_2_BY_POINTS);
-                }
-                break;
+            if (team1 == team2) {
+                result = GameScore.DRAW;
+            } else if (team1 > team2) {
+                result = GameScore.VICTORY_TEAM_1_BY_POINTS;
+            } else {
+                result = GameScore.VICTORY_TEAM_2_BY_POINTS;
+            }
         }
+        refereeSite.addGamePoint(result);
 
         setRefereeState(RefereeState.END_OF_A_GAME);
         informationRepository.updateReferee(state.getId());
@@ -245,6 +295,15 @@ public class Referee extends Thread implements InterfaceReferee {
             }
             return gamePoints.get(gamePoints.size() - 1);
         }).get());
+
+        gameEvent.end();
+        if (gameEvent.shouldCommit()) {
+            gameEvent.match = match;
+            gameEvent.game = game;
+            gameEvent.result = result.name();
+            gameEvent.flagPosition = flagPosition;
+            gameEvent.commit();
+        }
     }
 
     /**
@@ -294,7 +353,7 @@ public class Referee extends Thread implements InterfaceReferee {
     private boolean isGameEnd() throws RemoteException {
 
         if (Math.abs(((Supplier<Integer>) () -> {
-            int flagPosition = (Integer) null;
+            int flagPosition = 0;
             try {
                 flagPosition = playground.getFlagPosition();
             } catch (RemoteException ex) {
@@ -302,10 +361,10 @@ public class Referee extends Thread implements InterfaceReferee {
             }
             return flagPosition;
 
-        }).get()) >= 4) {
+        }).get()) >= config.getKnockout()) {
             return true;
         } else if (((Supplier<Integer>) () -> {
-            int remainingTrials = (Integer) null;
+            int remainingTrials = 0;
             try {
                 remainingTrials = refereeSite.getRemainingTrials();
             } catch(RemoteException ex) {
@@ -340,16 +399,16 @@ public class Referee extends Thread implements InterfaceReferee {
             }
         }
 
-        return team1 == (Math.floor(3 / 2) + 1)
-                || team2 == (Math.floor(3 / 2) + 1)
+        return team1 == config.getGamesToWin()
+                || team2 == config.getGamesToWin()
                 || ((Supplier<Integer>) () -> {
-                    int remainingTrials = (Integer) null;
+                    int remainingGames = 0;
                     try {
-                        remainingTrials = refereeSite.getRemainingTrials();
+                        remainingGames = refereeSite.getRemainingGames();
                     } catch(RemoteException ex) {
                         Logger.getLogger(Referee.class.getName()).log(Level.SEVERE, null, ex);
                     }
-                    return remainingTrials;
+                    return remainingGames;
                 }).get() == 0;
     }
 
@@ -10,10 +10,13 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import ClientSide.Entities.Coach;
+import ClientSide.Stubs.CoalescingRepositoryProxy;
 import Interfaces.InterfaceContestantsBench;
 import Interfaces.InterfaceGeneralInformationRepository;
 import Interfaces.InterfacePlayground;
 import Interfaces.InterfaceRefereeSite;
+import Interfaces.Register;
+import Others.MatchConfig;
 
 /**
  *    Client side of the Rope Game (coach).
@@ -29,6 +32,12 @@ public class ClientCoach {
     *    @param args runtime arguments
     *        args[0] - name of the platform where is located the RMI registering service
     *        args[1] - port number where the registering service is listening to service requests
+    *        coalesce[=ms] - optional, buffers the updates to the general information
+    *                        repository and sends them every ms milliseconds
+    *        match=n - optional, id of the match to play, among the matches hosted
+    *                  by the servers
+    *        virtual - optional, runs the entities on virtual threads if the Java
+    *                  runtime has them
     */
     public static void main (String [] args) throws RemoteException {
 
@@ -37,7 +46,7 @@ public class ClientCoach {
 
         /* getting problem runtime parameters */
 
-        if (args.length != 2)
+        if (args.length < 2)
         { 
             out.println("Wrong number of parameters!");
             System.exit (1);
@@ -64,7 +73,9 @@ public class ClientCoach {
         InterfaceContestantsBench benchStub = null;
         InterfaceRefereeSite refsiteStub = null;
         Registry registry = null;
+        MatchConfig config = null;
         Coach [] coach = new Coach [2]; 
+        Thread [] thread = new Thread [2];
 
         try {
             registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
@@ -74,38 +85,76 @@ public class ClientCoach {
             System.exit (1);
         }
 
+        ClientOptions options = new ClientOptions(args, 2);
+        MatchRegistry matchRegistry = null;
+
+        try
+        {
+            matchRegistry = new MatchRegistry(registry, options.getInt("match", -1));
+        }
+        catch (NumberFormatException e)
+        {
+            out.println("match is not a number!");
+            System.exit (1);
+        }
+
         try {
-            girStub = (InterfaceGeneralInformationRepository) registry.lookup(rmiRegHostName);
-            playgroundStub = (InterfacePlayground) registry.lookup(rmiRegHostName);
-            benchStub = (InterfaceContestantsBench) registry.lookup(rmiRegHostName);
-            refsiteStub = (InterfaceRefereeSite) registry.lookup(rmiRegHostName);
+            girStub = matchRegistry.lookup("GeneralRepository");
+            playgroundStub = matchRegistry.lookup("Playground");
+            benchStub = matchRegistry.lookup("ContestantsBench");
+            refsiteStub = matchRegistry.lookup("RefereeSite");
+            config = ((Register) registry.lookup("RegisterHandler")).getMatchConfig();
         } catch (RemoteException | NotBoundException ex) {
             Logger.getLogger(ClientCoach.class.getName()).log(Level.SEVERE, null, ex);
             System.exit(1);
         }
 
+        if (options.has("coalesce")) {
+            try
+            {
+                CoalescingRepositoryProxy coalescing = new CoalescingRepositoryProxy(girStub,
+                        options.getInt("coalesce", CoalescingRepositoryProxy.DEFAULT_FLUSH_INTERVAL));
+
+                girStub = coalescing;
+                playgroundStub = coalescing.flushBefore(InterfacePlayground.class, playgroundStub);
+                benchStub = coalescing.flushBefore(InterfaceContestantsBench.class, benchStub);
+                refsiteStub = coalescing.flushBefore(InterfaceRefereeSite.class, refsiteStub);
+            }
+            catch (NumberFormatException e)
+            {
+                out.println("coalesce is not a number!");
+                System.exit (1);
+            }
+        }
+
+        EntityThreads threads = new EntityThreads(options.has("virtual"));
+
         for (int i = 0; i < 2; i++)
             coach[i] = new Coach ("Coach_" + (i+1), i+1,
-            benchStub, refsiteStub, playgroundStub, girStub);
+            benchStub, refsiteStub, playgroundStub, girStub, config, matchRegistry.getMatch());
 
         /* start of the simulation */
 
         for (int i = 0; i < 2; i++) {
             out.println("Coach" + i + " started.");
-            coach[i].start ();
+            thread[i] = threads.start (coach[i], coach[i].getName());
         }
 
         for (int i = 0; i < 2; i++) {
             try {
-                coach[i].join();
+                thread[i].join();
             } catch (InterruptedException e) {}
             out.println("The coach " + (i+1) + " has terminated.");
         }
 
-        girStub.shutdown();
-        playgroundStub.shutdown();
-        benchStub.shutdown();
-        refsiteStub.shutdown();
+        /* one shutdown vote for each coach */
+
+        for (int i = 0; i < 2; i++) {
+            girStub.shutdown();
+            playgroundStub.shutdown();
+            benchStub.shutdown();
+            refsiteStub.shutdown();
+        }
 
     }
 }
@@ -0,0 +1,182 @@
+package ClientSide.Main;
+
+import static java.lang.System.out;
+
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.rmi.RemoteException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import ClientSide.Entities.Coach;
+import ClientSide.Entities.Contestant;
+import ClientSide.Entities.Referee;
+import Others.MatchConfig;
+import Others.PullDurationModel;
+import ServerSide.Logging.AsyncLogWriter;
+import ServerSide.Logging.LogWriter;
+import ServerSide.Logging.SyncLogWriter;
+import ServerSide.Objects.ContestantsBench;
+import ServerSide.Objects.GeneralInformationRepository;
+import ServerSide.Objects.Playground;
+import ServerSide.Objects.RefereeSite;
+
+/**
+ *    Colocated Rope Game: the entities and the shared regions of one or more
+ *    matches in a single process.
+ *
+ *    The entities call the shared regions directly, without the RMI registry,
+ *    serialization or the network, so the time taken is the cost of the
+ *    synchronisation alone. It is the baseline the distributed runs are
+ *    compared with.
+ */
+public class ClientColocated {
+
+    /**
+    *  Main method.
+    *
+    *    @param args runtime arguments, all optional
+    *        matches=n - number of matches to play (default 1)
+    *        log=mode - log of each match: sync (default), async or none
+    *        throughput - pulls take no time
+    *        platform - runs the entities on platform threads instead of virtual ones
+    *        roster=n, pullers=n, trials=n, games=n, knockout=n - match configuration
+    */
+    public static void main (String [] args) {
+
+        ClientOptions options = new ClientOptions(args, 0);
+        MatchConfig config = null;                                     // configuration of the matches
+        int matches = 1;                                               // number of matches to play
+        String logMode = options.get("log", "sync");                   // log of each match
+
+        try
+        {
+            MatchConfig defaults = MatchConfig.getDefault();
+
+            matches = options.getInt("matches", 1);
+            config = new MatchConfig(options.getInt("roster", defaults.getRoster()),
+                    options.getInt("pullers", defaults.getPullers()),
+                    options.getInt("trials", defaults.getTrials()),
+                    options.getInt("games", defaults.getGames()),
+                    options.getInt("knockout", defaults.getKnockout()));
+        }
+        catch (IllegalArgumentException e)
+        {
+            out.println("Invalid parameters: " + e.getMessage());
+            System.exit (1);
+        }
+        if (matches < 1)
+        {
+            out.println("matches is not a positive number!");
+            System.exit (1);
+        }
+        if (!logMode.equals("sync") && !logMode.equals("async") && !logMode.equals("none"))
+        {
+            out.println("log is not a valid logging mode!");
+            System.exit (1);
+        }
+
+        PullDurationModel pullDuration = options.has("throughput")
+                ? PullDurationModel.none() : PullDurationModel.random(1, 3);
+        EntityThreads threads = new EntityThreads(!options.has("platform"));
+        GeneralInformationRepository [] gir = new GeneralInformationRepository [matches];
+        long [] matchTime = new long [matches];                        // nanoseconds each match took
+
+        out.println("Match configuration: " + config);
+        out.println(matches + " colocated matches, " + (3 + 2 * config.getRoster()) * matches + " entities on "
+                + (threads.isVirtual() ? "virtual" : "platform") + " threads, log " + logMode + ".");
+
+        /* problem initialization, the regions of each match are wired directly to its entities */
+
+        Referee [] referee = new Referee [matches];
+
+        for (int m = 0; m < matches; m++) {
+            gir[m] = new GeneralInformationRepository(openLog(logMode, m), null, config);
+
+            RefereeSite refereeSite = new RefereeSite(gir[m], config, m);
+            ContestantsBench bench = new ContestantsBench(gir[m], config);
+            Playground playground = new Playground(gir[m], pullDuration, config, m);
+
+            for (int i = 0; i < 2; i++) {
+                Coach coach = new Coach ("Coach_" + (i+1) + "@" + m, i+1, bench, refereeSite, playground, gir[m], config,
+                        m);
+
+                threads.start (coach, coach.getName());
+            }
+
+            for (int i = 0; i < 2; i++) {
+                for (int j = 0; j < config.getRoster(); j++) {
+                    Contestant contestant = new Contestant ("Contestant" + (i+1) + ":" + (j+1) + "@" + m, i+1, j+1,
+                            ClientContestant.randomStrength(), bench, playground, refereeSite, gir[m], m);
+
+                    threads.start (contestant, contestant.getName());
+                }
+            }
+
+            referee[m] = new Referee ("Referee@" + m, bench, playground, refereeSite, gir[m], config, m);
+        }
+
+        /* start of the simulation, each match is timed by its referee */
+
+        long start = System.nanoTime();
+
+        for (int m = 0; m < matches; m++) {
+            final int match = m;
+
+            threads.start (() -> {
+                long matchStart = System.nanoTime();
+
+                referee[match].run();
+                matchTime[match] = System.nanoTime() - matchStart;
+            }, referee[m].getName());
+        }
+
+        threads.joinAll();
+
+        long elapsed = System.nanoTime() - start;
+        long total = 0;
+        long longest = 0;
+
+        for (long time : matchTime) {
+            total += time;
+            longest = Math.max(longest, time);
+        }
+
+        out.printf("The %d matches have terminated in %.1f ms (%.1f matches/s), match mean %.1f ms, longest %.1f ms.%n",
+                matches, elapsed / 1e6, matches / (elapsed / 1e9), total / 1e6 / matches, longest / 1e6);
+
+        try {
+            for (GeneralInformationRepository repository : gir)
+                repository.close();
+        } catch (RemoteException ex) {
+            Logger.getLogger(ClientColocated.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Opens the log of a match. The first match logs to gameResults.log, like
+     * the general repository server does.
+     *
+     * @param logMode sync, async or none
+     * @param match id of the match
+     * @return log writer, or null if the match is not logged
+     */
+    private static LogWriter openLog(String logMode, int match) {
+        String fileName = (match == 0) ? "gameResults.log" : "gameResults_" + match + ".log";
+
+        try {
+            switch (logMode) {
+                case "sync":
+                    return new SyncLogWriter(new PrintWriter(fileName));
+                case "async":
+                    return new AsyncLogWriter(new PrintWriter(fileName), 4096);
+                default:
+                    return null;
+            }
+        } catch (FileNotFoundException ex) {
+            Logger.getLogger(ClientColocated.class.getName()).log(Level.SEVERE, null, ex);
+            System.exit(1);
+            return null;
+        }
+    }
+}
@@ -10,10 +10,13 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import ClientSide.Entities.Contestant;
+import ClientSide.Stubs.CoalescingRepositoryProxy;
 import Interfaces.InterfaceContestantsBench;
 import Interfaces.InterfaceGeneralInformationRepository;
 import Interfaces.InterfacePlayground;
 import Interfaces.InterfaceRefereeSite;
+import Interfaces.Register;
+import Others.MatchConfig;
 
 /**
  *    Client side of the Rope Game (contestant).
@@ -29,6 +32,12 @@ public class ClientContestant {
     *    @param args runtime arguments
     *        args[0] - name of the platform where is located the RMI registering service
     *        args[1] - port number where the registering service is listening to service requests
+    *        coalesce[=ms] - optional, buffers the updates to the general information
+    *                        repository and sends them every ms milliseconds
+    *        match=n - optional, id of the match to play, among the matches hosted
+    *                  by the servers
+    *        virtual - optional, runs the entities on virtual threads if the Java
+    *                  runtime has them
     */
     public static void main (String [] args) throws RemoteException {
 
@@ -37,7 +46,7 @@ public class ClientContestant {
 
         /* getting problem runtime parameters */
 
-        if (args.length != 2)
+        if (args.length < 2)
         { 
             out.println("Wrong number of parameters!");
             System.exit (1);
@@ -64,7 +73,7 @@ public class ClientContestant {
         InterfaceContestantsBench benchStub = null;
         InterfaceRefereeSite refsiteStub = null;
         Registry registry = null;
-        Contestant [][] contestant = new Contestant [2][5]; 
+        MatchConfig config = null;
 
         try {
             registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
@@ -74,22 +83,58 @@ public class ClientContestant {
             System.exit (1);
         }
 
+        ClientOptions options = new ClientOptions(args, 2);
+        MatchRegistry matchRegistry = null;
+
+        try
+        {
+            matchRegistry = new MatchRegistry(registry, options.getInt("match", -1));
+        }
+        catch (NumberFormatException e)
+        {
+            out.println("match is not a number!");
+            System.exit (1);
+        }
+
         try {
-            girStub = (InterfaceGeneralInformationRepository) registry.lookup(rmiRegHostName);
-            playgroundStub = (InterfacePlayground) registry.lookup(rmiRegHostName);
-            benchStub = (InterfaceContestantsBench) registry.lookup(rmiRegHostName);
-            refsiteStub = (InterfaceRefereeSite) registry.lookup(rmiRegHostName);
+            girStub = matchRegistry.lookup("GeneralRepository");
+            playgroundStub = matchRegistry.lookup("Playground");
+            benchStub = matchRegistry.lookup("ContestantsBench");
+            refsiteStub = matchRegistry.lookup("RefereeSite");
+            config = ((Register) registry.lookup("RegisterHandler")).getMatchConfig();
         } catch (RemoteException | NotBoundException ex) {
             Logger.getLogger(ClientContestant.class.getName()).log(Level.SEVERE, null, ex);
             System.exit(1);
         }
 
+        if (options.has("coalesce")) {
+            try
+            {
+                CoalescingRepositoryProxy coalescing = new CoalescingRepositoryProxy(girStub,
+                        options.getInt("coalesce", CoalescingRepositoryProxy.DEFAULT_FLUSH_INTERVAL));
+
+                girStub = coalescing;
+                playgroundStub = coalescing.flushBefore(InterfacePlayground.class, playgroundStub);
+                benchStub = coalescing.flushBefore(InterfaceContestantsBench.class, benchStub);
+                refsiteStub = coalescing.flushBefore(InterfaceRefereeSite.class, refsiteStub);
+            }
+            catch (NumberFormatException e)
+            {
+                out.println("coalesce is not a number!");
+                System.exit (1);
+            }
+        }
+
+        Contestant [][] contestant = new Contestant [2][config.getRoster()];
+        Thread [][] thread = new Thread [2][config.getRoster()];
+        EntityThreads threads = new EntityThreads(options.has("virtual"));
+
         for (int i = 0; i < 2; i++){
-            for (int j = 0; j < 5; j++){
+            for (int j = 0; j < config.getRoster(); j++){
                 int strength = randomStrength();
 
                 contestant[i][j] = new Contestant ("Contestant" + (i+1) + ":" + j+1, i+1, j+1, strength,
-                benchStub, playgroundStub, refsiteStub, girStub);
+                benchStub, playgroundStub, refsiteStub, girStub, matchRegistry.getMatch());
             }
         }
             
@@ -97,26 +142,30 @@ public class ClientContestant {
         /* start of the simulation */
 
         for (int i = 0; i < 2; i++){
-            for (int j = 0; j < 5; j++){
+            for (int j = 0; j < config.getRoster(); j++){
                 out.println("Contestant" + (i+1) + ":" + j+1 + " started.");
 
-                contestant[i][j].start ();
+                thread[i][j] = threads.start (contestant[i][j], contestant[i][j].getName());
             }
         }
 
         for (int i = 0; i < 2; i++){
-            for (int j = 0; j < 5; j++){
+            for (int j = 0; j < config.getRoster(); j++){
                 try {
-                    contestant[i][j].join();
+                    thread[i][j].join();
                 } catch (InterruptedException e) {}
                 out.println("The contestant " + (i+1) + ":" + j+1 + " has terminated.");
             }
         }
 
-        girStub.shutdown();
-        playgroundStub.shutdown();
-        benchStub.shutdown();
-        refsiteStub.shutdown();
+        /* one shutdown vote for each contestant */
+
+        for (int i = 0; i < 2 * config.getRoster(); i++) {
+            girStub.shutdown();
+            playgroundStub.shutdown();
+            benchStub.shutdown();
+            refsiteStub.shutdown();
+        }
 
     }
 
@@ -125,7 +174,7 @@ public class ClientContestant {
      *
      * @return a strength for a player instantiation
      */
-    private static int randomStrength() {
+    static int randomStrength() {
         return 10 + (int) (Math.random() * (20 - 10));
     }
 }
@@ -0,0 +1,232 @@
+package ClientSide.Main;
+
+import static java.lang.System.out;
+
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import ClientSide.Stubs.CoalescingRepositoryProxy;
+import ClientSide.Stubs.ContestantsBenchStub;
+import ClientSide.Stubs.GeneralInformationRepositoryStub;
+import ClientSide.Stubs.PlaygroundStub;
+import ClientSide.Stubs.RefereeSiteStub;
+import ClientSide.Stubs.ServerConnection;
+import ClientSide.Stubs.TimingProxy;
+import Interfaces.InterfaceContestantsBench;
+import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.InterfacePlayground;
+import Interfaces.InterfaceRefereeSite;
+import Interfaces.Register;
+import Others.LatencyHistogram;
+import Others.MatchConfig;
+
+/**
+ *    Load generator of the Rope Game: plays many concurrent matches against
+ *    the servers and measures them.
+ *
+ *    The entities of every match are the ones of the other clients, but each
+ *    shared region is called through a proxy that records the latency of
+ *    every call. At the end the throughput of trials, the time the matches
+ *    took and the latency percentiles of each remote method are reported.
+ *
+ *    Communication is based on Java RMI, or on the message server.
+ */
+public class ClientLoadGenerator {
+
+    /**
+    *  Main method.
+    *
+    *    @param args runtime arguments
+    *        args[0] - name of the platform where is located the RMI registering service,
+    *                  or of the message server
+    *        args[1] - port number where the registering service, or the message server,
+    *                  is listening to service requests
+    *        matches=n - optional, number of concurrent matches to play (default 1)
+    *        first=n - optional, id of the first match to play (default 0)
+    *        platform - optional, runs the entities on platform threads
+    *        nio - optional, calls the shared regions through the message server
+    *        coalesce[=ms] - optional, buffers the updates to the general information
+    *                        repository and sends them every ms milliseconds
+    */
+    public static void main (String [] args) {
+
+        String rmiRegHostName;                                         // name of the platform where is located the RMI registering service
+        int rmiRegPortNumb = -1;                                       // port number where the registering service is listening to service requests
+        int matches = 1;                                               // number of matches to play
+        int first = 0;                                                 // id of the first match to play
+        int flushInterval = -1;                                        // milliseconds between flushes of the coalesced updates, -1 if not used
+
+        /* getting problem runtime parameters */
+
+        if (args.length < 2)
+        {
+            out.println("Wrong number of parameters!");
+            System.exit (1);
+        }
+        rmiRegHostName = args[0];
+        try
+        {
+            rmiRegPortNumb = Integer.parseInt (args[1]);
+        }
+        catch (NumberFormatException e)
+        {
+            out.println("args[1] is not a number!");
+            System.exit (1);
+        }
+        if ((rmiRegPortNumb < 4000) || (rmiRegPortNumb >= 65536))
+        {
+            out.println("args[1] is not a valid port number!");
+            System.exit (1);
+        }
+
+        ClientOptions options = new ClientOptions(args, 2);
+
+        try
+        {
+            matches = options.getInt("matches", 1);
+            first = options.getInt("first", 0);
+            if (options.has("coalesce"))
+                flushInterval = options.getInt("coalesce", CoalescingRepositoryProxy.DEFAULT_FLUSH_INTERVAL);
+        }
+        catch (NumberFormatException e)
+        {
+            out.println("matches, first and coalesce must be numbers!");
+            System.exit (1);
+        }
+        if ((matches < 1) || (first < 0))
+        {
+            out.println("matches must be positive and first not negative!");
+            System.exit (1);
+        }
+
+        /* problem initialization, every region is timed by a proxy */
+
+        ConcurrentMap<String, LatencyHistogram> latency = new ConcurrentHashMap<>();   // latency of each remote method
+        LatencyHistogram matchTimes = new LatencyHistogram();                         // time each match took
+        MatchConfig config = null;
+        List<MatchEntities> match = new ArrayList<>(matches);
+
+        try {
+            if (options.has("nio")) {
+                ServerConnection connection = new ServerConnection(rmiRegHostName, rmiRegPortNumb);
+
+                config = connection.getMatchConfig();
+
+                for (int m = first; m < first + matches; m++)
+                    match.add (timedMatch (m, new GeneralInformationRepositoryStub(connection, m),
+                            new PlaygroundStub(connection, m), new ContestantsBenchStub(connection, m),
+                            new RefereeSiteStub(connection, m), flushInterval, latency));
+            } else {
+                Registry registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
+
+                config = ((Register) registry.lookup("RegisterHandler")).getMatchConfig();
+
+                for (int m = first; m < first + matches; m++) {
+                    MatchRegistry matchRegistry = new MatchRegistry(registry, m);
+
+                    match.add (timedMatch (m, matchRegistry.lookup("GeneralRepository"),
+                            matchRegistry.lookup("Playground"), matchRegistry.lookup("ContestantsBench"),
+                            matchRegistry.lookup("RefereeSite"), flushInterval, latency));
+                }
+            }
+        } catch (RemoteException | NotBoundException ex) {
+            Logger.getLogger(ClientLoadGenerator.class.getName()).log(Level.SEVERE, null, ex);
+            System.exit(1);
+        }
+
+        EntityThreads threads = new EntityThreads(!options.has("platform"));
+
+        out.println("Match configuration: " + config);
+        out.println(matches + " matches, " + (3 + 2 * config.getRoster()) * matches + " entities on "
+                + (threads.isVirtual() ? "virtual" : "platform") + " threads.");
+
+        /* start of the load, the referees start after every team is on its way to the bench */
+
+        long start = System.nanoTime();
+
+        for (MatchEntities m : match)
+            m.startTeams(threads, config);
+        for (MatchEntities m : match)
+            m.startReferee(threads, config, matchTimes);
+
+        threads.joinAll();
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        try {
+            for (MatchEntities m : match)
+                m.shutdown(config);
+        } catch (RemoteException ex) {
+            Logger.getLogger(ClientLoadGenerator.class.getName()).log(Level.SEVERE, null, ex);
+        }
+
+        report(latency, matchTimes, elapsed);
+    }
+
+    /**
+     * Creates the entities of a match, calling its shared regions through
+     * timing proxies
+     *
+     * @param id of the match
+     * @param girStub general information repository of the match
+     * @param playgroundStub playground of the match
+     * @param benchStub contestants bench of the match
+     * @param refsiteStub referee site of the match
+     * @param flushInterval milliseconds between flushes of the coalesced updates, -1 if not used
+     * @param latency histograms of the remote methods
+     * @return entities of the match
+     */
+    private static MatchEntities timedMatch(int id, InterfaceGeneralInformationRepository girStub,
+            InterfacePlayground playgroundStub, InterfaceContestantsBench benchStub, InterfaceRefereeSite refsiteStub,
+            int flushInterval, ConcurrentMap<String, LatencyHistogram> latency) {
+        return new MatchEntities(id,
+                TimingProxy.wrap(InterfaceGeneralInformationRepository.class, girStub, "GeneralRepository", latency),
+                TimingProxy.wrap(InterfacePlayground.class, playgroundStub, "Playground", latency),
+                TimingProxy.wrap(InterfaceContestantsBench.class, benchStub, "ContestantsBench", latency),
+                TimingProxy.wrap(InterfaceRefereeSite.class, refsiteStub, "RefereeSite", latency),
+                flushInterval);
+    }
+
+    /**
+     * Prints the throughput, the match times and the latency of each remote
+     * method
+     *
+     * @param latency histograms of the remote methods, in nanoseconds
+     * @param matchTimes histogram of the match times, in nanoseconds
+     * @param elapsed seconds the load took
+     */
+    private static void report(Map<String, LatencyHistogram> latency, LatencyHistogram matchTimes, double elapsed) {
+        LatencyHistogram trials = latency.get("Playground.startPulling");
+        LatencyHistogram games = latency.get("RefereeSite.addGamePoint");
+        long trialCount = (trials == null) ? 0 : trials.getCount();
+        long gameCount = (games == null) ? 0 : games.getCount();
+
+        out.printf("The %d matches have terminated in %.1f ms: %d games, %d trials, %.1f trials/s.%n",
+                matchTimes.getCount(), elapsed * 1e3, gameCount, trialCount, trialCount / elapsed);
+        out.printf("Match time (ms): mean %.1f, p50 %.1f, p99 %.1f, max %.1f%n", matchTimes.getMean() / 1e6,
+                matchTimes.getValueAtPercentile(50) / 1e6, matchTimes.getValueAtPercentile(99) / 1e6,
+                matchTimes.getMax() / 1e6);
+        out.println();
+        out.printf("%-45s %9s %10s %10s %10s %10s %10s%n", "Remote method (us)", "calls", "mean", "p50", "p99",
+                "p999", "max");
+
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(latency).entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+
+            out.printf("%-45s %9d %10.1f %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getMean() / 1e3, histogram.getValueAtPercentile(50) / 1e3,
+                    histogram.getValueAtPercentile(99) / 1e3, histogram.getValueAtPercentile(99.9) / 1e3,
+                    histogram.getMax() / 1e3);
+        }
+    }
+}
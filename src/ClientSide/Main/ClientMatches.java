@@ -0,0 +1,161 @@
+package ClientSide.Main;
+
+import static java.lang.System.out;
+
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import ClientSide.Stubs.CoalescingRepositoryProxy;
+import ClientSide.Stubs.ContestantsBenchStub;
+import ClientSide.Stubs.GeneralInformationRepositoryStub;
+import ClientSide.Stubs.PlaygroundStub;
+import ClientSide.Stubs.RefereeSiteStub;
+import ClientSide.Stubs.ServerConnection;
+import Interfaces.Register;
+import Others.MatchConfig;
+
+/**
+ *    Client side of the Rope Game (every entity of one or more matches).
+ *
+ *    Runs the referee, the coaches and the contestants of each match in this
+ *    process, by default on virtual threads, so a single client can drive
+ *    many of the matches hosted by the servers.
+ *
+ *    Implementation of a client-server model of type 2 (server replication).
+ *    Communication is based on Java RMI.
+ */
+public class ClientMatches {
+
+    /**
+    *  Main method.
+    *
+    *    @param args runtime arguments
+    *        args[0] - name of the platform where is located the RMI registering service,
+    *                  or of the message server
+    *        args[1] - port number where the registering service, or the message server,
+    *                  is listening to service requests
+    *        matches=n - optional, number of matches to play (default 1)
+    *        first=n - optional, id of the first match to play (default 0)
+    *        platform - optional, runs the entities on platform threads
+    *        nio - optional, calls the shared regions through the message server
+    *              instead of Java RMI
+    *        coalesce[=ms] - optional, buffers the updates to the general information
+    *                        repository and sends them every ms milliseconds
+    */
+    public static void main (String [] args) {
+
+        String rmiRegHostName;                                         // name of the platform where is located the RMI registering service
+        int rmiRegPortNumb = -1;                                       // port number where the registering service is listening to service requests
+        int matches = 1;                                               // number of matches to play
+        int first = 0;                                                 // id of the first match to play
+        int flushInterval = -1;                                        // milliseconds between flushes of the coalesced updates, -1 if not used
+
+        /* getting problem runtime parameters */
+
+        if (args.length < 2)
+        { 
+            out.println("Wrong number of parameters!");
+            System.exit (1);
+        }
+        rmiRegHostName = args[0];
+        try
+        { 
+            rmiRegPortNumb = Integer.parseInt (args[1]);
+        }
+        catch (NumberFormatException e)
+        { 
+            out.println("args[1] is not a number!");
+            System.exit (1);
+        }
+        if ((rmiRegPortNumb < 4000) || (rmiRegPortNumb >= 65536))
+        { 
+            out.println("args[1] is not a valid port number!");
+            System.exit (1);
+        }
+
+        ClientOptions options = new ClientOptions(args, 2);
+
+        try
+        {
+            matches = options.getInt("matches", 1);
+            first = options.getInt("first", 0);
+            if (options.has("coalesce"))
+                flushInterval = options.getInt("coalesce", CoalescingRepositoryProxy.DEFAULT_FLUSH_INTERVAL);
+        }
+        catch (NumberFormatException e)
+        {
+            out.println("matches, first and coalesce must be numbers!");
+            System.exit (1);
+        }
+        if ((matches < 1) || (first < 0))
+        {
+            out.println("matches must be positive and first not negative!");
+            System.exit (1);
+        }
+
+        /* problem initialization */
+
+        MatchConfig config = null;
+        List<MatchEntities> match = new ArrayList<>(matches);
+
+        try {
+            if (options.has("nio")) {
+                ServerConnection connection = new ServerConnection(rmiRegHostName, rmiRegPortNumb);
+
+                config = connection.getMatchConfig();
+
+                for (int m = first; m < first + matches; m++)
+                    match.add (new MatchEntities (m, new GeneralInformationRepositoryStub(connection, m),
+                            new PlaygroundStub(connection, m), new ContestantsBenchStub(connection, m),
+                            new RefereeSiteStub(connection, m), flushInterval));
+            } else {
+                Registry registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
+
+                config = ((Register) registry.lookup("RegisterHandler")).getMatchConfig();
+
+                for (int m = first; m < first + matches; m++) {
+                    MatchRegistry matchRegistry = new MatchRegistry(registry, m);
+
+                    match.add (new MatchEntities (m, matchRegistry.lookup("GeneralRepository"),
+                            matchRegistry.lookup("Playground"), matchRegistry.lookup("ContestantsBench"),
+                            matchRegistry.lookup("RefereeSite"), flushInterval));
+                }
+            }
+        } catch (RemoteException | NotBoundException ex) {
+            Logger.getLogger(ClientMatches.class.getName()).log(Level.SEVERE, null, ex);
+            System.exit(1);
+        }
+
+        EntityThreads threads = new EntityThreads(!options.has("platform"));
+
+        out.println(matches + " matches, " + (3 + 2 * config.getRoster()) * matches + " entities on "
+                + (threads.isVirtual() ? "virtual" : "platform") + " threads.");
+
+        /* start of the simulation, the referees start after every team is on its way to the bench */
+
+        long start = System.nanoTime();
+
+        for (MatchEntities m : match)
+            m.startTeams(threads, config);
+        for (MatchEntities m : match)
+            m.startReferee(threads, config);
+
+        threads.joinAll();
+
+        out.println("The " + matches + " matches have terminated in "
+                + (System.nanoTime() - start) / 1000000 + " ms.");
+
+        try {
+            for (MatchEntities m : match)
+                m.shutdown(config);
+        } catch (RemoteException ex) {
+            Logger.getLogger(ClientMatches.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+}
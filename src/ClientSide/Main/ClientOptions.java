@@ -0,0 +1,70 @@
+package ClientSide.Main;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Optional runtime parameters of the clients, given after the mandatory ones
+ * either as a flag (name) or as a value (name=value).
+ */
+public class ClientOptions {
+
+    private final Map<String, String> options;  // options by name, flags have an empty value
+
+    /**
+     * Parses the optional runtime parameters
+     *
+     * @param args runtime arguments
+     * @param first index of the first optional argument
+     */
+    public ClientOptions(String[] args, int first) {
+        options = new HashMap<>();
+
+        for (int i = first; i < args.length; i++) {
+            int separator = args[i].indexOf('=');
+
+            if (separator < 0) {
+                options.put(args[i], "");
+            } else {
+                options.put(args[i].substring(0, separator), args[i].substring(separator + 1));
+            }
+        }
+    }
+
+    /**
+     * Checks if an option was given
+     *
+     * @param name of the option
+     * @return true if the option was given, with or without value
+     */
+    public boolean has(String name) {
+        return options.containsKey(name);
+    }
+
+    /**
+     * Gets the value of an option
+     *
+     * @param name of the option
+     * @param defaultValue to use if the option was not given or has no value
+     * @return value of the option
+     */
+    public String get(String name, String defaultValue) {
+        String value = options.get(name);
+
+        return (value == null || value.isEmpty()) ? defaultValue : value;
+    }
+
+    /**
+     * Gets the numeric value of an option
+     *
+     * @param name of the option
+     * @param defaultValue to use if the option was not given or has no value
+     * @return value of the option
+     * @throws NumberFormatException if the value is not a number
+     */
+    public int getInt(String name, int defaultValue) {
+        String value = options.get(name);
+
+        return (value == null || value.isEmpty()) ? defaultValue : Integer.parseInt(value);
+    }
+}
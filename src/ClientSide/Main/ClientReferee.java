@@ -10,10 +10,13 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import ClientSide.Entities.Referee;
+import ClientSide.Stubs.CoalescingRepositoryProxy;
 import Interfaces.InterfaceContestantsBench;
 import Interfaces.InterfaceGeneralInformationRepository;
 import Interfaces.InterfacePlayground;
 import Interfaces.InterfaceRefereeSite;
+import Interfaces.Register;
+import Others.MatchConfig;
 
 /**
  *    Client side of the Rope Game (referee).
@@ -29,6 +32,12 @@ public class ClientReferee {
     *    @param args runtime arguments
     *        args[0] - name of the platform where is located the RMI registering service
     *        args[1] - port number where the registering service is listening to service requests
+    *        coalesce[=ms] - optional, buffers the updates to the general information
+    *                        repository and sends them every ms milliseconds
+    *        match=n - optional, id of the match to play, among the matches hosted
+    *                  by the servers
+    *        virtual - optional, runs the entities on virtual threads if the Java
+    *                  runtime has them
     */
     public static void main (String [] args) throws RemoteException {
 
@@ -37,7 +46,7 @@ public class ClientReferee {
 
         /* getting problem runtime parameters */
 
-        if (args.length != 2)
+        if (args.length < 2)
         { 
             out.println("Wrong number of parameters!");
             System.exit (1);
@@ -64,6 +73,7 @@ public class ClientReferee {
         InterfaceContestantsBench benchStub = null;
         InterfaceRefereeSite refsiteStub = null;
         Registry registry = null;
+        MatchConfig config = null;
 
         try {
             registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
@@ -73,26 +83,61 @@ public class ClientReferee {
             System.exit (1);
         }
 
+        ClientOptions options = new ClientOptions(args, 2);
+        MatchRegistry matchRegistry = null;
+
+        try
+        {
+            matchRegistry = new MatchRegistry(registry, options.getInt("match", -1));
+        }
+        catch (NumberFormatException e)
+        {
+            out.println("match is not a number!");
+            System.exit (1);
+        }
+
         try {
-            girStub = (InterfaceGeneralInformationRepository) registry.lookup(rmiRegHostName);
-            playgroundStub = (InterfacePlayground) registry.lookup(rmiRegHostName);
-            benchStub = (InterfaceContestantsBench) registry.lookup(rmiRegHostName);
-            refsiteStub = (InterfaceRefereeSite) registry.lookup(rmiRegHostName);
+            girStub = matchRegistry.lookup("GeneralRepository");
+            playgroundStub = matchRegistry.lookup("Playground");
+            benchStub = matchRegistry.lookup("ContestantsBench");
+            refsiteStub = matchRegistry.lookup("RefereeSite");
+            config = ((Register) registry.lookup("RegisterHandler")).getMatchConfig();
         } catch (RemoteException | NotBoundException ex) {
             Logger.getLogger(ClientReferee.class.getName()).log(Level.SEVERE, null, ex);
             System.exit(1);
         }
 
-        Referee referee = new Referee("Referee", benchStub, playgroundStub, refsiteStub, girStub);
+        if (options.has("coalesce")) {
+            try
+            {
+                CoalescingRepositoryProxy coalescing = new CoalescingRepositoryProxy(girStub,
+                        options.getInt("coalesce", CoalescingRepositoryProxy.DEFAULT_FLUSH_INTERVAL));
+
+                girStub = coalescing;
+                playgroundStub = coalescing.flushBefore(InterfacePlayground.class, playgroundStub);
+                benchStub = coalescing.flushBefore(InterfaceContestantsBench.class, benchStub);
+                refsiteStub = coalescing.flushBefore(InterfaceRefereeSite.class, refsiteStub);
+            }
+            catch (NumberFormatException e)
+            {
+                out.println("coalesce is not a number!");
+                System.exit (1);
+            }
+        }
+
+        Referee referee = new Referee("Referee", benchStub, playgroundStub, refsiteStub, girStub, config,
+                matchRegistry.getMatch());
+        EntityThreads threads = new EntityThreads(options.has("virtual"));
+        Thread thread;
 
         /* start of the simulation */
 
         out.println("Referee started");
 
-        referee.start ();
+        thread = threads.start (referee, referee.getName());
 
         try {
-            referee.join();
+            thread.join();
         } catch (InterruptedException e) {}
         out.println("The referee has terminated.");
 
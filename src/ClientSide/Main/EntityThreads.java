@@ -0,0 +1,88 @@
+package ClientSide.Main;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the entities of the clients, each on its own thread, and waits for
+ * them to terminate.
+ *
+ * The entities spend almost all their life blocked in remote calls, so they
+ * are run on virtual threads when asked for and the Java runtime has them.
+ * Otherwise, or on a runtime older than Java 21, platform threads are used.
+ */
+public class EntityThreads {
+
+    private final ThreadFactory factory;        // factory of the threads, null for platform threads
+    private final List<Thread> threads;         // threads started so far
+
+    /**
+     * Public constructor
+     *
+     * @param virtual true to run the entities on virtual threads, if available
+     */
+    public EntityThreads(boolean virtual) {
+        factory = virtual ? virtualThreadFactory() : null;
+        threads = new ArrayList<>();
+    }
+
+    /**
+     * Checks if the entities are run on virtual threads
+     *
+     * @return true if virtual threads are used
+     */
+    public boolean isVirtual() {
+        return factory != null;
+    }
+
+    /**
+     * Starts an entity on a new thread
+     *
+     * @param entity to be run
+     * @param name of the thread
+     * @return thread running the entity
+     */
+    public Thread start(Runnable entity, String name) {
+        Thread thread = (factory == null) ? new Thread(entity) : factory.newThread(entity);
+
+        thread.setName(name);
+        thread.start();
+        threads.add(thread);
+
+        return thread;
+    }
+
+    /**
+     * Waits for every started entity to terminate
+     */
+    public void joinAll() {
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Logger.getLogger(EntityThreads.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Gets a factory of virtual threads. The factory is found by reflection,
+     * so the clients still build and run on older runtimes.
+     *
+     * @return factory of virtual threads, or null if the runtime has none
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ClientSide.Main;
+
+import java.rmi.RemoteException;
+
+import ClientSide.Entities.Coach;
+import ClientSide.Entities.Contestant;
+import ClientSide.Entities.Referee;
+import ClientSide.Stubs.CoalescingRepositoryProxy;
+import Interfaces.InterfaceContestantsBench;
+import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.InterfacePlayground;
+import Interfaces.InterfaceRefereeSite;
+import Others.LatencyHistogram;
+import Others.MatchConfig;
+
+/**
+ * Remote references to the shared regions of one match, and the entities
+ * playing it
+ */
+class MatchEntities {
+
+    private final int id;                                               // id of the match
+    private final InterfaceGeneralInformationRepository girStub;
+    private final InterfacePlayground playgroundStub;
+    private final InterfaceContestantsBench benchStub;
+    private final InterfaceRefereeSite refsiteStub;
+
+    /**
+     * Keeps the shared regions of a match
+     *
+     * @param id of the match
+     * @param girStub general information repository of the match
+     * @param playgroundStub playground of the match
+     * @param benchStub contestants bench of the match
+     * @param refsiteStub referee site of the match
+     * @param flushInterval milliseconds between flushes of the coalesced updates, -1 if not used
+     */
+    MatchEntities(int id, InterfaceGeneralInformationRepository girStub, InterfacePlayground playgroundStub,
+            InterfaceContestantsBench benchStub, InterfaceRefereeSite refsiteStub, int flushInterval) {
+        this.id = id;
+
+        if (flushInterval >= 0) {
+            CoalescingRepositoryProxy coalescing = new CoalescingRepositoryProxy(girStub, flushInterval);
+
+            // the regions write into the repository too, the buffered updates must reach it first
+            this.girStub = coalescing;
+            this.playgroundStub = coalescing.flushBefore(InterfacePlayground.class, playgroundStub);
+            this.benchStub = coalescing.flushBefore(InterfaceContestantsBench.class, benchStub);
+            this.refsiteStub = coalescing.flushBefore(InterfaceRefereeSite.class, refsiteStub);
+        } else {
+            this.girStub = girStub;
+            this.playgroundStub = playgroundStub;
+            this.benchStub = benchStub;
+            this.refsiteStub = refsiteStub;
+        }
+    }
+
+    /**
+     * Starts the coaches and the contestants of the match
+     *
+     * @param threads to run the entities
+     * @param config configuration of the match
+     */
+    void startTeams(EntityThreads threads, MatchConfig config) {
+        for (int i = 0; i < 2; i++) {
+            Coach coach = new Coach ("Coach_" + (i+1) + "@" + id, i+1,
+                    benchStub, refsiteStub, playgroundStub, girStub, config, id);
+
+            threads.start (coach, coach.getName());
+        }
+
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < config.getRoster(); j++) {
+                Contestant contestant = new Contestant ("Contestant" + (i+1) + ":" + (j+1) + "@" + id, i+1, j+1,
+                        ClientContestant.randomStrength(), benchStub, playgroundStub, refsiteStub, girStub, id);
+
+                threads.start (contestant, contestant.getName());
+            }
+        }
+    }
+
+    /**
+     * Starts the referee of the match
+     *
+     * @param threads to run the entities
+     * @param config configuration of the match
+     */
+    void startReferee(EntityThreads threads, MatchConfig config) {
+        Referee referee = new Referee ("Referee@" + id, benchStub, playgroundStub, refsiteStub, girStub, config, id);
+
+        threads.start (referee, referee.getName());
+    }
+
+    /**
+     * Starts the referee of the match, recording how long the match takes
+     *
+     * @param threads to run the entities
+     * @param config configuration of the match
+     * @param matchTimes histogram of the time each match takes, in nanoseconds
+     */
+    void startReferee(EntityThreads threads, MatchConfig config, LatencyHistogram matchTimes) {
+        Referee referee = new Referee ("Referee@" + id, benchStub, playgroundStub, refsiteStub, girStub, config, id);
+
+        threads.start (() -> {
+            long start = System.nanoTime();
+
+            referee.run();
+            matchTimes.record(System.nanoTime() - start);
+        }, referee.getName());
+    }
+
+    /**
+     * Votes for the shutdown of the shared regions of the match, once for
+     * each entity playing it
+     *
+     * @param config configuration of the match
+     * @throws RemoteException if the communication with the servers fails
+     */
+    void shutdown(MatchConfig config) throws RemoteException {
+        for (int i = 0; i < config.getShutdownVotes(); i++) {
+            girStub.shutdown();
+            playgroundStub.shutdown();
+            benchStub.shutdown();
+            refsiteStub.shutdown();
+        }
+    }
+}
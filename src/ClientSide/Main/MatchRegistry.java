@@ -0,0 +1,56 @@
+package ClientSide.Main;
+
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.Registry;
+
+import Interfaces.InterfaceMatchTable;
+
+/**
+ * Looks up the shared regions of one match. Without a match id the regions
+ * registered under their own names are used, which belong to the first match.
+ */
+public class MatchRegistry {
+
+    private final Registry registry;
+    private final int match;                // id of the match, negative if not given
+
+    /**
+     * Public constructor
+     *
+     * @param registry where the regions are registered
+     * @param match id of the match, negative to use the regions registered under their own names
+     */
+    public MatchRegistry(Registry registry, int match) {
+        this.registry = registry;
+        this.match = match;
+    }
+
+    /**
+     * Gets the id of the match
+     *
+     * @return id of the match, 0 for the first match if not given
+     */
+    public int getMatch() {
+        return Math.max(match, 0);
+    }
+
+    /**
+     * Gets the remote reference to a shared region of the match
+     *
+     * @param <T> interface of the shared region
+     * @param name the region is registered with
+     * @return remote reference to the shared region
+     * @throws RemoteException if the communication with the registry or the server fails
+     * @throws NotBoundException if the region is not registered
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Remote> T lookup(String name) throws RemoteException, NotBoundException {
+        if (match < 0) {
+            return (T) registry.lookup(name);
+        }
+
+        return ((InterfaceMatchTable<T>) registry.lookup(name + InterfaceMatchTable.SUFFIX)).getMatch(match);
+    }
+}
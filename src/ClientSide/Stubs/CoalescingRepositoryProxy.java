@@ -0,0 +1,417 @@
+package ClientSide.Stubs;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.rmi.RemoteException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.Query;
+import Others.UpdateBatch;
+import Others.UpdateBatch.UpdateType;
+import ServerSide.Objects.RefereeSite;
+
+/**
+ * Client side proxy of the general information repository that does not wait
+ * for the state updates. The updates are buffered and only the last one of
+ * each entity is kept, the buffer is sent to the repository in a single
+ * applyUpdates call every flush interval or before any call that needs the
+ * updates already applied, like printLineUpdate.
+ *
+ * The shared regions also write the state of the entities into the
+ * repository, as the playground placing a contestant, so the regions of the
+ * match must be called through the proxies given by flushBefore: they send
+ * the pending updates before each call that may reach the repository. An
+ * update buffered by an entity thus always reaches the repository before
+ * anything the regions write as a result of the entity's later calls, and
+ * the order of the states of an entity is the one of the direct mode.
+ *
+ * Placements are never coalesced and keep their order. An update of an
+ * entity that is followed by no region call may reach the repository one
+ * flush interval later than in the direct mode, so the log shows it in a
+ * later line.
+ */
+public class CoalescingRepositoryProxy implements InterfaceGeneralInformationRepository {
+
+    public static final int DEFAULT_FLUSH_INTERVAL = 5;     // milliseconds
+
+    private static final UpdateType[] TYPES = UpdateType.values();   // types by ordinal, values() copies the array
+
+    private final InterfaceGeneralInformationRepository repository; // remote repository
+    private final ScheduledExecutorService timer;                   // periodic flushes
+
+    private final Lock lock;                    // guards the pending updates
+    private final Lock flushLock;               // keeps the flushes in order
+    private Map<Long, int[]> pending;           // pending updates by entity, in arrival order
+    private long placements;                    // sequence of the placement updates
+
+    /**
+     * Creates a proxy with the default flush interval
+     *
+     * @param repository remote repository to send the updates to
+     */
+    public CoalescingRepositoryProxy(InterfaceGeneralInformationRepository repository) {
+        this(repository, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Creates a proxy
+     *
+     * @param repository remote repository to send the updates to
+     * @param flushIntervalMillis milliseconds between flushes
+     */
+    public CoalescingRepositoryProxy(InterfaceGeneralInformationRepository repository, long flushIntervalMillis) {
+        this.repository = repository;
+        this.lock = new ReentrantLock();
+        this.flushLock = new ReentrantLock();
+        this.pending = new LinkedHashMap<>();
+        this.placements = 0;
+
+        timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "GeneralInformationRepository-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void updateCoach(int team, int status) {
+        put(key(UpdateType.COACH, team, 0), UpdateType.COACH, team, status, 0, 0);
+    }
+
+    @Override
+    public void updateContestant(int id, int team, int status, int strength) {
+        put(key(UpdateType.CONTESTANT, team, id), UpdateType.CONTESTANT, id, team, status, strength);
+    }
+
+    @Override
+    public void updateContestantStrength(int team, int id, int strength) {
+        long key = key(UpdateType.CONTESTANT, team, id);
+
+        lock.lock();
+
+        int[] update = pending.get(key);
+
+        if (update != null && update[0] == UpdateType.CONTESTANT.ordinal()) {
+            update[4] = strength;
+        } else {
+            pending.put(key, new int[]{UpdateType.CONTESTANT_STRENGTH.ordinal(), team, id, strength, 0});
+        }
+
+        lock.unlock();
+    }
+
+    @Override
+    public void updateReferee(int status) {
+        put(key(UpdateType.REFEREE, 0, 0), UpdateType.REFEREE, status, 0, 0, 0);
+    }
+
+    @Override
+    public void setFlagPosition(int flagPosition) {
+        put(key(UpdateType.FLAG_POSITION, 0, 0), UpdateType.FLAG_POSITION, flagPosition, 0, 0, 0);
+    }
+
+    @Override
+    public void setGameNumber(int gameNumber) {
+        put(key(UpdateType.GAME_NUMBER, 0, 0), UpdateType.GAME_NUMBER, gameNumber, 0, 0, 0);
+    }
+
+    @Override
+    public void setTrialNumber(int trialNumber) {
+        put(key(UpdateType.TRIAL_NUMBER, 0, 0), UpdateType.TRIAL_NUMBER, trialNumber, 0, 0, 0);
+    }
+
+    @Override
+    public void setTeamPlacement(int id, int team) {
+        putPlacement(UpdateType.SET_TEAM_PLACEMENT, id, team);
+    }
+
+    @Override
+    public void resetTeamPlacement(int id, int team) {
+        putPlacement(UpdateType.RESET_TEAM_PLACEMENT, id, team);
+    }
+
+    @Override
+    public void applyUpdates(UpdateBatch batch) throws RemoteException {
+        flushLock.lock();
+        try {
+            UpdateBatch merged = drain();
+
+            for (int i = 0; i < batch.size(); i++) {
+                append(merged, batch.getType(i), batch.getArgument(i, 0), batch.getArgument(i, 1),
+                        batch.getArgument(i, 2), batch.getArgument(i, 3));
+            }
+
+            if (batch.getPrintDirective() == UpdateBatch.PrintDirective.LINE_UPDATE) {
+                merged.printLineUpdate();
+            }
+
+            if (!merged.isEmpty()) {
+                repository.applyUpdates(merged);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void printLineUpdate() throws RemoteException {
+        applyUpdates(new UpdateBatch().printLineUpdate());
+    }
+
+    @Override
+    public void printGameHeader() throws RemoteException {
+        flush();
+        repository.printGameHeader();
+    }
+
+    @Override
+    public void printGameResult(RefereeSite.GameScore score) throws RemoteException {
+        flush();
+        repository.printGameResult(score);
+    }
+
+    @Override
+    public void printHeader() throws RemoteException {
+        flush();
+        repository.printHeader();
+    }
+
+    @Override
+    public void printLegend() throws RemoteException {
+        flush();
+        repository.printLegend();
+    }
+
+    @Override
+    public void printMatchDraw() throws RemoteException {
+        flush();
+        repository.printMatchDraw();
+    }
+
+    @Override
+    public void printMatchWinner(int team, int score1, int score2) throws RemoteException {
+        flush();
+        repository.printMatchWinner(team, score1, score2);
+    }
+
+    @Override
+    public void close() throws RemoteException {
+        flush();
+        repository.close();
+    }
+
+    /**
+     * Sends the pending updates and stops the periodic flushes, the proxy must
+     * not be used after this call
+     *
+     * @return true if the game must be shut down
+     * @throws RemoteException
+     */
+    @Override
+    public boolean shutdown() throws RemoteException {
+        timer.shutdown();
+        flush();
+
+        return repository.shutdown();
+    }
+
+    /**
+     * Sends the pending updates to the repository in a single call
+     *
+     * @throws RemoteException
+     */
+    public void flush() throws RemoteException {
+        lock.lock();
+
+        boolean empty = pending.isEmpty();
+
+        lock.unlock();
+
+        if (!empty) {
+            applyUpdates(new UpdateBatch());
+        }
+    }
+
+    /**
+     * Wraps a shared region of the match so the pending updates are sent
+     * before each call that may reach the repository, which is every method
+     * of the interface not marked as a Query
+     *
+     * @param <T> interface of the region
+     * @param type interface of the region
+     * @param region to be called
+     * @return proxy of the region
+     */
+    public <T> T flushBefore(Class<T> type, T region) {
+        Set<Method> queries = queries(type);
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() != Object.class && !queries.contains(method)) {
+                        flush();
+                    }
+
+                    try {
+                        return method.invoke(region, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                }));
+    }
+
+    /**
+     * Gets the methods of an interface of a region that never reach the
+     * repository, which are called without flushing
+     *
+     * @param type interface of the region
+     * @return methods marked as a Query
+     */
+    private static Set<Method> queries(Class<?> type) {
+        Set<Method> queries = new HashSet<>();
+
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(Query.class)) {
+                queries.add(method);
+            }
+        }
+
+        return queries;
+    }
+
+    /**
+     * Flush run by the timer, the updates are lost if the repository can not
+     * be reached
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RemoteException ex) {
+            Logger.getLogger(CoalescingRepositoryProxy.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Takes every pending update into a new batch, in arrival order
+     *
+     * @return batch with the pending updates
+     */
+    private UpdateBatch drain() {
+        UpdateBatch batch = new UpdateBatch();
+
+        lock.lock();
+
+        Map<Long, int[]> updates = pending;
+
+        pending = new LinkedHashMap<>();
+        lock.unlock();
+
+        Iterator<int[]> iterator = updates.values().iterator();
+
+        while (iterator.hasNext()) {
+            int[] update = iterator.next();
+
+            append(batch, TYPES[update[0]], update[1], update[2], update[3], update[4]);
+        }
+
+        return batch;
+    }
+
+    /**
+     * Appends an update to a batch
+     *
+     * @param batch to append to
+     * @param type of the update
+     * @param a first argument
+     * @param b second argument
+     * @param c third argument
+     * @param d fourth argument
+     */
+    private static void append(UpdateBatch batch, UpdateType type, int a, int b, int c, int d) {
+        switch (type) {
+            case CONTESTANT:
+                batch.updateContestant(a, b, c, d);
+                break;
+            case CONTESTANT_STRENGTH:
+                batch.updateContestantStrength(a, b, c);
+                break;
+            case COACH:
+                batch.updateCoach(a, b);
+                break;
+            case REFEREE:
+                batch.updateReferee(a);
+                break;
+            case GAME_NUMBER:
+                batch.setGameNumber(a);
+                break;
+            case TRIAL_NUMBER:
+                batch.setTrialNumber(a);
+                break;
+            case FLAG_POSITION:
+                batch.setFlagPosition(a);
+                break;
+            case SET_TEAM_PLACEMENT:
+                batch.setTeamPlacement(a, b);
+                break;
+            case RESET_TEAM_PLACEMENT:
+                batch.resetTeamPlacement(a, b);
+                break;
+        }
+    }
+
+    /**
+     * Buffers an update, replacing the pending update of the same entity
+     *
+     * @param key of the entity
+     * @param type of the update
+     * @param a first argument
+     * @param b second argument
+     * @param c third argument
+     * @param d fourth argument
+     */
+    private void put(long key, UpdateType type, int a, int b, int c, int d) {
+        lock.lock();
+        pending.put(key, new int[]{type.ordinal(), a, b, c, d});
+        lock.unlock();
+    }
+
+    /**
+     * Buffers a placement update, which is never replaced
+     *
+     * @param type of the update
+     * @param id of the contestant
+     * @param team of the contestant
+     */
+    private void putPlacement(UpdateType type, int id, int team) {
+        lock.lock();
+        pending.put(-(++placements), new int[]{type.ordinal(), id, team, 0, 0});
+        lock.unlock();
+    }
+
+    /**
+     * Gets the key of an entity, contestant strength updates share the key of
+     * the contestant
+     *
+     * @param type of the update
+     * @param team of the entity
+     * @param id of the entity
+     * @return key of the entity
+     */
+    private static long key(UpdateType type, int team, int id) {
+        return ((long) type.ordinal() << 32) | (team << 16) | id;
+    }
+}
@@ -0,0 +1,151 @@
+package ClientSide.Stubs;
+
+import java.rmi.RemoteException;
+import java.util.Set;
+
+import Communication.Message;
+import Communication.Message.MessageType;
+import Interfaces.InterfaceContestantsBench;
+import Others.Tuple;
+
+/**
+ * Client stub of the contestants bench of a match, over the message transport
+ */
+public class ContestantsBenchStub extends MessageStub implements InterfaceContestantsBench {
+
+    /**
+     * Public constructor
+     *
+     * @param connection to the server
+     * @param match id of the match
+     */
+    public ContestantsBenchStub(ServerConnection connection, int match) {
+        super(connection, match);
+    }
+
+    @Override
+    public Tuple<Integer, Integer> addContestant(int id, int team, int state, int strength) throws RemoteException {
+        Message request = request(MessageType.CB_ADD_CONTESTANT);
+
+        request.setContestantId(id);
+        request.setTeam(team);
+        request.setNumber(state);
+        request.setStrength(strength);
+
+        int[] reply = call(request).getNumbers();
+
+        return new Tuple<>(reply[0], reply[1]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Tuple<Integer, Integer>> getBench(int team) throws RemoteException {
+        Message request = request(MessageType.CB_GET_BENCH);
+
+        request.setTeam(team);
+
+        return call(request).getBench();
+    }
+
+    @Override
+    public void getContestant(int id, int team) throws RemoteException {
+        Message request = request(MessageType.CB_GET_CONTESTANT);
+
+        request.setContestantId(id);
+        request.setTeam(team);
+
+        call(request);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Integer> getSelectedContestants(int team) throws RemoteException {
+        Message request = request(MessageType.CB_GET_SELECTED_CONTESTANTS);
+
+        request.setTeam(team);
+
+        return call(request).getSelectedContestants();
+    }
+
+    @Override
+    public long getSelectedMask(int team) throws RemoteException {
+        Message request = request(MessageType.CB_GET_SELECTED_MASK);
+
+        request.setTeam(team);
+
+        return call(request).getMask();
+    }
+
+    @Override
+    public void pickYourTeam(int team) throws RemoteException {
+        Message request = request(MessageType.CB_PICK_YOUR_TEAM);
+
+        request.setTeam(team);
+
+        call(request);
+    }
+
+    @Override
+    public void setSelectedContestants(int team, Set<Integer> selected) throws RemoteException {
+        Message request = request(MessageType.CB_SET_SELECTED_CONTESTANTS);
+
+        request.setTeam(team);
+        request.setSelectedContestants(selected);
+
+        call(request);
+    }
+
+    @Override
+    public void setSelectedMask(int team, long selected) throws RemoteException {
+        Message request = request(MessageType.CB_SET_SELECTED_MASK);
+
+        request.setTeam(team);
+        request.setMask(selected);
+
+        call(request);
+    }
+
+    @Override
+    public int waitForNextTrial(int team, int status) throws RemoteException {
+        Message request = request(MessageType.CB_WAIT_FOR_NEXT_TRIAL);
+
+        request.setTeam(team);
+        request.setNumber(status);
+
+        return call(request).getNumber();
+    }
+
+    @Override
+    public void updateContestantStrength(int id, int team, int delta) throws RemoteException {
+        Message request = request(MessageType.CB_UPDATE_CONTESTANT_STRENGTH);
+
+        request.setContestantId(id);
+        request.setTeam(team);
+        request.setStrength(delta);
+
+        call(request);
+    }
+
+    @Override
+    public void interrupt(int team) throws RemoteException {
+        Message request = request(MessageType.CB_INTERRUPT);
+
+        request.setTeam(team);
+
+        call(request);
+    }
+
+    @Override
+    public boolean shutdown() throws RemoteException {
+        return call(MessageType.CB_SHUTDOWN).getBoolean();
+    }
+
+    @Override
+    public void waitForEveryoneToStart(int team) throws RemoteException {
+        Message request = request(MessageType.CB_WAIT_FOR_EVERYONE_TO_START);
+
+        request.setTeam(team);
+
+        call(request);
+    }
+}
@@ -0,0 +1,178 @@
+package ClientSide.Stubs;
+
+import java.rmi.RemoteException;
+
+import Communication.Message;
+import Communication.Message.MessageType;
+import Interfaces.InterfaceGeneralInformationRepository;
+import Others.UpdateBatch;
+import ServerSide.Objects.RefereeSite;
+
+/**
+ * Client stub of the general information repository of a match, over the
+ * message transport
+ */
+public class GeneralInformationRepositoryStub extends MessageStub implements InterfaceGeneralInformationRepository {
+
+    /**
+     * Public constructor
+     *
+     * @param connection to the server
+     * @param match id of the match
+     */
+    public GeneralInformationRepositoryStub(ServerConnection connection, int match) {
+        super(connection, match);
+    }
+
+    @Override
+    public void updateCoach(int team, int status) throws RemoteException {
+        Message request = request(MessageType.GIR_UPDATE_COACH);
+
+        request.setTeam(team);
+        request.setNumber(status);
+
+        call(request);
+    }
+
+    @Override
+    public void updateContestant(int id, int team, int status, int strength) throws RemoteException {
+        Message request = request(MessageType.GIR_UPDATE_CONTESTANT);
+
+        request.setContestantId(id);
+        request.setTeam(team);
+        request.setNumber(status);
+        request.setStrength(strength);
+
+        call(request);
+    }
+
+    @Override
+    public void updateContestantStrength(int team, int id, int strength) throws RemoteException {
+        Message request = request(MessageType.GIR_UPDATE_CONTESTANT_STRENGTH);
+
+        request.setTeam(team);
+        request.setContestantId(id);
+        request.setStrength(strength);
+
+        call(request);
+    }
+
+    @Override
+    public void updateReferee(int status) throws RemoteException {
+        Message request = request(MessageType.GIR_UPDATE_REFEREE);
+
+        request.setNumber(status);
+
+        call(request);
+    }
+
+    @Override
+    public void applyUpdates(UpdateBatch batch) throws RemoteException {
+        Message request = request(MessageType.GIR_APPLY_UPDATES);
+
+        request.setBatch(batch);
+
+        call(request);
+    }
+
+    @Override
+    public void printLineUpdate() throws RemoteException {
+        call(MessageType.GIR_PRINT_LINE_UPDATE);
+    }
+
+    @Override
+    public void close() throws RemoteException {
+        call(MessageType.GIR_CLOSE);
+    }
+
+    @Override
+    public void printGameHeader() throws RemoteException {
+        call(MessageType.GIR_PRINT_GAME_HEADER);
+    }
+
+    @Override
+    public void printGameResult(RefereeSite.GameScore score) throws RemoteException {
+        Message request = request(MessageType.GIR_PRINT_GAME_RESULT);
+
+        request.setGameResult(score);
+
+        call(request);
+    }
+
+    @Override
+    public void printHeader() throws RemoteException {
+        call(MessageType.GIR_PRINT_HEADER);
+    }
+
+    @Override
+    public void printLegend() throws RemoteException {
+        call(MessageType.GIR_PRINT_LEGEND);
+    }
+
+    @Override
+    public void printMatchDraw() throws RemoteException {
+        call(MessageType.GIR_PRINT_MATCH_DRAW);
+    }
+
+    @Override
+    public void printMatchWinner(int team, int score1, int score2) throws RemoteException {
+        Message request = request(MessageType.GIR_PRINT_MATCH_WINNER);
+
+        request.setTeam(team);
+        request.setNumbers(new int[]{score1, score2});
+
+        call(request);
+    }
+
+    @Override
+    public void resetTeamPlacement(int id, int team) throws RemoteException {
+        Message request = request(MessageType.GIR_RESET_TEAM_PLACEMENT);
+
+        request.setContestantId(id);
+        request.setTeam(team);
+
+        call(request);
+    }
+
+    @Override
+    public void setFlagPosition(int flagPosition) throws RemoteException {
+        Message request = request(MessageType.GIR_SET_FLAG_POSITION);
+
+        request.setNumber(flagPosition);
+
+        call(request);
+    }
+
+    @Override
+    public void setGameNumber(int gameNumber) throws RemoteException {
+        Message request = request(MessageType.GIR_SET_GAME_NUMBER);
+
+        request.setNumber(gameNumber);
+
+        call(request);
+    }
+
+    @Override
+    public void setTeamPlacement(int id, int team) throws RemoteException {
+        Message request = request(MessageType.GIR_SET_TEAM_PLACEMENT);
+
+        request.setContestantId(id);
+        request.setTeam(team);
+
+        call(request);
+    }
+
+    @Override
+    public void setTrialNumber(int trialNumber) throws RemoteException {
+        Message request = request(MessageType.GIR_SET_TRIAL_NUMBER);
+
+        request.setNumber(trialNumber);
+
+        call(request);
+    }
+
+    @Override
+    public boolean shutdown() throws RemoteException {
+        return call(MessageType.GIR_SHUTDOWN).getBoolean();
+    }
+}
@@ -0,0 +1,62 @@
+package ClientSide.Stubs;
+
+import java.rmi.RemoteException;
+
+import Communication.Message;
+import Communication.Message.MessageType;
+
+/**
+ * Base of the client stubs that call a shared region of a match by
+ * exchanging messages with the server hosting it
+ */
+public abstract class MessageStub {
+
+    private final ServerConnection connection;      // connection to the server
+    private final int match;                        // id of the match
+
+    /**
+     * Constructor for the stubs
+     *
+     * @param connection to the server
+     * @param match id of the match
+     */
+    protected MessageStub(ServerConnection connection, int match) {
+        this.connection = connection;
+        this.match = match;
+    }
+
+    /**
+     * Creates a request addressed to the match
+     *
+     * @param type of the request
+     * @return request
+     */
+    protected Message request(MessageType type) {
+        Message request = new Message(type);
+
+        request.setMatch(match);
+        return request;
+    }
+
+    /**
+     * Sends a request and waits for its reply
+     *
+     * @param request to be sent
+     * @return reply of the server
+     * @throws RemoteException if the communication fails or the server could not handle the request
+     */
+    protected Message call(Message request) throws RemoteException {
+        return connection.exchange(request);
+    }
+
+    /**
+     * Sends a request with no arguments and waits for its reply
+     *
+     * @param type of the request
+     * @return reply of the server
+     * @throws RemoteException if the communication fails or the server could not handle the request
+     */
+    protected Message call(MessageType type) throws RemoteException {
+        return connection.exchange(request(type));
+    }
+}
@@ -0,0 +1,117 @@
+package ClientSide.Stubs;
+
+import java.rmi.RemoteException;
+
+import Communication.Message;
+import Communication.Message.MessageType;
+import Interfaces.InterfacePlayground;
+
+/**
+ * Client stub of the playground of a match, over the message transport
+ */
+public class PlaygroundStub extends MessageStub implements InterfacePlayground {
+
+    /**
+     * Public constructor
+     *
+     * @param connection to the server
+     * @param match id of the match
+     */
+    public PlaygroundStub(ServerConnection connection, int match) {
+        super(connection, match);
+    }
+
+    @Override
+    public int addContestant(int id, int team, int status, int strength) throws RemoteException {
+        Message request = request(MessageType.PG_ADD_CONTESTANT);
+
+        request.setContestantId(id);
+        request.setTeam(team);
+        request.setNumber(status);
+        request.setStrength(strength);
+
+        return call(request).getNumber();
+    }
+
+    @Override
+    public boolean areAllContestantsReady() throws RemoteException {
+        return call(MessageType.PG_ARE_ALL_CONTESTANTS_READY).getBoolean();
+    }
+
+    @Override
+    public int checkTeamPlacement(int team) throws RemoteException {
+        Message request = request(MessageType.PG_CHECK_TEAM_PLACEMENT);
+
+        request.setTeam(team);
+
+        return call(request).getNumber();
+    }
+
+    @Override
+    public void getContestant(int id, int team) throws RemoteException {
+        Message request = request(MessageType.PG_GET_CONTESTANT);
+
+        request.setContestantId(id);
+        request.setTeam(team);
+
+        call(request);
+    }
+
+    @Override
+    public int getFlagPosition() throws RemoteException {
+        return call(MessageType.PG_GET_FLAG_POSITION).getNumber();
+    }
+
+    @Override
+    public int getLastFlagPosition() throws RemoteException {
+        return call(MessageType.PG_GET_LAST_FLAG_POSITION).getNumber();
+    }
+
+    @Override
+    public int[] getTeamStrengths() throws RemoteException {
+        return call(MessageType.PG_GET_TEAM_STRENGTHS).getNumbers();
+    }
+
+    @Override
+    public void allHavePulled() throws RemoteException {
+        call(MessageType.PG_ALL_HAVE_PULLED);
+    }
+
+    @Override
+    public void pullRope() throws RemoteException {
+        call(MessageType.PG_PULL_ROPE);
+    }
+
+    @Override
+    public void resultAsserted() throws RemoteException {
+        call(MessageType.PG_RESULT_ASSERTED);
+    }
+
+    @Override
+    public void setFlagPosition(int flagPosition) throws RemoteException {
+        Message request = request(MessageType.PG_SET_FLAG_POSITION);
+
+        request.setNumber(flagPosition);
+
+        call(request);
+    }
+
+    @Override
+    public int startPulling() throws RemoteException {
+        return call(MessageType.PG_START_PULLING).getNumber();
+    }
+
+    @Override
+    public int watchTrial(int team) throws RemoteException {
+        Message request = request(MessageType.PG_WATCH_TRIAL);
+
+        request.setTeam(team);
+
+        return call(request).getNumber();
+    }
+
+    @Override
+    public boolean shutdown() throws RemoteException {
+        return call(MessageType.PG_SHUTDOWN).getBoolean();
+    }
+}
@@ -0,0 +1,97 @@
+package ClientSide.Stubs;
+
+import java.rmi.RemoteException;
+import java.util.List;
+
+import Communication.Message;
+import Communication.Message.MessageType;
+import Interfaces.InterfaceRefereeSite;
+
+/**
+ * Client stub of the referee site of a match, over the message transport
+ */
+public class RefereeSiteStub extends MessageStub implements InterfaceRefereeSite {
+
+    /**
+     * Public constructor
+     *
+     * @param connection to the server
+     * @param match id of the match
+     */
+    public RefereeSiteStub(ServerConnection connection, int match) {
+        super(connection, match);
+    }
+
+    @Override
+    public void addGamePoint(GameScore score) throws RemoteException {
+        Message request = request(MessageType.RS_ADD_GAME_POINT);
+
+        request.setGamePoint(score);
+
+        call(request);
+    }
+
+    @Override
+    public void addTrialPoint(TrialScore score) throws RemoteException {
+        Message request = request(MessageType.RS_ADD_TRIAL_POINT);
+
+        request.setTrialScore(score);
+
+        call(request);
+    }
+
+    @Override
+    public int bothTeamsReady() throws RemoteException {
+        return call(MessageType.RS_BOTH_TEAMS_READY).getNumber();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<GameScore> getGamePoints() throws RemoteException {
+        return call(MessageType.RS_GET_GAME_POINTS).getGamePoints();
+    }
+
+    @Override
+    public int getRemainingGames() throws RemoteException {
+        return call(MessageType.RS_GET_REMAINING_GAMES).getNumber();
+    }
+
+    @Override
+    public int getRemainingTrials() throws RemoteException {
+        return call(MessageType.RS_GET_REMAINING_TRIALS).getNumber();
+    }
+
+    @Override
+    public List<TrialScore> getTrialPoints() throws RemoteException {
+        return call(MessageType.RS_GET_TRIAL_POINTS).getTrialPoints();
+    }
+
+    @Override
+    public boolean isMatchEnded() throws RemoteException {
+        return call(MessageType.RS_HAS_MATCH_ENDED).getBoolean();
+    }
+
+    @Override
+    public void informReferee() throws RemoteException {
+        call(MessageType.RS_INFORM_REFEREE);
+    }
+
+    @Override
+    public void resetTrialPoints() throws RemoteException {
+        call(MessageType.RS_RESET_TRIAL_POINTS);
+    }
+
+    @Override
+    public void setIsMatchEnded(boolean hasMatchEnded) throws RemoteException {
+        Message request = request(MessageType.RS_SET_HAS_MATCH_ENDED);
+
+        request.setBoolean(hasMatchEnded);
+
+        call(request);
+    }
+
+    @Override
+    public boolean shutdown() throws RemoteException {
+        return call(MessageType.RS_SHUTDOWN).getBoolean();
+    }
+}
@@ -0,0 +1,120 @@
+package ClientSide.Stubs;
+
+import java.io.IOException;
+import java.rmi.RemoteException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import Communication.Message;
+import Communication.Message.MessageType;
+import Communication.MessageChannel;
+import Others.MatchConfig;
+
+/**
+ * Connection of the client stubs to a message server.
+ *
+ * Every stub of the client shares a single channel to the server, however
+ * many entities and matches it runs. The requests are multiplexed on it and
+ * a caller waiting for its reply parks only itself, so a request the shared
+ * region keeps waiting does not hold back the others. The channel is opened
+ * when first needed and opened again if it fails.
+ */
+public class ServerConnection {
+
+    private final String host;                      // name of the server
+    private final int port;                         // port number of the server
+    private final Lock lock;                        // guards the opening of the channel
+    private MessageChannel channel;                 // channel to the server, null until opened
+
+    /**
+     * Public constructor, the channel is opened when needed
+     *
+     * @param host name of the server
+     * @param port number of the server
+     */
+    public ServerConnection(String host, int port) {
+        this.host = host;
+        this.port = port;
+
+        lock = new ReentrantLock();
+        channel = null;
+    }
+
+    /**
+     * Sends a request and waits for its reply
+     *
+     * @param request to be sent
+     * @return reply of the server
+     * @throws RemoteException if the communication fails or the server could not handle the request
+     */
+    public Message exchange(Message request) throws RemoteException {
+        Message reply;
+
+        try {
+            reply = getChannel().send(request).get();
+        } catch (IOException | ExecutionException ex) {
+            throw new RemoteException("Communication with " + host + ":" + port + " failed",
+                    ex instanceof ExecutionException ? ex.getCause() : ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RemoteException("Interrupted while waiting for " + request.getType(), ex);
+        }
+
+        if (reply.getType() == MessageType.ERROR) {
+            throw new RemoteException(request.getType() + " failed on the server: " + reply.getError());
+        }
+
+        return reply;
+    }
+
+    /**
+     * Gets the configuration of the matches hosted by the server
+     *
+     * @return match configuration
+     * @throws RemoteException if the communication fails
+     */
+    public MatchConfig getMatchConfig() throws RemoteException {
+        return exchange(new Message(MessageType.MATCH_CONFIG)).getMatchConfig();
+    }
+
+    /**
+     * Closes the channel
+     */
+    public void close() {
+        lock.lock();
+
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(ServerConnection.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the channel to the server, opening it if it is not open
+     *
+     * @return open channel
+     * @throws IOException if the channel can not be opened
+     */
+    private MessageChannel getChannel() throws IOException {
+        lock.lock();
+
+        try {
+            if (channel == null || !channel.isOpen()) {
+                channel = new MessageChannel(host, port);
+            }
+
+            return channel;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
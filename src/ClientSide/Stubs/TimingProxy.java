@@ -0,0 +1,76 @@
+package ClientSide.Stubs;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import Others.LatencyHistogram;
+
+/**
+ * Client side proxy of a shared region that times every call made through
+ * it. The latency of each method, as seen by the caller, is recorded in the
+ * histogram named after the region and the method, like
+ * Playground.startPulling; the histograms are shared by every proxy given
+ * the same map, so the calls of many matches add up.
+ */
+public class TimingProxy implements InvocationHandler {
+
+    private final Object target;                                        // region called
+    private final String region;                                        // name of the region
+    private final ConcurrentMap<String, LatencyHistogram> histograms;   // histograms by region and method
+    private final Map<Method, LatencyHistogram> byMethod;               // histogram of each method, once looked up
+
+    /**
+     * Private constructor, the proxies are created by wrap
+     *
+     * @param target region called
+     * @param region name of the region
+     * @param histograms histograms by region and method
+     */
+    private TimingProxy(Object target, String region, ConcurrentMap<String, LatencyHistogram> histograms) {
+        this.target = target;
+        this.region = region;
+        this.histograms = histograms;
+
+        byMethod = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Wraps a shared region in a proxy timing its calls
+     *
+     * @param <T> interface of the region
+     * @param type interface of the region
+     * @param target region to be called
+     * @param region name of the region in the histograms
+     * @param histograms histograms by region and method, filled as the methods are called
+     * @return proxy of the region
+     */
+    public static <T> T wrap(Class<T> type, T target, String region,
+            ConcurrentMap<String, LatencyHistogram> histograms) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new TimingProxy(target, region, histograms)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(target, args);
+        }
+
+        LatencyHistogram histogram = byMethod.computeIfAbsent(method,
+                m -> histograms.computeIfAbsent(region + "." + m.getName(), name -> new LatencyHistogram()));
+        long start = System.nanoTime();
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        } finally {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package Communication;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct byte buffers of a fixed size, used to encode, send and
+ * receive the messages without allocating a buffer for each one.
+ */
+public class BufferPool {
+
+    /**
+     * Pool shared by the message channels and servers of the process
+     */
+    public static final BufferPool SHARED = new BufferPool(8192, 1024);
+
+    private final int bufferSize;               // capacity of each buffer
+    private final int maxFree;                  // most buffers kept while not in use
+    private final Queue<ByteBuffer> free;       // buffers not in use
+    private final AtomicInteger freeCount;      // number of buffers not in use
+
+    /**
+     * Public constructor
+     *
+     * @param bufferSize capacity of each buffer
+     * @param maxFree most buffers kept while not in use
+     */
+    public BufferPool(int bufferSize, int maxFree) {
+        this.bufferSize = bufferSize;
+        this.maxFree = maxFree;
+
+        free = new ConcurrentLinkedQueue<>();
+        freeCount = new AtomicInteger();
+    }
+
+    /**
+     * Gets the capacity of the buffers of the pool
+     *
+     * @return capacity of each buffer
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Takes a cleared buffer from the pool, allocating one if none is free
+     *
+     * @return buffer with the capacity of the pool
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        freeCount.decrementAndGet();
+        buffer.clear();
+
+        return buffer;
+    }
+
+    /**
+     * Takes a buffer for a given number of bytes, from the pool if they fit
+     * in its buffers
+     *
+     * @param size number of bytes to be held
+     * @return buffer with its limit set to the size
+     */
+    public ByteBuffer acquire(int size) {
+        ByteBuffer buffer = (size <= bufferSize) ? acquire() : ByteBuffer.allocate(size);
+
+        buffer.limit(size);
+
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer back to the pool. Buffers of another capacity, and
+     * buffers beyond the ones the pool keeps, are left to the collector.
+     *
+     * @param buffer not to be used anymore by the caller
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() != bufferSize || !buffer.isDirect()) {
+            return;
+        }
+
+        if (freeCount.incrementAndGet() <= maxFree) {
+            free.offer(buffer);
+        } else {
+            freeCount.decrementAndGet();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package Communication;
 import Others.InterfaceCoach.CoachState;
 import Others.InterfaceContestant.ContestantState;
 import Others.InterfaceReferee.RefereeState;
+import Others.MatchConfig;
+import Others.UpdateBatch;
 import ServerSide.Objects.RefereeSite;
 
 import java.io.Serializable;
@@ -40,6 +42,16 @@ public class Message implements Serializable {
     private RefereeSite.TrialScore trialscore;  // trialScore that this message may contain
     private List list;                          // a list that this message may contain
     private boolean bool;                       // a boolean that this message may contain
+    private long mask;                          // a bit mask that this message may contain
+    private UpdateBatch batch;                  // updates to the general information repository
+    private MatchConfig config;                 // match configuration that this message may contain
+    private String error;                       // description of the failure of a request
+
+    // match the message is addressed to
+    private int match;
+
+    // id pairing a request with its reply on a shared channel
+    private int correlationId;
 
     /**
      * Initialisation for Contestant
@@ -496,6 +508,159 @@ public class Message implements Serializable {
         this.strength = strength;
     }
 
+    /**
+     * Gets the match this message is addressed to
+     *
+     * @return id of the match
+     */
+    public int getMatch() {
+        return match;
+    }
+
+    /**
+     * Sets the match this message is addressed to
+     *
+     * @param match id of the match
+     */
+    public void setMatch(int match) {
+        this.match = match;
+    }
+
+    /**
+     * Gets the id pairing this message with its request or reply
+     *
+     * @return correlation id
+     */
+    public int getCorrelationId() {
+        return correlationId;
+    }
+
+    /**
+     * Sets the id pairing this message with its request or reply
+     *
+     * @param correlationId of the exchange
+     */
+    public void setCorrelationId(int correlationId) {
+        this.correlationId = correlationId;
+    }
+
+    /**
+     * Sets the contestant id embed in this message
+     *
+     * @param id of the contestant
+     */
+    public void setContestantId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the number stored in this message
+     *
+     * @return number
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * Sets a number embed in this message
+     *
+     * @param number to set
+     */
+    public void setNumber(int number) {
+        this.number = number;
+    }
+
+    /**
+     * Gets the boolean stored in this message
+     *
+     * @return boolean
+     */
+    public boolean getBoolean() {
+        return bool;
+    }
+
+    /**
+     * Sets a boolean embed in this message
+     *
+     * @param bool to set
+     */
+    public void setBoolean(boolean bool) {
+        this.bool = bool;
+    }
+
+    /**
+     * Gets the bit mask stored in this message
+     *
+     * @return bit mask
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * Sets a bit mask embed in this message
+     *
+     * @param mask to set
+     */
+    public void setMask(long mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Gets the updates to the general information repository stored in this message
+     *
+     * @return batch of updates
+     */
+    public UpdateBatch getBatch() {
+        return batch;
+    }
+
+    /**
+     * Sets the updates to the general information repository embed in this message
+     *
+     * @param batch of updates
+     */
+    public void setBatch(UpdateBatch batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Gets the match configuration stored in this message
+     *
+     * @return match configuration
+     */
+    public MatchConfig getMatchConfig() {
+        return config;
+    }
+
+    /**
+     * Sets the match configuration embed in this message
+     *
+     * @param config of the match
+     */
+    public void setMatchConfig(MatchConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Gets the description of the failure stored in this message
+     *
+     * @return description of the failure
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Sets the description of the failure of a request
+     *
+     * @param error description of the failure
+     */
+    public void setError(String error) {
+        this.error = error;
+    }
+
     /**
      * Enums that describe the message type according to its
      * function/destination in a Client/Server message implementation
@@ -507,6 +672,8 @@ public class Message implements Serializable {
         INTERRUPT(MessageCategory.GENERIC),
         SHUTDOWN(MessageCategory.GENERIC),
         WAIT_FOR_EVERYONE_TO_START(MessageCategory.GENERIC),
+        ERROR(MessageCategory.GENERIC),
+        MATCH_CONFIG(MessageCategory.GENERIC),
         
         // type of embed that in the message
         BENCH(MessageCategory.GENERIC),
@@ -531,6 +698,11 @@ public class Message implements Serializable {
         CB_SET_SELECTED_CONTESTANTS(MessageCategory.CB),
         CB_WAIT_FOR_NEXT_TRIAL(MessageCategory.CB),
         CB_UPDATE_CONTESTANT_STRENGTH(MessageCategory.CB),
+        CB_GET_SELECTED_MASK(MessageCategory.CB),
+        CB_SET_SELECTED_MASK(MessageCategory.CB),
+        CB_INTERRUPT(MessageCategory.CB),
+        CB_WAIT_FOR_EVERYONE_TO_START(MessageCategory.CB),
+        CB_SHUTDOWN(MessageCategory.CB),
         // methods that can be called in the PlaygGround
         PG_ADD_CONTESTANT(MessageCategory.PG),
         PG_CHECK_TEAM_PLACEMENT(MessageCategory.PG),
@@ -542,6 +714,10 @@ public class Message implements Serializable {
         PG_SET_FLAG_POSITION(MessageCategory.PG),
         PG_START_PULLING(MessageCategory.PG),
         PG_WATCH_TRIAL(MessageCategory.PG),
+        PG_ARE_ALL_CONTESTANTS_READY(MessageCategory.PG),
+        PG_GET_TEAM_STRENGTHS(MessageCategory.PG),
+        PG_ALL_HAVE_PULLED(MessageCategory.PG),
+        PG_SHUTDOWN(MessageCategory.PG),
         
         // methods that can be called in the GeneralInformationRepository
         GIR_UPDATE_COACH(MessageCategory.GIR),
@@ -561,6 +737,8 @@ public class Message implements Serializable {
         GIR_SET_GAME_NUMBER(MessageCategory.GIR),
         GIR_SET_TEAM_PLACEMENT(MessageCategory.GIR),
         GIR_SET_TRIAL_NUMBER(MessageCategory.GIR),
+        GIR_APPLY_UPDATES(MessageCategory.GIR),
+        GIR_SHUTDOWN(MessageCategory.GIR),
         
         // methods that can be called in the RefereeSite
         RS_ADD_GAME_POINT(MessageCategory.RS),
@@ -573,7 +751,8 @@ public class Message implements Serializable {
         RS_HAS_MATCH_ENDED(MessageCategory.RS),
         RS_INFORM_REFEREE(MessageCategory.RS),
         RS_RESET_TRIAL_POINTS(MessageCategory.RS),
-        RS_SET_HAS_MATCH_ENDED(MessageCategory.RS);
+        RS_SET_HAS_MATCH_ENDED(MessageCategory.RS),
+        RS_SHUTDOWN(MessageCategory.RS);
 
         private final MessageCategory category; // stores the message category
 
@@ -0,0 +1,184 @@
+package Communication;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Connection of a client to a message server, shared by every thread of the
+ * client that calls the server.
+ *
+ * Each request is given a correlation id and sent as soon as the channel is
+ * free to write, without waiting for the replies of the requests before it.
+ * A reader thread takes the replies in the order the server finishes them
+ * and completes the future of the request with the same id, so a caller
+ * waiting for a reply parks only itself. Writes are guarded by a lock rather
+ * than a monitor, so a virtual thread writing does not pin its carrier.
+ */
+public class MessageChannel implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final Lock writeLock;                                   // one frame written at a time
+    private final AtomicInteger nextId;                             // correlation id of the next request
+    private final Map<Integer, CompletableFuture<Message>> pending; // requests waiting for their replies by id
+    private volatile IOException failure;                           // why the channel stopped, null while open
+
+    /**
+     * Connects to a message server and starts reading its replies
+     *
+     * @param host name of the server
+     * @param port number of the server
+     * @throws IOException if the connection fails
+     */
+    public MessageChannel(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.socket().setTcpNoDelay(true);
+
+        writeLock = new ReentrantLock();
+        nextId = new AtomicInteger();
+        pending = new ConcurrentHashMap<>();
+        failure = null;
+
+        Thread reader = new Thread(this::readReplies, "MessageChannel-" + host + ":" + port);
+
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Sends a request
+     *
+     * @param request to be sent, its correlation id is set by the channel
+     * @return future completed with the reply of the server, or exceptionally if the communication fails
+     */
+    public CompletableFuture<Message> send(Message request) {
+        CompletableFuture<Message> reply = new CompletableFuture<>();
+        int id = nextId.incrementAndGet();
+
+        request.setCorrelationId(id);
+        pending.put(id, reply);
+
+        if (failure != null) {
+            fail(id, failure);
+            return reply;
+        }
+
+        ByteBuffer frame = MessageCodec.encode(request, false);
+
+        writeLock.lock();
+
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        } catch (IOException ex) {
+            fail(id, ex);
+        } finally {
+            writeLock.unlock();
+            BufferPool.SHARED.release(frame);
+        }
+
+        return reply;
+    }
+
+    /**
+     * Checks if the channel can still be used
+     *
+     * @return true if the channel has not failed nor been closed
+     */
+    public boolean isOpen() {
+        return failure == null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads the replies and completes the requests they belong to, until the
+     * channel fails or is closed. The requests still waiting then fail.
+     */
+    private void readReplies() {
+        ByteBuffer header = ByteBuffer.allocate(MessageCodec.HEADER_SIZE);
+
+        try {
+            while (true) {
+                header.clear();
+                readFully(header);
+
+                int length = header.getInt(0);
+
+                MessageCodec.checkLength(length);
+
+                ByteBuffer body = BufferPool.SHARED.acquire(length);
+                Message reply;
+
+                try {
+                    readFully(body);
+                    body.flip();
+
+                    reply = MessageCodec.decode(body);
+                } finally {
+                    BufferPool.SHARED.release(body);
+                }
+
+                CompletableFuture<Message> request = pending.remove(reply.getCorrelationId());
+
+                if (request != null) {
+                    request.complete(reply);
+                }
+            }
+        } catch (IOException ex) {
+            failure = ex;
+        }
+
+        for (Integer id : pending.keySet()) {
+            fail(id, failure);
+        }
+
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            Logger.getLogger(MessageChannel.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Fails a request waiting for its reply
+     *
+     * @param id correlation id of the request
+     * @param cause of the failure
+     */
+    private void fail(int id, IOException cause) {
+        CompletableFuture<Message> request = pending.remove(id);
+
+        if (request != null) {
+            request.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Reads until the buffer is full
+     *
+     * @param buffer to be filled
+     * @throws IOException if the communication fails or the server closes the connection
+     */
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Connection closed by the server");
+            }
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package Communication;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import Communication.Message.MessageType;
+import Interfaces.InterfaceRefereeSite.GameScore;
+import Interfaces.InterfaceRefereeSite.TrialScore;
+import Others.MatchConfig;
+import Others.Tuple;
+import Others.UpdateBatch;
+import Others.UpdateBatch.PrintDirective;
+import Others.UpdateBatch.UpdateType;
+
+/**
+ * Binary encoding of the messages sent over the socket channels.
+ *
+ * A frame is the length of the rest of the frame as an int, an opcode byte
+ * with the ordinal of the message type and the high bit set for replies, the
+ * correlation id as an int, the match id as an int in requests only, and
+ * then the fields the type carries, always in the same order. Which fields a
+ * request or a reply of each type carries is fixed by the tables below, so
+ * nothing describing the fields is sent. Types without a layout carry no
+ * fields.
+ *
+ * Enums are sent as their ordinals, the selected contestants as a mask with
+ * bit id - 1 set for each one and the lists of scores packed four bits to
+ * each score.
+ */
+public class MessageCodec {
+
+    /**
+     * Length of the frame header
+     */
+    public static final int HEADER_SIZE = Integer.BYTES;
+
+    /**
+     * Largest frame body accepted, larger ones are taken as a broken stream
+     */
+    public static final int MAX_MESSAGE_SIZE = 1 << 20;
+
+    private static final int REPLY = 0x80;          // opcode bit of the replies
+    private static final int MAX_ERROR_SIZE = 1024; // bytes of the error description sent
+
+    // fields, in the order they are encoded
+    private static final int TEAM = 1;              // byte
+    private static final int ID = 1 << 1;           // byte
+    private static final int STRENGTH = 1 << 2;     // int
+    private static final int NUMBER = 1 << 3;       // int
+    private static final int NUMBERS = 1 << 4;      // byte count and ints
+    private static final int MASK = 1 << 5;         // long
+    private static final int BOOLEAN = 1 << 6;      // byte
+    private static final int SELECTED = 1 << 7;     // long mask of the contestant ids
+    private static final int BENCH = 1 << 8;        // byte count and pairs of byte id and int strength
+    private static final int GAME_POINTS = 1 << 9;  // unsigned short count and packed ordinals
+    private static final int TRIAL_POINTS = 1 << 10;// unsigned short count and packed ordinals
+    private static final int GAME_SCORE = 1 << 11;  // byte ordinal, -1 for none
+    private static final int TRIAL_SCORE = 1 << 12; // byte ordinal, -1 for none
+    private static final int BATCH = 1 << 13;       // unsigned short count, byte print directive and updates
+    private static final int CONFIG = 1 << 14;      // shorts of the match configuration
+    private static final int ERROR = 1 << 15;       // unsigned short length and UTF-8 bytes
+
+    private static final MessageType[] TYPES = MessageType.values();
+    private static final GameScore[] GAME_SCORES = GameScore.values();
+    private static final TrialScore[] TRIAL_SCORES = TrialScore.values();
+    private static final UpdateType[] UPDATE_TYPES = UpdateType.values();
+    private static final PrintDirective[] PRINT_DIRECTIVES = PrintDirective.values();
+
+    private static final int[] REQUEST_FIELDS = new int[TYPES.length];  // fields of the requests by type
+    private static final int[] REPLY_FIELDS = new int[TYPES.length];    // fields of the replies by type
+
+    static {
+        layout(MessageType.ERROR, 0, ERROR);
+        layout(MessageType.MATCH_CONFIG, 0, CONFIG);
+
+        layout(MessageType.CB_ADD_CONTESTANT, TEAM | ID | STRENGTH | NUMBER, NUMBERS);
+        layout(MessageType.CB_GET_BENCH, TEAM, BENCH);
+        layout(MessageType.CB_GET_CONTESTANT, TEAM | ID, 0);
+        layout(MessageType.CB_GET_SELECTED_CONTESTANTS, TEAM, SELECTED);
+        layout(MessageType.CB_GET_SELECTED_MASK, TEAM, MASK);
+        layout(MessageType.CB_PICK_YOUR_TEAM, TEAM, 0);
+        layout(MessageType.CB_SET_SELECTED_CONTESTANTS, TEAM | SELECTED, 0);
+        layout(MessageType.CB_SET_SELECTED_MASK, TEAM | MASK, 0);
+        layout(MessageType.CB_WAIT_FOR_NEXT_TRIAL, TEAM | NUMBER, NUMBER);
+        layout(MessageType.CB_UPDATE_CONTESTANT_STRENGTH, TEAM | ID | STRENGTH, 0);
+        layout(MessageType.CB_INTERRUPT, TEAM, 0);
+        layout(MessageType.CB_WAIT_FOR_EVERYONE_TO_START, TEAM, 0);
+        layout(MessageType.CB_SHUTDOWN, 0, BOOLEAN);
+
+        layout(MessageType.PG_ADD_CONTESTANT, TEAM | ID | STRENGTH | NUMBER, NUMBER);
+        layout(MessageType.PG_ARE_ALL_CONTESTANTS_READY, 0, BOOLEAN);
+        layout(MessageType.PG_CHECK_TEAM_PLACEMENT, TEAM, NUMBER);
+        layout(MessageType.PG_GET_CONTESTANT, TEAM | ID, 0);
+        layout(MessageType.PG_GET_FLAG_POSITION, 0, NUMBER);
+        layout(MessageType.PG_GET_LAST_FLAG_POSITION, 0, NUMBER);
+        layout(MessageType.PG_GET_TEAM_STRENGTHS, 0, NUMBERS);
+        layout(MessageType.PG_SET_FLAG_POSITION, NUMBER, 0);
+        layout(MessageType.PG_START_PULLING, 0, NUMBER);
+        layout(MessageType.PG_WATCH_TRIAL, TEAM, NUMBER);
+        layout(MessageType.PG_SHUTDOWN, 0, BOOLEAN);
+
+        layout(MessageType.RS_ADD_GAME_POINT, GAME_SCORE, 0);
+        layout(MessageType.RS_ADD_TRIAL_POINT, TRIAL_SCORE, 0);
+        layout(MessageType.RS_BOTH_TEAMS_READY, 0, NUMBER);
+        layout(MessageType.RS_GET_GAME_POINTS, 0, GAME_POINTS);
+        layout(MessageType.RS_GET_REMAINING_GAMES, 0, NUMBER);
+        layout(MessageType.RS_GET_REMAINING_TRIALS, 0, NUMBER);
+        layout(MessageType.RS_GET_TRIAL_POINTS, 0, TRIAL_POINTS);
+        layout(MessageType.RS_HAS_MATCH_ENDED, 0, BOOLEAN);
+        layout(MessageType.RS_SET_HAS_MATCH_ENDED, BOOLEAN, 0);
+        layout(MessageType.RS_SHUTDOWN, 0, BOOLEAN);
+
+        layout(MessageType.GIR_UPDATE_COACH, TEAM | NUMBER, 0);
+        layout(MessageType.GIR_UPDATE_CONTESTANT, TEAM | ID | STRENGTH | NUMBER, 0);
+        layout(MessageType.GIR_UPDATE_CONTESTANT_STRENGTH, TEAM | ID | STRENGTH, 0);
+        layout(MessageType.GIR_UPDATE_REFEREE, NUMBER, 0);
+        layout(MessageType.GIR_APPLY_UPDATES, BATCH, 0);
+        layout(MessageType.GIR_PRINT_GAME_RESULT, GAME_SCORE, 0);
+        layout(MessageType.GIR_PRINT_MATCH_WINNER, TEAM | NUMBERS, 0);
+        layout(MessageType.GIR_RESET_TEAM_PLACEMENT, TEAM | ID, 0);
+        layout(MessageType.GIR_SET_FLAG_POSITION, NUMBER, 0);
+        layout(MessageType.GIR_SET_GAME_NUMBER, NUMBER, 0);
+        layout(MessageType.GIR_SET_TEAM_PLACEMENT, TEAM | ID, 0);
+        layout(MessageType.GIR_SET_TRIAL_NUMBER, NUMBER, 0);
+        layout(MessageType.GIR_SHUTDOWN, 0, BOOLEAN);
+    }
+
+    /**
+     * Not to be instantiated
+     */
+    private MessageCodec() {
+    }
+
+    /**
+     * Encodes a message in a frame. The frame is taken from the shared buffer
+     * pool, unless the message does not fit in a pooled buffer, and should be
+     * released to the pool once written.
+     *
+     * @param message to be encoded
+     * @param reply true if the message is a reply, false if it is a request
+     * @return frame ready to be written
+     */
+    public static ByteBuffer encode(Message message, boolean reply) {
+        ByteBuffer frame = BufferPool.SHARED.acquire();
+
+        while (true) {
+            try {
+                write(frame, message, reply);
+                frame.flip();
+
+                return frame;
+            } catch (BufferOverflowException ex) {
+                int capacity = frame.capacity() * 2;
+
+                BufferPool.SHARED.release(frame);
+                frame = ByteBuffer.allocate(capacity);
+            }
+        }
+    }
+
+    /**
+     * Decodes the message of a frame
+     *
+     * @param body of the frame, without the header, from its position to its limit
+     * @return message
+     * @throws IOException if the frame is not a valid message, whatever field
+     * of it is broken
+     */
+    public static Message decode(ByteBuffer body) throws IOException {
+        try {
+            int opcode = body.get() & 0xFF;
+            int ordinal = opcode & ~REPLY;
+
+            if (ordinal >= TYPES.length) {
+                throw new IOException("Invalid message type: " + ordinal);
+            }
+
+            Message message = new Message(TYPES[ordinal]);
+            boolean reply = (opcode & REPLY) != 0;
+
+            message.setCorrelationId(body.getInt());
+
+            if (!reply) {
+                message.setMatch(body.getInt());
+            }
+
+            readFields(body, message, reply ? REPLY_FIELDS[ordinal] : REQUEST_FIELDS[ordinal]);
+
+            if (body.hasRemaining()) {
+                throw new IOException("Trailing bytes in message " + message.getType());
+            }
+
+            return message;
+        } catch (RuntimeException ex) {
+            // a broken field must fail the frame, not the thread reading it
+            throw new IOException("Invalid message", ex);
+        }
+    }
+
+    /**
+     * Checks the length read from a frame header
+     *
+     * @param length of the frame body
+     * @throws IOException if the length is not valid
+     */
+    public static void checkLength(int length) throws IOException {
+        if (length <= 0 || length > MAX_MESSAGE_SIZE) {
+            throw new IOException("Invalid message length: " + length);
+        }
+    }
+
+    /**
+     * Sets the fields of the requests and replies of a type
+     *
+     * @param type of the message
+     * @param request fields of the requests
+     * @param reply fields of the replies
+     */
+    private static void layout(MessageType type, int request, int reply) {
+        REQUEST_FIELDS[type.ordinal()] = request;
+        REPLY_FIELDS[type.ordinal()] = reply;
+    }
+
+    /**
+     * Writes a whole frame, from the start of the buffer
+     *
+     * @param frame to be written to
+     * @param message to be encoded
+     * @param reply true if the message is a reply
+     */
+    private static void write(ByteBuffer frame, Message message, boolean reply) {
+        int ordinal = message.getType().ordinal();
+
+        frame.clear();
+        frame.position(HEADER_SIZE);
+        frame.put((byte) (reply ? ordinal | REPLY : ordinal));
+        frame.putInt(message.getCorrelationId());
+
+        if (!reply) {
+            frame.putInt(message.getMatch());
+        }
+
+        writeFields(frame, message, reply ? REPLY_FIELDS[ordinal] : REQUEST_FIELDS[ordinal]);
+
+        frame.putInt(0, frame.position() - HEADER_SIZE);
+    }
+
+    /**
+     * Writes the fields of a message
+     *
+     * @param frame to be written to
+     * @param message to be encoded
+     * @param fields to be written
+     */
+    @SuppressWarnings("unchecked")
+    private static void writeFields(ByteBuffer frame, Message message, int fields) {
+        if ((fields & TEAM) != 0) {
+            frame.put((byte) message.getTeam());
+        }
+        if ((fields & ID) != 0) {
+            frame.put((byte) message.getContestantId());
+        }
+        if ((fields & STRENGTH) != 0) {
+            frame.putInt(message.getStrength());
+        }
+        if ((fields & NUMBER) != 0) {
+            frame.putInt(message.getNumber());
+        }
+        if ((fields & NUMBERS) != 0) {
+            int[] numbers = message.getNumbers();
+
+            frame.put((byte) numbers.length);
+            for (int number : numbers) {
+                frame.putInt(number);
+            }
+        }
+        if ((fields & MASK) != 0) {
+            frame.putLong(message.getMask());
+        }
+        if ((fields & BOOLEAN) != 0) {
+            frame.put((byte) (message.getBoolean() ? 1 : 0));
+        }
+        if ((fields & SELECTED) != 0) {
+            long mask = 0;
+
+            for (Integer id : (Set<Integer>) message.getSelectedContestants()) {
+                mask |= 1L << (id - 1);
+            }
+            frame.putLong(mask);
+        }
+        if ((fields & BENCH) != 0) {
+            Set<Tuple<Integer, Integer>> bench = message.getBench();
+
+            frame.put((byte) bench.size());
+            for (Tuple<Integer, Integer> contestant : bench) {
+                frame.put(contestant.getLeft().byteValue());
+                frame.putInt(contestant.getRight());
+            }
+        }
+        if ((fields & GAME_POINTS) != 0) {
+            writeScores(frame, (List<? extends Enum<?>>) message.getGamePoints());
+        }
+        if ((fields & TRIAL_POINTS) != 0) {
+            writeScores(frame, message.getTrialPoints());
+        }
+        if ((fields & GAME_SCORE) != 0) {
+            frame.put(ordinal(message.getGamePoint()));
+        }
+        if ((fields & TRIAL_SCORE) != 0) {
+            frame.put(ordinal(message.getTrialPoint()));
+        }
+        if ((fields & BATCH) != 0) {
+            writeBatch(frame, message.getBatch());
+        }
+        if ((fields & CONFIG) != 0) {
+            MatchConfig config = message.getMatchConfig();
+
+            frame.putShort((short) config.getRoster());
+            frame.putShort((short) config.getPullers());
+            frame.putShort((short) config.getTrials());
+            frame.putShort((short) config.getGames());
+            frame.putShort((short) config.getKnockout());
+        }
+        if ((fields & ERROR) != 0) {
+            String error = message.getError();
+            byte[] bytes = (error == null ? "" : error).getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, MAX_ERROR_SIZE);
+
+            frame.putShort((short) length);
+            frame.put(bytes, 0, length);
+        }
+    }
+
+    /**
+     * Reads the fields of a message
+     *
+     * @param body to be read from
+     * @param message to be filled
+     * @param fields to be read
+     * @throws IOException if a field is not valid
+     */
+    private static void readFields(ByteBuffer body, Message message, int fields) throws IOException {
+        if ((fields & TEAM) != 0) {
+            message.setTeam(body.get());
+        }
+        if ((fields & ID) != 0) {
+            message.setContestantId(body.get());
+        }
+        if ((fields & STRENGTH) != 0) {
+            message.setStrength(body.getInt());
+        }
+        if ((fields & NUMBER) != 0) {
+            message.setNumber(body.getInt());
+        }
+        if ((fields & NUMBERS) != 0) {
+            int[] numbers = new int[body.get() & 0xFF];
+
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = body.getInt();
+            }
+            message.setNumbers(numbers);
+        }
+        if ((fields & MASK) != 0) {
+            message.setMask(body.getLong());
+        }
+        if ((fields & BOOLEAN) != 0) {
+            message.setBoolean(body.get() != 0);
+        }
+        if ((fields & SELECTED) != 0) {
+            Set<Integer> selected = new TreeSet<>();
+
+            for (long mask = body.getLong(); mask != 0; mask &= mask - 1) {
+                selected.add(Long.numberOfTrailingZeros(mask) + 1);
+            }
+            message.setSelectedContestants(selected);
+        }
+        if ((fields & BENCH) != 0) {
+            int size = body.get() & 0xFF;
+            Set<Tuple<Integer, Integer>> bench = new HashSet<>();
+
+            for (int i = 0; i < size; i++) {
+                int id = body.get();
+
+                bench.add(new Tuple<>(id, body.getInt()));
+            }
+            message.setSet(bench);
+        }
+        if ((fields & GAME_POINTS) != 0) {
+            message.setGamePoints(readScores(body, GAME_SCORES));
+        }
+        if ((fields & TRIAL_POINTS) != 0) {
+            message.setTrialPoints(readScores(body, TRIAL_SCORES));
+        }
+        if ((fields & GAME_SCORE) != 0) {
+            int ordinal = body.get();
+
+            message.setGamePoint(ordinal < 0 ? null : GAME_SCORES[ordinal]);
+        }
+        if ((fields & TRIAL_SCORE) != 0) {
+            int ordinal = body.get();
+
+            message.setTrialScore(ordinal < 0 ? null : TRIAL_SCORES[ordinal]);
+        }
+        if ((fields & BATCH) != 0) {
+            message.setBatch(readBatch(body));
+        }
+        if ((fields & CONFIG) != 0) {
+            message.setMatchConfig(new MatchConfig(body.getShort(), body.getShort(), body.getShort(),
+                    body.getShort(), body.getShort()));
+        }
+        if ((fields & ERROR) != 0) {
+            byte[] bytes = new byte[body.getShort() & 0xFFFF];
+
+            body.get(bytes);
+            message.setError(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Gets the ordinal of a score
+     *
+     * @param score to be encoded, may be null
+     * @return ordinal of the score, -1 for none
+     */
+    private static byte ordinal(Enum<?> score) {
+        return (byte) (score == null ? -1 : score.ordinal());
+    }
+
+    /**
+     * Writes a list of scores, two to each byte
+     *
+     * @param frame to be written to
+     * @param scores to be written
+     */
+    private static void writeScores(ByteBuffer frame, List<? extends Enum<?>> scores) {
+        int size = scores.size();
+
+        frame.putShort((short) size);
+
+        for (int i = 0; i < size; i += 2) {
+            int low = scores.get(i).ordinal();
+            int high = (i + 1 < size) ? scores.get(i + 1).ordinal() : 0;
+
+            frame.put((byte) (low | high << 4));
+        }
+    }
+
+    /**
+     * Reads a list of scores, two from each byte
+     *
+     * @param <T> type of the scores
+     * @param body to be read from
+     * @param values of the scores by ordinal
+     * @return list of scores
+     */
+    private static <T> List<T> readScores(ByteBuffer body, T[] values) {
+        int size = body.getShort() & 0xFFFF;
+        List<T> scores = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i += 2) {
+            int packed = body.get();
+
+            scores.add(values[packed & 0x0F]);
+            if (i + 1 < size) {
+                scores.add(values[(packed >> 4) & 0x0F]);
+            }
+        }
+
+        return scores;
+    }
+
+    /**
+     * Writes a batch of updates
+     *
+     * @param frame to be written to
+     * @param batch to be written
+     */
+    private static void writeBatch(ByteBuffer frame, UpdateBatch batch) {
+        frame.putShort((short) batch.size());
+        frame.put((byte) batch.getPrintDirective().ordinal());
+
+        for (int i = 0; i < batch.size(); i++) {
+            frame.put((byte) batch.getType(i).ordinal());
+            for (int argument = 0; argument < 4; argument++) {
+                frame.putInt(batch.getArgument(i, argument));
+            }
+        }
+    }
+
+    /**
+     * Reads a batch of updates
+     *
+     * @param body to be read from
+     * @return batch of updates
+     */
+    private static UpdateBatch readBatch(ByteBuffer body) {
+        int size = body.getShort() & 0xFFFF;
+        UpdateBatch batch = new UpdateBatch().setPrintDirective(PRINT_DIRECTIVES[body.get()]);
+
+        for (int i = 0; i < size; i++) {
+            batch.add(UPDATE_TYPES[body.get()], body.getInt(), body.getInt(), body.getInt(), body.getInt());
+        }
+
+        return batch;
+    }
+}
@@ -0,0 +1,195 @@
+package Communication;
+
+import static java.lang.System.out;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import Communication.Message.MessageType;
+import Interfaces.InterfaceRefereeSite.GameScore;
+import Interfaces.InterfaceRefereeSite.TrialScore;
+import Others.MatchConfig;
+import Others.Tuple;
+import Others.UpdateBatch;
+import Others.UpdateBatch.PrintDirective;
+
+/**
+ * Self-check of the binary encoding of the messages.
+ *
+ * A request and a reply of every message type, with every field set, are
+ * encoded, decoded and encoded again, and both frames must be equal. Every
+ * frame is then truncated at each length and corrupted at random, and
+ * decoding it must either give a message or fail with an IOException, as
+ * the readers of the channels expect.
+ *
+ * Usage: java Communication.MessageCodecCheck [corruptions per frame]
+ */
+public class MessageCodecCheck {
+
+    /**
+     * Not to be instantiated
+     */
+    private MessageCodecCheck() {
+    }
+
+    /**
+     * Main method
+     *
+     * @param args runtime arguments
+     *        args[0] - number of random corruptions of each frame, 1000 by default
+     */
+    public static void main(String[] args) {
+        int corruptions = 1000;
+
+        if (args.length > 0) {
+            try {
+                corruptions = Integer.parseInt(args[0]);
+            }
+            catch (NumberFormatException e)
+            {
+                out.println("args[0] is not a number!");
+                System.exit(1);
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(2021);
+        int frames = 0;
+        int failures = 0;
+
+        for (MessageType type : MessageType.values()) {
+            for (boolean reply : new boolean[] {false, true}) {
+                byte[] frame = frame(sample(type), reply);
+
+                frames++;
+
+                try {
+                    byte[] again = frame(MessageCodec.decode(body(frame, frame.length)), reply);
+
+                    if (!Arrays.equals(frame, again)) {
+                        out.println((reply ? "Reply " : "Request ") + type + " changes in a round trip!");
+                        failures++;
+                    }
+                } catch (IOException e) {
+                    out.println((reply ? "Reply " : "Request ") + type + " does not decode: " + e.getMessage());
+                    failures++;
+                }
+
+                for (int length = MessageCodec.HEADER_SIZE; length < frame.length; length++) {
+                    failures += corrupt(type, reply, body(frame, length));
+                }
+
+                for (int i = 0; i < corruptions; i++) {
+                    byte[] broken = frame.clone();
+
+                    broken[MessageCodec.HEADER_SIZE + random.nextInt(broken.length - MessageCodec.HEADER_SIZE)]
+                            = (byte) random.nextInt(256);
+                    failures += corrupt(type, reply, body(broken, broken.length));
+                }
+            }
+        }
+
+        out.println(frames + " frames checked, " + failures + " failure(s).");
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Builds a message of a type with every field set
+     *
+     * @param type of the message
+     * @return message
+     */
+    private static Message sample(MessageType type) {
+        Message message = new Message(type);
+        Set<Integer> selected = new TreeSet<>(Arrays.asList(1, 3, 64));
+        Set<Tuple<Integer, Integer>> bench = new HashSet<>();
+
+        // a single contestant, the order of the bench set is not kept
+        bench.add(new Tuple<>(2, 9));
+
+        message.setCorrelationId(0x12345678);
+        message.setMatch(7);
+        message.setTeam(2);
+        message.setContestantId(5);
+        message.setStrength(-17);
+        message.setNumber(Integer.MIN_VALUE);
+        message.setNumbers(new int[] {1, -2, Integer.MAX_VALUE});
+        message.setMask(0x8000000000000005L);
+        message.setBoolean(true);
+
+        // the bench and the selected contestants share the set of the message
+        if (type == MessageType.CB_GET_BENCH) {
+            message.setSet(bench);
+        } else {
+            message.setSelectedContestants(selected);
+        }
+
+        message.setGamePoints(List.of(GameScore.values()));
+        message.setTrialPoints(List.of(TrialScore.VICTORY_TEAM_2, TrialScore.DRAW, TrialScore.VICTORY_TEAM_1));
+        message.setGamePoint(GameScore.VICTORY_TEAM_2_BY_KNOCKOUT);
+        message.setTrialScore(TrialScore.DRAW);
+        message.setBatch(new UpdateBatch().updateContestant(3, 1, 2, 14).setFlagPosition(-2)
+                .setPrintDirective(PrintDirective.values()[PrintDirective.values().length - 1]));
+        message.setMatchConfig(MatchConfig.getDefault());
+        message.setError("Invalid match id: 7");
+
+        return message;
+    }
+
+    /**
+     * Encodes a message in a frame
+     *
+     * @param message to be encoded
+     * @param reply true if the message is a reply
+     * @return bytes of the frame, header included
+     */
+    private static byte[] frame(Message message, boolean reply) {
+        ByteBuffer frame = MessageCodec.encode(message, reply);
+        byte[] bytes = new byte[frame.remaining()];
+
+        frame.get(bytes);
+        BufferPool.SHARED.release(frame);
+
+        return bytes;
+    }
+
+    /**
+     * Gets the body of a frame, as the readers hand it to the codec
+     *
+     * @param frame bytes of the frame, header included
+     * @param length bytes of the frame to be taken
+     * @return body of the frame
+     */
+    private static ByteBuffer body(byte[] frame, int length) {
+        return ByteBuffer.wrap(frame, MessageCodec.HEADER_SIZE, length - MessageCodec.HEADER_SIZE).slice();
+    }
+
+    /**
+     * Decodes a broken frame, which may only fail with an IOException
+     *
+     * @param type of the message
+     * @param reply true if the message is a reply
+     * @param body of the broken frame
+     * @return 1 if the codec failed otherwise, 0 if not
+     */
+    private static int corrupt(MessageType type, boolean reply, ByteBuffer body) {
+        try {
+            MessageCodec.decode(body);
+        } catch (IOException e) {
+            // expected of a broken frame
+        } catch (RuntimeException e) {
+            out.println((reply ? "Reply " : "Request ") + type + " fails with " + e + " when broken!");
+            return 1;
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,32 @@
+package Communication;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handles the requests received by a server and gives their replies. A
+ * request may block for as long as the shared region makes it wait, unless
+ * the handler answers it asynchronously.
+ */
+public interface MessageHandler {
+
+    /**
+     * Handles a request
+     *
+     * @param request received
+     * @return reply to be sent back
+     * @throws MessageException if the request is invalid
+     */
+    public Message handle(Message request) throws MessageException;
+
+    /**
+     * Handles a request without holding the calling thread while the shared
+     * region makes it wait. By default the request is handled synchronously.
+     *
+     * @param request received
+     * @return future of the reply to be sent back
+     * @throws MessageException if the request is invalid
+     */
+    public default CompletableFuture<Message> handleAsync(Message request) throws MessageException {
+        return CompletableFuture.completedFuture(handle(request));
+    }
+}
@@ -0,0 +1,322 @@
+package Communication;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Message server over non blocking socket channels.
+ *
+ * A single selector thread accepts the connections, reads the requests and
+ * writes the replies. The requests are handed to a small fixed pool of
+ * worker threads. The handler answers the requests that wait asynchronously,
+ * so a waiting request holds no thread and the pool serves any number of
+ * them; when the reply is ready it is queued and the selector woken up to
+ * write it. The replies of a connection are thus written as their requests
+ * finish, each one with the correlation id of its request. Requests are read into, and
+ * replies encoded in, buffers of the shared pool.
+ */
+public class NioServer implements Runnable {
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final MessageHandler handler;           // handler of the requests
+    private final ExecutorService workers;          // threads starting the handling of the requests
+    private final Queue<Connection> pendingWrites;  // connections with replies to be written
+    private volatile boolean running;
+
+    /**
+     * Opens the server, with a worker thread for each processor
+     *
+     * @param port number for listening to service requests
+     * @param handler of the requests
+     * @throws IOException if the server can not be opened
+     */
+    public NioServer(int port, MessageHandler handler) throws IOException {
+        this(port, handler, Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Opens the server
+     *
+     * @param port number for listening to service requests
+     * @param handler of the requests
+     * @param workerCount number of worker threads
+     * @throws IOException if the server can not be opened
+     */
+    public NioServer(int port, MessageHandler handler, int workerCount) throws IOException {
+        this.handler = handler;
+
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        AtomicInteger workerNumber = new AtomicInteger();
+
+        workers = Executors.newFixedThreadPool(workerCount, task -> {
+            Thread worker = new Thread(task, "NioServer-worker-" + workerNumber.incrementAndGet());
+
+            worker.setDaemon(true);
+            return worker;
+        });
+        pendingWrites = new ConcurrentLinkedQueue<>();
+        running = true;
+    }
+
+    /**
+     * Selector loop, runs until the server is closed
+     */
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException ex) {
+                Logger.getLogger(NioServer.class.getName()).log(Level.SEVERE, null, ex);
+                break;
+            }
+
+            Connection pending;
+
+            while ((pending = pendingWrites.poll()) != null) {
+                if (pending.key.isValid()) {
+                    pending.key.interestOps(pending.key.interestOps() | SelectionKey.OP_WRITE);
+                }
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+
+                keys.remove();
+
+                try {
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.write();
+                        }
+                    }
+                } catch (IOException ex) {
+                    if (key.attachment() != null) {
+                        ((Connection) key.attachment()).close();
+                    }
+                }
+            }
+        }
+
+        workers.shutdownNow();
+    }
+
+    /**
+     * Closes the server and its connections
+     */
+    public void close() {
+        running = false;
+        selector.wakeup();
+
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            server.close();
+        } catch (IOException ex) {
+            Logger.getLogger(NioServer.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Accepts a new connection
+     *
+     * @throws IOException if the connection can not be set up
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+
+        if (channel == null) {
+            return;
+        }
+
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+
+        Connection connection = new Connection(channel);
+
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    /**
+     * Starts handling a request on a worker thread, its reply is queued
+     * whenever it is ready
+     *
+     * @param connection the request was read from
+     * @param request to be handled
+     */
+    private void dispatch(Connection connection, Message request) {
+        workers.execute(() -> {
+            CompletableFuture<Message> reply;
+
+            try {
+                reply = handler.handleAsync(request);
+            } catch (MessageException | RuntimeException ex) {
+                reply = CompletableFuture.failedFuture(ex);
+            }
+
+            reply.whenComplete((message, failure) -> reply(connection, request, message, failure));
+        });
+    }
+
+    /**
+     * Queues the reply of a request and wakes the selector up to write it
+     *
+     * @param connection the request was read from
+     * @param request handled
+     * @param reply to the request, if it was handled
+     * @param failure of the request, null if it was handled
+     */
+    private void reply(Connection connection, Message request, Message reply, Throwable failure) {
+        if (failure != null) {
+            Throwable cause = (failure instanceof CompletionException && failure.getCause() != null)
+                    ? failure.getCause() : failure;
+
+            reply = new Message(Message.MessageType.ERROR);
+            reply.setError(cause.toString());
+        }
+
+        reply.setCorrelationId(request.getCorrelationId());
+
+        connection.replies.add(MessageCodec.encode(reply, true));
+        pendingWrites.add(connection);
+        selector.wakeup();
+    }
+
+    /**
+     * Connection of a client, used only by the selector thread apart from
+     * the queue of replies
+     */
+    private class Connection {
+
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private final ByteBuffer header;                // header of the frame being read
+        private ByteBuffer body;                        // body of the frame being read, null while reading the header
+        private final Queue<ByteBuffer> replies;        // replies to be written, in order
+
+        /**
+         * Sets up the connection
+         *
+         * @param channel of the client
+         */
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+
+            header = ByteBuffer.allocate(MessageCodec.HEADER_SIZE);
+            body = null;
+            replies = new ConcurrentLinkedQueue<>();
+        }
+
+        /**
+         * Reads what is available and dispatches every complete request
+         *
+         * @throws IOException if the communication fails or the client closes the connection
+         */
+        void read() throws IOException {
+            while (true) {
+                ByteBuffer buffer = (body == null) ? header : body;
+                int read = channel.read(buffer);
+
+                if (read < 0) {
+                    throw new IOException("Connection closed by the client");
+                }
+                if (buffer.hasRemaining()) {
+                    return;
+                }
+
+                if (body == null) {
+                    int length = header.getInt(0);
+
+                    MessageCodec.checkLength(length);
+                    body = BufferPool.SHARED.acquire(length);
+                } else {
+                    Message request;
+
+                    body.flip();
+
+                    try {
+                        request = MessageCodec.decode(body);
+                    } finally {
+                        BufferPool.SHARED.release(body);
+                        body = null;
+                    }
+
+                    header.clear();
+                    dispatch(this, request);
+                }
+            }
+        }
+
+        /**
+         * Writes the queued replies, as far as the channel takes them
+         *
+         * @throws IOException if the communication fails
+         */
+        void write() throws IOException {
+            ByteBuffer reply;
+
+            while ((reply = replies.peek()) != null) {
+                channel.write(reply);
+
+                if (reply.hasRemaining()) {
+                    return;
+                }
+
+                BufferPool.SHARED.release(replies.poll());
+            }
+
+            key.interestOps(SelectionKey.OP_READ);
+
+            // a reply queued meanwhile has its connection in the pending writes
+        }
+
+        /**
+         * Closes the connection
+         */
+        void close() {
+            key.cancel();
+
+            if (body != null) {
+                BufferPool.SHARED.release(body);
+                body = null;
+            }
+
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                Logger.getLogger(NioServer.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+}
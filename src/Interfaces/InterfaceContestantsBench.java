@@ -32,6 +32,7 @@ public interface InterfaceContestantsBench extends Remote{
      * is SEAT_AT_THE_BENCH
      * @throws java.rmi.RemoteException
      */
+    @Query
     public Set<Tuple<Integer, Integer>> getBench(int team) throws RemoteException;
 
     /**
@@ -50,8 +51,19 @@ public interface InterfaceContestantsBench extends Remote{
      * @return set with the selected contestants iDs
      * @throws java.rmi.RemoteException
      */
+    @Query
     public Set<Integer> getSelectedContestants(int team) throws RemoteException;
 
+    /**
+     * Gets the selected contestants to play as a mask
+     *
+     * @param team of the selected contestants
+     * @return mask with bit id - 1 set for each selected contestant
+     * @throws java.rmi.RemoteException
+     */
+    @Query
+    public long getSelectedMask(int team) throws RemoteException;
+
     /**
      * Synchronisation point where the Referee waits for the Coaches to pick the
      * teams
@@ -71,6 +83,15 @@ public interface InterfaceContestantsBench extends Remote{
      */
     public void setSelectedContestants(int team, Set<Integer> selected) throws RemoteException;
 
+    /**
+     * Sets the selected contestants for the next round as a mask
+     *
+     * @param team of the selected contestants
+     * @param selected mask with bit id - 1 set for each selected contestant
+     * @throws java.rmi.RemoteException
+     */
+    public void setSelectedMask(int team, long selected) throws RemoteException;
+
     /**
      * Synchronisation point where Coaches wait for the next trial instructed by
      * the Referee
@@ -0,0 +1,67 @@
+package Interfaces;
+
+import java.rmi.RemoteException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import Others.Tuple;
+
+/**
+ * Asynchronous counterparts of the operations of the contestants bench that
+ * wait. The futures are completed by the bench when the caller would have
+ * been woken up. They are for callers in the same process, such as a message
+ * server, and are not available over RMI.
+ */
+public interface InterfaceContestantsBenchAsync {
+
+    /**
+     * Adds a contestant to the bench
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @param state of the contestant
+     * @param strength of the contestant
+     * @return future of the state and strength of the contestant, completed when
+     * the contestant is selected or the match ends
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Tuple<Integer, Integer>> addContestantAsync(int id, int team, int state, int strength)
+            throws RemoteException;
+
+    /**
+     * Gets the contestants seated at the bench
+     *
+     * @param team of the bench
+     * @return future of the ids and strengths of the contestants, completed when everyone is seated
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Set<Tuple<Integer, Integer>>> getBenchAsync(int team) throws RemoteException;
+
+    /**
+     * Synchronisation point where the contestants call the coach
+     *
+     * @param team of the coach
+     * @return future completed when the coach has been called
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Void> pickYourTeamAsync(int team) throws RemoteException;
+
+    /**
+     * Synchronisation point where the coach waits for the next trial
+     *
+     * @param team of the coach
+     * @param status of the coach
+     * @return future of the new coach state id, completed when the coach is called or the match ends
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Integer> waitForNextTrialAsync(int team, int status) throws RemoteException;
+
+    /**
+     * Synchronisation point where the referee waits for the team to start
+     *
+     * @param team to wait for
+     * @return future completed when the whole team is seated and the coach is waiting
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Void> waitForEveryoneToStartAsync(int team) throws RemoteException;
+}
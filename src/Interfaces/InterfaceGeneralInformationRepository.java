@@ -3,6 +3,7 @@ package Interfaces;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 
+import Others.UpdateBatch;
 import ServerSide.Objects.RefereeSite;
 
 /**
@@ -48,6 +49,15 @@ public interface InterfaceGeneralInformationRepository extends Remote{
      */
     void updateReferee(int status) throws RemoteException;
 
+    /**
+     * Applies an ordered list of updates and the print directive of the batch
+     * atomically, in a single remote call
+     *
+     * @param batch of updates to apply
+     * @throws java.rmi.RemoteException
+     */
+    void applyUpdates(UpdateBatch batch) throws RemoteException;
+
     /**
      * Prints an line with updated information about game state
      * 
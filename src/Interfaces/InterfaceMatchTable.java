@@ -0,0 +1,39 @@
+package Interfaces;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Interface that defines the operations available over the table of the
+ * matches hosted by a server. Each match has its own instance of the shared
+ * region, created the first time it is asked for and dropped once every
+ * entity of the match has voted for its shutdown.
+ *
+ * @param <T> interface of the shared region
+ */
+public interface InterfaceMatchTable<T extends Remote> extends Remote {
+
+    /**
+     * Suffix added to the name of a shared region to get the name the table
+     * of its matches is registered with
+     */
+    public static final String SUFFIX = "Matches";
+
+    /**
+     * Gets the shared region of a match, creating it if this is the first
+     * time it is asked for
+     *
+     * @param match id of the match
+     * @return remote reference to the shared region of the match
+     * @throws java.rmi.RemoteException
+     */
+    public T getMatch(int match) throws RemoteException;
+
+    /**
+     * Gets the number of matches currently hosted
+     *
+     * @return number of matches
+     * @throws java.rmi.RemoteException
+     */
+    public int getMatchCount() throws RemoteException;
+}
@@ -25,6 +25,7 @@ public interface InterfacePlayground extends Remote{
      * @return true if every Contestant is in place to pull the rope
      * @throws java.rmi.RemoteException
      */
+    @Query
     public boolean areAllContestantsReady() throws RemoteException;
 
     /**
@@ -50,6 +51,7 @@ public interface InterfacePlayground extends Remote{
      * @return position of the flag
      * @throws java.rmi.RemoteException
      */
+    @Query
     public int getFlagPosition() throws RemoteException;
 
     /**
@@ -58,8 +60,18 @@ public interface InterfacePlayground extends Remote{
      * @return flag position before the current position
      * @throws java.rmi.RemoteException
      */
+    @Query
     public int getLastFlagPosition() throws RemoteException;
 
+    /**
+     * Gets the joint strength of the contestants at the rope of each team
+     *
+     * @return strength of team 1 and team 2
+     * @throws java.rmi.RemoteException
+     */
+    @Query
+    public int[] getTeamStrengths() throws RemoteException;
+
     /**
      * Checks if everyone pulled the rope
      */
@@ -0,0 +1,69 @@
+package Interfaces;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterparts of the operations of the playground that wait.
+ * Each one does its work at once and returns a future, completed by the
+ * playground when the caller would have been woken up, so no thread is held
+ * while waiting. They are for callers in the same process, such as a message
+ * server, and are not available over RMI.
+ */
+public interface InterfacePlaygroundAsync {
+
+    /**
+     * Adds a contestant to the playground
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @param status of the contestant
+     * @param strength of the contestant
+     * @return future of the new contestant state id, completed when the trial starts
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Integer> addContestantAsync(int id, int team, int status, int strength)
+            throws RemoteException;
+
+    /**
+     * Synchronisation point for waiting for the team to be ready
+     *
+     * @param team number
+     * @return future of the new coach state id, completed when the team is in place
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Integer> checkTeamPlacementAsync(int team) throws RemoteException;
+
+    /**
+     * Synchronisation point for watching the trial in progress
+     *
+     * @param team of the coach
+     * @return future of the new coach state id, completed when the result is asserted
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Integer> watchTrialAsync(int team) throws RemoteException;
+
+    /**
+     * Pulls the rope
+     *
+     * @return future completed when the result of the trial is asserted
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Void> pullRopeAsync() throws RemoteException;
+
+    /**
+     * Starts the trial
+     *
+     * @return future of the new referee state id, completed when every puller has pulled
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Integer> startPullingAsync() throws RemoteException;
+
+    /**
+     * Synchronisation point for waiting for every puller to pull the rope
+     *
+     * @return future completed when every puller of the trial has pulled
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Void> allHavePulledAsync() throws RemoteException;
+}
@@ -39,6 +39,7 @@ public interface InterfaceRefereeSite extends Remote{
      * @return game points
      * @throws java.rmi.RemoteException
      */
+    @Query
     List<GameScore> getGamePoints() throws RemoteException;
 
     /**
@@ -47,6 +48,7 @@ public interface InterfaceRefereeSite extends Remote{
      * @return number of remaining games left
      * @throws java.rmi.RemoteException
      */
+    @Query
     int getRemainingGames() throws RemoteException;
 
     /**
@@ -55,6 +57,7 @@ public interface InterfaceRefereeSite extends Remote{
      * @return number of remaining trials left
      * @throws java.rmi.RemoteException
      */
+    @Query
     int getRemainingTrials() throws RemoteException;
 
     /**
@@ -63,6 +66,7 @@ public interface InterfaceRefereeSite extends Remote{
      * @return trial points.
      * @throws java.rmi.RemoteException
      */
+    @Query
     List<TrialScore> getTrialPoints() throws RemoteException;
 
     /**
@@ -71,6 +75,7 @@ public interface InterfaceRefereeSite extends Remote{
      * @return true if no more matches to play. False if otherwise
      * @throws java.rmi.RemoteException
      */
+    @Query
     boolean isMatchEnded() throws RemoteException;
 
     /**
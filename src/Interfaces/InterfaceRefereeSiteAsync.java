@@ -0,0 +1,21 @@
+package Interfaces;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterparts of the operations of the referee site that wait.
+ * The futures are completed by the referee site when the caller would have
+ * been woken up. They are for callers in the same process, such as a message
+ * server, and are not available over RMI.
+ */
+public interface InterfaceRefereeSiteAsync {
+
+    /**
+     * Synchronisation point where the referee waits for both teams to be ready
+     *
+     * @return future of the new referee state id, completed when both coaches informed the referee
+     * @throws java.rmi.RemoteException
+     */
+    public CompletableFuture<Integer> bothTeamsReadyAsync() throws RemoteException;
+}
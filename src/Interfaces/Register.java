@@ -2,6 +2,8 @@ package Interfaces;
 
 import java.rmi.*;
 
+import Others.MatchConfig;
+
 /**
  *   Operational interface of a remote object of type RegisterRemoteObject.
  *
@@ -45,4 +47,14 @@ public interface Register extends Remote
    */
 
    public void rebind (String name, Remote ref) throws RemoteException;
+
+  /**
+   *  Gets the configuration of the match, which every server and client reads at startup.
+   *
+   *    @return match configuration
+   *    @throws RemoteException if either the invocation of the remote method, or the communication with the registry
+   *                            service fails
+   */
+
+   public MatchConfig getMatchConfig () throws RemoteException;
 }
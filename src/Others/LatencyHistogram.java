@@ -0,0 +1,137 @@
+package Others;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies, in the manner of HdrHistogram. Values below 128
+ * are counted exactly; above, each power of two is split in 64 buckets, so a
+ * value is known within 1/64 of itself whatever its magnitude. Recording is
+ * lock free and takes no allocation, so it can be done on every call.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;                      // bits of each power of two kept
+    private static final int HALF = 1 << SUB_BITS;              // buckets for each power of two
+    private static final int LINEAR = 2 * HALF;                 // values counted exactly
+    private static final int BUCKETS = (64 - SUB_BITS) * HALF + HALF;
+
+    private final AtomicLongArray counts;       // count of each bucket
+    private final LongAdder count;              // number of values recorded
+    private final LongAdder total;              // sum of the values recorded
+    private final LongAccumulator max;          // largest value recorded
+
+    /**
+     * Public constructor of an empty histogram
+     */
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        count = new LongAdder();
+        total = new LongAdder();
+        max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Records a value
+     *
+     * @param value to be recorded, negative values are taken as 0
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+
+        counts.incrementAndGet(bucketOf(recorded));
+        count.increment();
+        total.add(recorded);
+        max.accumulate(recorded);
+    }
+
+    /**
+     * Gets the number of values recorded
+     *
+     * @return count of values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the mean of the values recorded
+     *
+     * @return mean value, 0 if none was recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+
+        return (n == 0) ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Gets the largest value recorded
+     *
+     * @return largest value, 0 if none was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the value below which a percentage of the values recorded are
+     *
+     * @param percentile between 0 and 100
+     * @return highest value of the bucket holding the percentile, 0 if none was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = count.sum();
+
+        if (n == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * n));
+        long seen = 0;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+
+            if (seen >= rank) {
+                return Math.min(highestValueOf(bucket), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Gets the bucket of a value
+     *
+     * @param value not negative
+     * @return index of the bucket
+     */
+    private static int bucketOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the highest value counted in a bucket
+     *
+     * @param bucket index of the bucket
+     * @return highest value of the bucket
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+
+        int shift = bucket / HALF - 1;
+        long sub = bucket - (long) shift * HALF;
+
+        return ((sub + 1) << shift) - 1;
+    }
+}
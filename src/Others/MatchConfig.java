@@ -0,0 +1,183 @@
+package Others;
+
+import java.io.Serializable;
+
+/**
+ * Immutable parameters of a match: roster and team sizes, number of trials
+ * and games, and the flag position of a knock out. The registry publishes the
+ * configuration, every server and client reads it at startup.
+ */
+public class MatchConfig implements Serializable {
+
+    // serialization key
+    private static final long serialVersionUID = 2021L;
+
+    public static final int MAX_ROSTER = 64;    // contestants of a team are kept as bits of a long
+
+    private static final MatchConfig DEFAULT = new MatchConfig(5, 3, 6, 3, 4);
+
+    private final int roster;           // contestants of each team
+    private final int pullers;          // contestants of each team at the rope
+    private final int trials;           // maximum number of trials of a game
+    private final int games;            // number of games of a match
+    private final int knockout;         // flag distance to the centre that ends a game
+
+    /**
+     * Creates a match configuration
+     *
+     * @param roster contestants of each team, 1 .. 64
+     * @param pullers contestants of each team at the rope, 1 .. roster
+     * @param trials maximum number of trials of a game
+     * @param games number of games of a match
+     * @param knockout flag distance to the centre that ends a game
+     * @throws IllegalArgumentException if any value is out of range
+     */
+    public MatchConfig(int roster, int pullers, int trials, int games, int knockout) {
+        if (roster < 1 || roster > MAX_ROSTER) {
+            throw new IllegalArgumentException("roster must be between 1 and " + MAX_ROSTER);
+        }
+        if (pullers < 1 || pullers > roster) {
+            throw new IllegalArgumentException("pullers must be between 1 and the roster size");
+        }
+        if (trials < 1 || games < 1 || knockout < 1) {
+            throw new IllegalArgumentException("trials, games and knockout must be positive");
+        }
+
+        this.roster = roster;
+        this.pullers = pullers;
+        this.trials = trials;
+        this.games = games;
+        this.knockout = knockout;
+    }
+
+    /**
+     * Gets the configuration of the original game: 5 contestants per team, 3
+     * at the rope, 6 trials, 3 games and knock out at 4
+     *
+     * @return default configuration
+     */
+    public static MatchConfig getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a configuration from name=value arguments, the values not given
+     * are taken from the default configuration. The names are roster,
+     * pullers, trials, games and knockout.
+     *
+     * @param args runtime arguments
+     * @param first index of the first configuration argument
+     * @return match configuration
+     * @throws IllegalArgumentException if an argument is unknown or not valid
+     */
+    public static MatchConfig parse(String[] args, int first) {
+        int roster = DEFAULT.roster;
+        int pullers = DEFAULT.pullers;
+        int trials = DEFAULT.trials;
+        int games = DEFAULT.games;
+        int knockout = DEFAULT.knockout;
+
+        for (int i = first; i < args.length; i++) {
+            int separator = args[i].indexOf('=');
+
+            if (separator < 0) {
+                throw new IllegalArgumentException(args[i] + " is not a name=value argument");
+            }
+
+            String name = args[i].substring(0, separator);
+            int value = Integer.parseInt(args[i].substring(separator + 1));
+
+            switch (name) {
+                case "roster":
+                    roster = value;
+                    break;
+                case "pullers":
+                    pullers = value;
+                    break;
+                case "trials":
+                    trials = value;
+                    break;
+                case "games":
+                    games = value;
+                    break;
+                case "knockout":
+                    knockout = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException(name + " is not a match parameter");
+            }
+        }
+
+        return new MatchConfig(roster, pullers, trials, games, knockout);
+    }
+
+    /**
+     * Gets the number of contestants of each team
+     *
+     * @return roster size
+     */
+    public int getRoster() {
+        return roster;
+    }
+
+    /**
+     * Gets the number of contestants of each team at the rope
+     *
+     * @return pullers per team
+     */
+    public int getPullers() {
+        return pullers;
+    }
+
+    /**
+     * Gets the maximum number of trials of a game
+     *
+     * @return trials per game
+     */
+    public int getTrials() {
+        return trials;
+    }
+
+    /**
+     * Gets the number of games of a match
+     *
+     * @return games per match
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the flag distance to the centre that ends a game by knock out
+     *
+     * @return knock out position
+     */
+    public int getKnockout() {
+        return knockout;
+    }
+
+    /**
+     * Gets the number of games a team must win to win the match
+     *
+     * @return games to win
+     */
+    public int getGamesToWin() {
+        return games / 2 + 1;
+    }
+
+    /**
+     * Gets the number of shutdown calls each shared region receives: the
+     * referee, and the coach and contestants of both teams
+     *
+     * @return shutdown votes
+     */
+    public int getShutdownVotes() {
+        return 1 + 2 * (1 + roster);
+    }
+
+    @Override
+    public String toString() {
+        return "roster=" + roster + " pullers=" + pullers + " trials=" + trials
+                + " games=" + games + " knockout=" + knockout;
+    }
+}
@@ -0,0 +1,214 @@
+package Others;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events of the lifecycle of a match. The entities emit
+ * them as they change state and the regions as the rope is pulled and the
+ * points are scored, so one recording shows which game, trial and state a
+ * stall of the collector, a lock or the network fell on. The entity of an
+ * event is the thread it was committed by, named after the entity. Every
+ * event carries the id of its match, since the entities of several matches
+ * may run in one process and the events of the regions are committed by the
+ * threads serving the calls, which belong to no match. The events of the
+ * regions carry the game and trial too.
+ *
+ * The events cost nothing but their creation when no recording is on, and
+ * the regions, which are called far more often, do not create them then;
+ * their fields are filled only when they are to be committed.
+ */
+public final class MatchEvents {
+
+    /**
+     * Private constructor, the class only holds the events
+     */
+    private MatchEvents() {
+    }
+
+    /**
+     * A game, from its announcement by the referee to the declaration of its
+     * winner
+     */
+    @Name("RopeGame.Game")
+    @Label("Game")
+    @Category({"Rope Game", "Match"})
+    @StackTrace(false)
+    public static class GameEvent extends Event {
+
+        @Label("Match")
+        public int match;
+
+        @Label("Game")
+        public int game;
+
+        @Label("Result")
+        public String result;
+
+        @Label("Flag Position")
+        public int flagPosition;
+    }
+
+    /**
+     * A trial, from its call by the referee to the decision on its result
+     */
+    @Name("RopeGame.Trial")
+    @Label("Trial")
+    @Category({"Rope Game", "Match"})
+    @StackTrace(false)
+    public static class TrialEvent extends Event {
+
+        @Label("Match")
+        public int match;
+
+        @Label("Game")
+        public int game;
+
+        @Label("Trial")
+        public int trial;
+
+        @Label("Result")
+        public String result;
+
+        @Label("Flag Delta")
+        @Description("Positions the flag moved in the trial, negative towards team 1")
+        public int flagDelta;
+
+        @Label("Flag Position")
+        public int flagPosition;
+    }
+
+    /**
+     * A coach selecting the team of a trial, until the team is in position
+     */
+    @Name("RopeGame.TeamSelection")
+    @Label("Team Selection")
+    @Category({"Rope Game", "Match"})
+    @StackTrace(false)
+    public static class TeamSelectionEvent extends Event {
+
+        @Label("Match")
+        public int match;
+
+        @Label("Team")
+        public int team;
+
+        @Label("Selected")
+        @Description("Bit id - 1 set for each contestant selected")
+        public long selected;
+    }
+
+    /**
+     * A coach reviewing the notes of a trial and updating the strength of the
+     * contestants
+     */
+    @Name("RopeGame.CoachReview")
+    @Label("Coach Review")
+    @Category({"Rope Game", "Match"})
+    @StackTrace(false)
+    public static class CoachReviewEvent extends Event {
+
+        @Label("Match")
+        public int match;
+
+        @Label("Team")
+        public int team;
+
+        @Label("Selected")
+        @Description("Bit id - 1 set for each contestant that played the trial")
+        public long selected;
+    }
+
+    /**
+     * A contestant standing in position, pulling the rope or seating at the
+     * bench
+     */
+    @Name("RopeGame.Contestant")
+    @Label("Contestant")
+    @Category({"Rope Game", "Match"})
+    @StackTrace(false)
+    public static class ContestantEvent extends Event {
+
+        @Label("Match")
+        public int match;
+
+        @Label("Team")
+        public int team;
+
+        @Label("Contestant")
+        public int id;
+
+        @Label("Action")
+        @Description("stand, pull or seat")
+        public String action;
+
+        @Label("Strength")
+        public int strength;
+    }
+
+    /**
+     * The rope pulled in a trial at the playground, from the start of the
+     * pulling to the flag being moved by the last puller
+     */
+    @Name("RopeGame.RopePulled")
+    @Label("Rope Pulled")
+    @Category({"Rope Game", "Match"})
+    @StackTrace(false)
+    public static class RopePulledEvent extends Event {
+
+        @Label("Match")
+        public int match;
+
+        @Label("Game")
+        public int game;
+
+        @Label("Trial")
+        @Description("Trial of the game, from 1")
+        public int trial;
+
+        @Label("Strength Team 1")
+        public int strengthTeam1;
+
+        @Label("Strength Team 2")
+        public int strengthTeam2;
+
+        @Label("Flag Delta")
+        @Description("Positions the flag moved in the trial, negative towards team 1")
+        public int flagDelta;
+
+        @Label("Flag Position")
+        public int flagPosition;
+    }
+
+    /**
+     * A point scored at the referee site, of a trial or of a game
+     */
+    @Name("RopeGame.Score")
+    @Label("Score")
+    @Category({"Rope Game", "Match"})
+    @StackTrace(false)
+    public static class ScoreEvent extends Event {
+
+        @Label("Kind")
+        @Description("trial or game")
+        public String kind;
+
+        @Label("Score")
+        public String score;
+
+        @Label("Match")
+        public int match;
+
+        @Label("Game")
+        @Description("Game the point was scored in, from 1")
+        public int game;
+
+        @Label("Trial")
+        @Description("Trials of the game played, with this one")
+        public int trial;
+    }
+}
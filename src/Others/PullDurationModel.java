@@ -0,0 +1,86 @@
+package Others;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Model of the time a contestant takes to pull the rope. The pull is
+ * simulated by the puller before entering the playground critical section,
+ * so the pullers of a trial pull in parallel and the trial lasts as long as
+ * the slowest pull.
+ */
+public class PullDurationModel {
+
+    private final long minimum;         // shortest pull in milliseconds
+    private final long maximum;         // longest pull in milliseconds
+
+    /**
+     * Creates a model
+     *
+     * @param minimum shortest pull in milliseconds
+     * @param maximum longest pull in milliseconds
+     */
+    private PullDurationModel(long minimum, long maximum) {
+        this.minimum = minimum;
+        this.maximum = Math.max(minimum, maximum);
+    }
+
+    /**
+     * Creates a model where each pull takes a random time
+     *
+     * @param minimum shortest pull in milliseconds
+     * @param maximum longest pull in milliseconds
+     * @return pull duration model
+     */
+    public static PullDurationModel random(long minimum, long maximum) {
+        return new PullDurationModel(minimum, maximum);
+    }
+
+    /**
+     * Creates a model where pulls take no time, used to measure the
+     * throughput of the game
+     *
+     * @return pull duration model
+     */
+    public static PullDurationModel none() {
+        return new PullDurationModel(0, 0);
+    }
+
+    /**
+     * Gets the duration of the next pull
+     *
+     * @return duration in milliseconds
+     */
+    public long nextDuration() {
+        return (long) (minimum + Math.random() * (maximum - minimum));
+    }
+
+    /**
+     * Sleeps for the duration of a pull
+     *
+     * @throws InterruptedException if interrupted while pulling
+     */
+    public void pull() throws InterruptedException {
+        long duration = nextDuration();
+
+        if (duration > 0) {
+            Thread.sleep(duration);
+        }
+    }
+
+    /**
+     * Times a pull without holding a thread while it lasts
+     *
+     * @return future completed when the pull is over
+     */
+    public CompletableFuture<Void> pullAsync() {
+        long duration = nextDuration();
+
+        if (duration <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(duration, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,255 @@
+package Others;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Ordered list of updates to the general information repository, followed by
+ * an optional print directive, to be applied in a single remote call.
+ *
+ * Updates are added in the order they must be applied:
+ *
+ *   new UpdateBatch()
+ *       .updateContestant(id, team, status, strength)
+ *       .setTeamPlacement(id, team)
+ *       .printLineUpdate();
+ */
+public class UpdateBatch implements Serializable {
+
+    // serialization key
+    private static final long serialVersionUID = 2021L;
+
+    private static final int STRIDE = 5;    // ints used by each update: type and 4 arguments
+    private static final UpdateType[] TYPES = UpdateType.values();   // types by ordinal, values() copies the array
+
+    private int[] updates;                  // packed updates
+    private int size;                       // number of updates
+    private PrintDirective print;           // what to print after the updates
+
+    /**
+     * Creates an empty batch
+     */
+    public UpdateBatch() {
+        updates = new int[4 * STRIDE];
+        size = 0;
+        print = PrintDirective.NONE;
+    }
+
+    /**
+     * Updates the state and strength of a contestant
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @param status of the contestant
+     * @param strength of the contestant
+     * @return this batch
+     */
+    public UpdateBatch updateContestant(int id, int team, int status, int strength) {
+        return add(UpdateType.CONTESTANT, id, team, status, strength);
+    }
+
+    /**
+     * Updates the strength of a contestant
+     *
+     * @param team of the contestant
+     * @param id of the contestant
+     * @param strength of the contestant
+     * @return this batch
+     */
+    public UpdateBatch updateContestantStrength(int team, int id, int strength) {
+        return add(UpdateType.CONTESTANT_STRENGTH, team, id, strength, 0);
+    }
+
+    /**
+     * Updates the state of a coach
+     *
+     * @param team of the coach
+     * @param status of the coach
+     * @return this batch
+     */
+    public UpdateBatch updateCoach(int team, int status) {
+        return add(UpdateType.COACH, team, status, 0, 0);
+    }
+
+    /**
+     * Updates the state of the referee
+     *
+     * @param status of the referee
+     * @return this batch
+     */
+    public UpdateBatch updateReferee(int status) {
+        return add(UpdateType.REFEREE, status, 0, 0, 0);
+    }
+
+    /**
+     * Sets the game number
+     *
+     * @param gameNumber to set
+     * @return this batch
+     */
+    public UpdateBatch setGameNumber(int gameNumber) {
+        return add(UpdateType.GAME_NUMBER, gameNumber, 0, 0, 0);
+    }
+
+    /**
+     * Sets the trial number
+     *
+     * @param trialNumber to set
+     * @return this batch
+     */
+    public UpdateBatch setTrialNumber(int trialNumber) {
+        return add(UpdateType.TRIAL_NUMBER, trialNumber, 0, 0, 0);
+    }
+
+    /**
+     * Sets the flag position
+     *
+     * @param flagPosition to set
+     * @return this batch
+     */
+    public UpdateBatch setFlagPosition(int flagPosition) {
+        return add(UpdateType.FLAG_POSITION, flagPosition, 0, 0, 0);
+    }
+
+    /**
+     * Places a contestant at the rope
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @return this batch
+     */
+    public UpdateBatch setTeamPlacement(int id, int team) {
+        return add(UpdateType.SET_TEAM_PLACEMENT, id, team, 0, 0);
+    }
+
+    /**
+     * Removes a contestant from the rope
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @return this batch
+     */
+    public UpdateBatch resetTeamPlacement(int id, int team) {
+        return add(UpdateType.RESET_TEAM_PLACEMENT, id, team, 0, 0);
+    }
+
+    /**
+     * Prints a line with the updated game state after applying the updates
+     *
+     * @return this batch
+     */
+    public UpdateBatch printLineUpdate() {
+        print = PrintDirective.LINE_UPDATE;
+        return this;
+    }
+
+    /**
+     * Gets the number of updates in this batch
+     *
+     * @return number of updates
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the batch has nothing to apply
+     *
+     * @return true if there are no updates and nothing to print
+     */
+    public boolean isEmpty() {
+        return size == 0 && print == PrintDirective.NONE;
+    }
+
+    /**
+     * Gets the type of an update
+     *
+     * @param index of the update
+     * @return type of the update
+     */
+    public UpdateType getType(int index) {
+        return TYPES[updates[index * STRIDE]];
+    }
+
+    /**
+     * Gets an argument of an update, in the order of the method that added it
+     *
+     * @param index of the update
+     * @param argument number of the argument, from 0 to 3
+     * @return value of the argument
+     */
+    public int getArgument(int index, int argument) {
+        return updates[index * STRIDE + 1 + argument];
+    }
+
+    /**
+     * Gets what should be printed after the updates are applied
+     *
+     * @return print directive
+     */
+    public PrintDirective getPrintDirective() {
+        return print;
+    }
+
+    /**
+     * Sets what should be printed after the updates are applied
+     *
+     * @param print directive
+     * @return this batch
+     */
+    public UpdateBatch setPrintDirective(PrintDirective print) {
+        this.print = print;
+        return this;
+    }
+
+    /**
+     * Adds an update to the batch, with the arguments in the order of the
+     * method that adds that type of update and 0 for the unused ones
+     *
+     * @param type of the update
+     * @param a first argument
+     * @param b second argument
+     * @param c third argument
+     * @param d fourth argument
+     * @return this batch
+     */
+    public UpdateBatch add(UpdateType type, int a, int b, int c, int d) {
+        if ((size + 1) * STRIDE > updates.length) {
+            updates = Arrays.copyOf(updates, updates.length * 2);
+        }
+
+        int offset = size * STRIDE;
+
+        updates[offset] = type.ordinal();
+        updates[offset + 1] = a;
+        updates[offset + 2] = b;
+        updates[offset + 3] = c;
+        updates[offset + 4] = d;
+        size++;
+
+        return this;
+    }
+
+    /**
+     * Enums of the updates a batch can carry
+     */
+    public enum UpdateType {
+        CONTESTANT,
+        CONTESTANT_STRENGTH,
+        COACH,
+        REFEREE,
+        GAME_NUMBER,
+        TRIAL_NUMBER,
+        FLAG_POSITION,
+        SET_TEAM_PLACEMENT,
+        RESET_TEAM_PLACEMENT;
+    }
+
+    /**
+     * Enums of what can be printed after the updates of a batch
+     */
+    public enum PrintDirective {
+        NONE,
+        LINE_UPDATE;
+    }
+}
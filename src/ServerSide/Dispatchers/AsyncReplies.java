@@ -0,0 +1,44 @@
+package ServerSide.Dispatchers;
+
+import java.util.concurrent.CompletableFuture;
+
+import Communication.Message;
+
+/**
+ * Replies to the requests answered asynchronously by the shared regions
+ */
+class AsyncReplies {
+
+    /**
+     * Not to be instantiated
+     */
+    private AsyncReplies() {
+    }
+
+    /**
+     * Gets the reply carrying the number a request is answered with
+     *
+     * @param request answered
+     * @param number future of the answer
+     * @return future of the reply
+     */
+    static CompletableFuture<Message> withNumber(Message request, CompletableFuture<Integer> number) {
+        return number.thenApply(value -> {
+            Message reply = new Message(request.getType());
+
+            reply.setNumber(value);
+            return reply;
+        });
+    }
+
+    /**
+     * Gets the reply of a request answered with nothing but its completion
+     *
+     * @param request answered
+     * @param done future completed when the request is over
+     * @return future of the reply
+     */
+    static CompletableFuture<Message> whenDone(Message request, CompletableFuture<?> done) {
+        return done.thenApply(value -> new Message(request.getType()));
+    }
+}
@@ -0,0 +1,136 @@
+package ServerSide.Dispatchers;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+import java.util.Set;
+
+import Communication.Message;
+import Communication.MessageException;
+import Communication.MessageHandler;
+import Interfaces.InterfaceContestantsBench;
+import Interfaces.InterfaceContestantsBenchAsync;
+import Interfaces.InterfaceMatchTable;
+import Others.Tuple;
+
+/**
+ * Dispatches the messages addressed to the contestants bench of a match
+ */
+public class ContestantsBenchDispatcher implements MessageHandler {
+
+    private final InterfaceMatchTable<InterfaceContestantsBench> benches;   // bench of each match
+
+    /**
+     * Public constructor
+     *
+     * @param benches table of the benches of the matches
+     */
+    public ContestantsBenchDispatcher(InterfaceMatchTable<InterfaceContestantsBench> benches) {
+        this.benches = benches;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Message handle(Message request) throws MessageException {
+        Message reply = new Message(request.getType());
+
+        try {
+            InterfaceContestantsBench bench = benches.getMatch(request.getMatch());
+
+            switch (request.getType()) {
+                case CB_ADD_CONTESTANT:
+                    Tuple<Integer, Integer> added = bench.addContestant(request.getContestantId(), request.getTeam(),
+                            request.getNumber(), request.getStrength());
+                    reply.setNumbers(new int[]{added.getLeft(), added.getRight()});
+                    break;
+                case CB_GET_BENCH:
+                    reply.setSet(bench.getBench(request.getTeam()));
+                    break;
+                case CB_GET_CONTESTANT:
+                    bench.getContestant(request.getContestantId(), request.getTeam());
+                    break;
+                case CB_GET_SELECTED_CONTESTANTS:
+                    reply.setSet(bench.getSelectedContestants(request.getTeam()));
+                    break;
+                case CB_GET_SELECTED_MASK:
+                    reply.setMask(bench.getSelectedMask(request.getTeam()));
+                    break;
+                case CB_PICK_YOUR_TEAM:
+                    bench.pickYourTeam(request.getTeam());
+                    break;
+                case CB_SET_SELECTED_CONTESTANTS:
+                    bench.setSelectedContestants(request.getTeam(), (Set<Integer>) request.getSelectedContestants());
+                    break;
+                case CB_SET_SELECTED_MASK:
+                    bench.setSelectedMask(request.getTeam(), request.getMask());
+                    break;
+                case CB_WAIT_FOR_NEXT_TRIAL:
+                    reply.setNumber(bench.waitForNextTrial(request.getTeam(), request.getNumber()));
+                    break;
+                case CB_UPDATE_CONTESTANT_STRENGTH:
+                    bench.updateContestantStrength(request.getContestantId(), request.getTeam(), request.getStrength());
+                    break;
+                case CB_INTERRUPT:
+                    bench.interrupt(request.getTeam());
+                    break;
+                case CB_WAIT_FOR_EVERYONE_TO_START:
+                    bench.waitForEveryoneToStart(request.getTeam());
+                    break;
+                case CB_SHUTDOWN:
+                    reply.setBoolean(bench.shutdown());
+                    break;
+                default:
+                    throw new MessageException("Invalid message type for the contestants bench", request);
+            }
+        } catch (RemoteException ex) {
+            throw new MessageException(ex.getMessage(), request);
+        }
+
+        return reply;
+    }
+
+    /**
+     * Handles the requests the bench makes wait without holding the calling
+     * thread, if the bench answers them asynchronously
+     */
+    @Override
+    public CompletableFuture<Message> handleAsync(Message request) throws MessageException {
+        try {
+            InterfaceContestantsBench bench = benches.getMatch(request.getMatch());
+
+            if (!(bench instanceof InterfaceContestantsBenchAsync)) {
+                return CompletableFuture.completedFuture(handle(request));
+            }
+
+            InterfaceContestantsBenchAsync async = (InterfaceContestantsBenchAsync) bench;
+
+            switch (request.getType()) {
+                case CB_ADD_CONTESTANT:
+                    return async.addContestantAsync(request.getContestantId(), request.getTeam(),
+                            request.getNumber(), request.getStrength()).thenApply(added -> {
+                                Message reply = new Message(request.getType());
+
+                                reply.setNumbers(new int[]{added.getLeft(), added.getRight()});
+                                return reply;
+                            });
+                case CB_GET_BENCH:
+                    return async.getBenchAsync(request.getTeam()).thenApply(seated -> {
+                        Message reply = new Message(request.getType());
+
+                        reply.setSet(seated);
+                        return reply;
+                    });
+                case CB_PICK_YOUR_TEAM:
+                    return AsyncReplies.whenDone(request, async.pickYourTeamAsync(request.getTeam()));
+                case CB_WAIT_FOR_NEXT_TRIAL:
+                    return AsyncReplies.withNumber(request,
+                            async.waitForNextTrialAsync(request.getTeam(), request.getNumber()));
+                case CB_WAIT_FOR_EVERYONE_TO_START:
+                    return AsyncReplies.whenDone(request, async.waitForEveryoneToStartAsync(request.getTeam()));
+                default:
+                    return CompletableFuture.completedFuture(handle(request));
+            }
+        } catch (RemoteException ex) {
+            throw new MessageException(ex.getMessage(), request);
+        }
+    }
+}
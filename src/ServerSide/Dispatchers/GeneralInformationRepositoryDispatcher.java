@@ -0,0 +1,104 @@
+package ServerSide.Dispatchers;
+
+import java.rmi.RemoteException;
+
+import Communication.Message;
+import Communication.MessageException;
+import Communication.MessageHandler;
+import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.InterfaceMatchTable;
+
+/**
+ * Dispatches the messages addressed to the general information repository of
+ * a match
+ */
+public class GeneralInformationRepositoryDispatcher implements MessageHandler {
+
+    private final InterfaceMatchTable<InterfaceGeneralInformationRepository> repositories;  // repository of each match
+
+    /**
+     * Public constructor
+     *
+     * @param repositories table of the general information repositories of the matches
+     */
+    public GeneralInformationRepositoryDispatcher(InterfaceMatchTable<InterfaceGeneralInformationRepository> repositories) {
+        this.repositories = repositories;
+    }
+
+    @Override
+    public Message handle(Message request) throws MessageException {
+        Message reply = new Message(request.getType());
+
+        try {
+            InterfaceGeneralInformationRepository repository = repositories.getMatch(request.getMatch());
+
+            switch (request.getType()) {
+                case GIR_UPDATE_COACH:
+                    repository.updateCoach(request.getTeam(), request.getNumber());
+                    break;
+                case GIR_UPDATE_CONTESTANT:
+                    repository.updateContestant(request.getContestantId(), request.getTeam(), request.getNumber(),
+                            request.getStrength());
+                    break;
+                case GIR_UPDATE_CONTESTANT_STRENGTH:
+                    repository.updateContestantStrength(request.getTeam(), request.getContestantId(),
+                            request.getStrength());
+                    break;
+                case GIR_UPDATE_REFEREE:
+                    repository.updateReferee(request.getNumber());
+                    break;
+                case GIR_APPLY_UPDATES:
+                    repository.applyUpdates(request.getBatch());
+                    break;
+                case GIR_CLOSE:
+                    repository.close();
+                    break;
+                case GIR_PRINT_GAME_HEADER:
+                    repository.printGameHeader();
+                    break;
+                case GIR_PRINT_GAME_RESULT:
+                    repository.printGameResult(request.getGameResult());
+                    break;
+                case GIR_PRINT_HEADER:
+                    repository.printHeader();
+                    break;
+                case GIR_PRINT_LEGEND:
+                    repository.printLegend();
+                    break;
+                case GIR_PRINT_LINE_UPDATE:
+                    repository.printLineUpdate();
+                    break;
+                case GIR_PRINT_MATCH_DRAW:
+                    repository.printMatchDraw();
+                    break;
+                case GIR_PRINT_MATCH_WINNER:
+                    repository.printMatchWinner(request.getTeam(), request.getNumbers()[0], request.getNumbers()[1]);
+                    break;
+                case GIR_RESET_TEAM_PLACEMENT:
+                    repository.resetTeamPlacement(request.getContestantId(), request.getTeam());
+                    break;
+                case GIR_SET_FLAG_POSITION:
+                    repository.setFlagPosition(request.getNumber());
+                    break;
+                case GIR_SET_GAME_NUMBER:
+                    repository.setGameNumber(request.getNumber());
+                    break;
+                case GIR_SET_TEAM_PLACEMENT:
+                    repository.setTeamPlacement(request.getContestantId(), request.getTeam());
+                    break;
+                case GIR_SET_TRIAL_NUMBER:
+                    repository.setTrialNumber(request.getNumber());
+                    break;
+                case GIR_SHUTDOWN:
+                    reply.setBoolean(repository.shutdown());
+                    break;
+                default:
+                    throw new MessageException("Invalid message type for the general information repository", request);
+            }
+        } catch (RemoteException ex) {
+            throw new MessageException(ex.getMessage(), request);
+        }
+
+        return reply;
+    }
+}
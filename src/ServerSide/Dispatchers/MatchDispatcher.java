@@ -0,0 +1,79 @@
+package ServerSide.Dispatchers;
+
+import java.util.concurrent.CompletableFuture;
+
+import Communication.Message;
+import Communication.Message.MessageType;
+import Communication.MessageException;
+import Communication.MessageHandler;
+import Others.MatchConfig;
+
+/**
+ * Dispatches the messages received by a server hosting the four shared
+ * regions of many matches, according to their category
+ */
+public class MatchDispatcher implements MessageHandler {
+
+    private final MatchConfig config;                       // configuration of the matches
+    private final MessageHandler bench;
+    private final MessageHandler playground;
+    private final MessageHandler refereeSite;
+    private final MessageHandler repository;
+
+    /**
+     * Public constructor
+     *
+     * @param config configuration of the matches
+     * @param bench dispatcher of the contestants benches
+     * @param playground dispatcher of the playgrounds
+     * @param refereeSite dispatcher of the referee sites
+     * @param repository dispatcher of the general information repositories
+     */
+    public MatchDispatcher(MatchConfig config, MessageHandler bench, MessageHandler playground,
+            MessageHandler refereeSite, MessageHandler repository) {
+        this.config = config;
+        this.bench = bench;
+        this.playground = playground;
+        this.refereeSite = refereeSite;
+        this.repository = repository;
+    }
+
+    @Override
+    public Message handle(Message request) throws MessageException {
+        switch (request.getMessageCategory()) {
+            case CB:
+                return bench.handle(request);
+            case PG:
+                return playground.handle(request);
+            case RS:
+                return refereeSite.handle(request);
+            case GIR:
+                return repository.handle(request);
+            default:
+                if (request.getType() != MessageType.MATCH_CONFIG) {
+                    throw new MessageException("Invalid message type", request);
+                }
+
+                Message reply = new Message(MessageType.MATCH_CONFIG);
+
+                reply.setMatchConfig(config);
+                return reply;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Message> handleAsync(Message request) throws MessageException {
+        switch (request.getMessageCategory()) {
+            case CB:
+                return bench.handleAsync(request);
+            case PG:
+                return playground.handleAsync(request);
+            case RS:
+                return refereeSite.handleAsync(request);
+            case GIR:
+                return repository.handleAsync(request);
+            default:
+                return CompletableFuture.completedFuture(handle(request));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ServerSide.Dispatchers;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+
+import Communication.Message;
+import Communication.MessageException;
+import Communication.MessageHandler;
+import Interfaces.InterfaceMatchTable;
+import Interfaces.InterfacePlayground;
+import Interfaces.InterfacePlaygroundAsync;
+
+/**
+ * Dispatches the messages addressed to the playground of a match
+ */
+public class PlaygroundDispatcher implements MessageHandler {
+
+    private final InterfaceMatchTable<InterfacePlayground> playgrounds;     // playground of each match
+
+    /**
+     * Public constructor
+     *
+     * @param playgrounds table of the playgrounds of the matches
+     */
+    public PlaygroundDispatcher(InterfaceMatchTable<InterfacePlayground> playgrounds) {
+        this.playgrounds = playgrounds;
+    }
+
+    @Override
+    public Message handle(Message request) throws MessageException {
+        Message reply = new Message(request.getType());
+
+        try {
+            InterfacePlayground playground = playgrounds.getMatch(request.getMatch());
+
+            switch (request.getType()) {
+                case PG_ADD_CONTESTANT:
+                    reply.setNumber(playground.addContestant(request.getContestantId(), request.getTeam(),
+                            request.getNumber(), request.getStrength()));
+                    break;
+                case PG_ARE_ALL_CONTESTANTS_READY:
+                    reply.setBoolean(playground.areAllContestantsReady());
+                    break;
+                case PG_CHECK_TEAM_PLACEMENT:
+                    reply.setNumber(playground.checkTeamPlacement(request.getTeam()));
+                    break;
+                case PG_GET_CONTESTANT:
+                    playground.getContestant(request.getContestantId(), request.getTeam());
+                    break;
+                case PG_GET_FLAG_POSITION:
+                    reply.setNumber(playground.getFlagPosition());
+                    break;
+                case PG_GET_LAST_FLAG_POSITION:
+                    reply.setNumber(playground.getLastFlagPosition());
+                    break;
+                case PG_GET_TEAM_STRENGTHS:
+                    reply.setNumbers(playground.getTeamStrengths());
+                    break;
+                case PG_ALL_HAVE_PULLED:
+                    playground.allHavePulled();
+                    break;
+                case PG_PULL_ROPE:
+                    playground.pullRope();
+                    break;
+                case PG_RESULT_ASSERTED:
+                    playground.resultAsserted();
+                    break;
+                case PG_SET_FLAG_POSITION:
+                    playground.setFlagPosition(request.getNumber());
+                    break;
+                case PG_START_PULLING:
+                    reply.setNumber(playground.startPulling());
+                    break;
+                case PG_WATCH_TRIAL:
+                    reply.setNumber(playground.watchTrial(request.getTeam()));
+                    break;
+                case PG_SHUTDOWN:
+                    reply.setBoolean(playground.shutdown());
+                    break;
+                default:
+                    throw new MessageException("Invalid message type for the playground", request);
+            }
+        } catch (RemoteException ex) {
+            throw new MessageException(ex.getMessage(), request);
+        }
+
+        return reply;
+    }
+
+    /**
+     * Handles the requests the playground makes wait without holding the
+     * calling thread, if the playground answers them asynchronously
+     */
+    @Override
+    public CompletableFuture<Message> handleAsync(Message request) throws MessageException {
+        try {
+            InterfacePlayground playground = playgrounds.getMatch(request.getMatch());
+
+            if (!(playground instanceof InterfacePlaygroundAsync)) {
+                return CompletableFuture.completedFuture(handle(request));
+            }
+
+            InterfacePlaygroundAsync async = (InterfacePlaygroundAsync) playground;
+
+            switch (request.getType()) {
+                case PG_ADD_CONTESTANT:
+                    return AsyncReplies.withNumber(request, async.addContestantAsync(request.getContestantId(),
+                            request.getTeam(), request.getNumber(), request.getStrength()));
+                case PG_CHECK_TEAM_PLACEMENT:
+                    return AsyncReplies.withNumber(request, async.checkTeamPlacementAsync(request.getTeam()));
+                case PG_WATCH_TRIAL:
+                    return AsyncReplies.withNumber(request, async.watchTrialAsync(request.getTeam()));
+                case PG_START_PULLING:
+                    return AsyncReplies.withNumber(request, async.startPullingAsync());
+                case PG_PULL_ROPE:
+                    return AsyncReplies.whenDone(request, async.pullRopeAsync());
+                case PG_ALL_HAVE_PULLED:
+                    return AsyncReplies.whenDone(request, async.allHavePulledAsync());
+                default:
+                    return CompletableFuture.completedFuture(handle(request));
+            }
+        } catch (RemoteException ex) {
+            throw new MessageException(ex.getMessage(), request);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ServerSide.Dispatchers;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+
+import Communication.Message;
+import Communication.Message.MessageType;
+import Communication.MessageException;
+import Communication.MessageHandler;
+import Interfaces.InterfaceMatchTable;
+import Interfaces.InterfaceRefereeSite;
+import Interfaces.InterfaceRefereeSiteAsync;
+
+/**
+ * Dispatches the messages addressed to the referee site of a match
+ */
+public class RefereeSiteDispatcher implements MessageHandler {
+
+    private final InterfaceMatchTable<InterfaceRefereeSite> refereeSites;   // referee site of each match
+
+    /**
+     * Public constructor
+     *
+     * @param refereeSites table of the referee sites of the matches
+     */
+    public RefereeSiteDispatcher(InterfaceMatchTable<InterfaceRefereeSite> refereeSites) {
+        this.refereeSites = refereeSites;
+    }
+
+    @Override
+    public Message handle(Message request) throws MessageException {
+        Message reply = new Message(request.getType());
+
+        try {
+            InterfaceRefereeSite refereeSite = refereeSites.getMatch(request.getMatch());
+
+            switch (request.getType()) {
+                case RS_ADD_GAME_POINT:
+                    refereeSite.addGamePoint(request.getGamePoint());
+                    break;
+                case RS_ADD_TRIAL_POINT:
+                    refereeSite.addTrialPoint(request.getTrialPoint());
+                    break;
+                case RS_BOTH_TEAMS_READY:
+                    reply.setNumber(refereeSite.bothTeamsReady());
+                    break;
+                case RS_GET_GAME_POINTS:
+                    reply.setGamePoints(refereeSite.getGamePoints());
+                    break;
+                case RS_GET_REMAINING_GAMES:
+                    reply.setNumber(refereeSite.getRemainingGames());
+                    break;
+                case RS_GET_REMAINING_TRIALS:
+                    reply.setNumber(refereeSite.getRemainingTrials());
+                    break;
+                case RS_GET_TRIAL_POINTS:
+                    reply.setTrialPoints(refereeSite.getTrialPoints());
+                    break;
+                case RS_HAS_MATCH_ENDED:
+                    reply.setBoolean(refereeSite.isMatchEnded());
+                    break;
+                case RS_INFORM_REFEREE:
+                    refereeSite.informReferee();
+                    break;
+                case RS_RESET_TRIAL_POINTS:
+                    refereeSite.resetTrialPoints();
+                    break;
+                case RS_SET_HAS_MATCH_ENDED:
+                    refereeSite.setIsMatchEnded(request.getBoolean());
+                    break;
+                case RS_SHUTDOWN:
+                    reply.setBoolean(refereeSite.shutdown());
+                    break;
+                default:
+                    throw new MessageException("Invalid message type for the referee site", request);
+            }
+        } catch (RemoteException ex) {
+            throw new MessageException(ex.getMessage(), request);
+        }
+
+        return reply;
+    }
+
+    /**
+     * Handles the requests the referee site makes wait without holding the
+     * calling thread, if the referee site answers them asynchronously
+     */
+    @Override
+    public CompletableFuture<Message> handleAsync(Message request) throws MessageException {
+        try {
+            InterfaceRefereeSite refereeSite = refereeSites.getMatch(request.getMatch());
+
+            if (request.getType() == MessageType.RS_BOTH_TEAMS_READY
+                    && refereeSite instanceof InterfaceRefereeSiteAsync) {
+                return AsyncReplies.withNumber(request,
+                        ((InterfaceRefereeSiteAsync) refereeSite).bothTeamsReadyAsync());
+            }
+        } catch (RemoteException ex) {
+            throw new MessageException(ex.getMessage(), request);
+        }
+
+        return CompletableFuture.completedFuture(handle(request));
+    }
+}
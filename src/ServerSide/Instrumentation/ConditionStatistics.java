@@ -0,0 +1,113 @@
+package ServerSide.Instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import Others.LatencyHistogram;
+
+/**
+ * Statistics of a named condition, shared by the conditions of the same name
+ * of every match, as the one of each contestant of a bench.
+ */
+public class ConditionStatistics implements ConditionStatisticsMXBean {
+
+    private final String name;                      // name of the condition
+    private final LongAdder waits;                  // waits on the condition
+    private final LongAdder signals;                // signal and signalAll calls
+    private final LongAdder spurious;               // waits that returned with no reason
+    private final LongAdder timeouts;               // timed waits that ran out of time
+    private final LatencyHistogram wakeLatency;     // from a timed signal to the waiter holding the lock, in nanoseconds
+
+    /**
+     * Package constructor, the statistics are kept by Instrumentation
+     *
+     * @param name name of the condition
+     */
+    ConditionStatistics(String name) {
+        this.name = name;
+
+        waits = new LongAdder();
+        signals = new LongAdder();
+        spurious = new LongAdder();
+        timeouts = new LongAdder();
+        wakeLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Records a signal or signalAll call
+     */
+    void signalled() {
+        signals.increment();
+    }
+
+    /**
+     * Records a wait woken by a signal that was not timed
+     */
+    void woken() {
+        waits.increment();
+    }
+
+    /**
+     * Records a wait woken by a timed signal
+     *
+     * @param latency nanoseconds from the signal to the waiter holding the lock
+     */
+    void woken(long latency) {
+        waits.increment();
+        wakeLatency.record(latency);
+    }
+
+    /**
+     * Records a wait that returned with no signal
+     *
+     * @param timedOut true if the time of the wait was up
+     * @param interrupted true if the waiter was interrupted
+     */
+    void notSignalled(boolean timedOut, boolean interrupted) {
+        waits.increment();
+        if (timedOut) {
+            timeouts.increment();
+        } else if (!interrupted) {
+            spurious.increment();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    @Override
+    public long getSignals() {
+        return signals.sum();
+    }
+
+    @Override
+    public long getSpuriousWakeups() {
+        return spurious.sum();
+    }
+
+    @Override
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public double getMeanWakeLatency() {
+        return wakeLatency.getMean() / 1e3;
+    }
+
+    @Override
+    public double getWakeLatency99() {
+        return wakeLatency.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getMaxWakeLatency() {
+        return wakeLatency.getMax() / 1e3;
+    }
+}
@@ -0,0 +1,45 @@
+package ServerSide.Instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic JFR event with the statistics of a named condition, since the
+ * start of the server.
+ */
+@Name("RopeGame.ConditionStatistics")
+@Label("Condition Statistics")
+@Category({"Rope Game", "Locks"})
+@Description("Statistics of a named condition of the shared regions")
+@Period("1 s")
+@StackTrace(false)
+class ConditionStatisticsEvent extends jdk.jfr.Event {
+
+    @Label("Condition")
+    String condition;
+
+    @Label("Waits")
+    long waits;
+
+    @Label("Signals")
+    long signals;
+
+    @Label("Spurious Wakeups")
+    long spuriousWakeups;
+
+    @Label("Timeouts")
+    long timeouts;
+
+    @Label("Mean Wake Latency")
+    @Timespan(Timespan.MICROSECONDS)
+    long meanWakeLatency;
+
+    @Label("Max Wake Latency")
+    @Timespan(Timespan.MICROSECONDS)
+    long maxWakeLatency;
+}
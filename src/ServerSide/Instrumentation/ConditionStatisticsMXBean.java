@@ -0,0 +1,69 @@
+package ServerSide.Instrumentation;
+
+/**
+ * Management interface of the statistics of a named condition of the shared
+ * regions. Times are in microseconds; the wake latencies are those of the
+ * signals timed, one in InstrumentedLock.SAMPLE_PERIOD.
+ */
+public interface ConditionStatisticsMXBean {
+
+    /**
+     * Gets the name of the condition
+     *
+     * @return name of the condition
+     */
+    public String getName();
+
+    /**
+     * Gets the number of waits on the condition
+     *
+     * @return count of waits
+     */
+    public long getWaits();
+
+    /**
+     * Gets the number of times the condition was signalled
+     *
+     * @return count of signal and signalAll calls
+     */
+    public long getSignals();
+
+    /**
+     * Gets the number of waits that returned with no signal given, no
+     * timeout and no interrupt
+     *
+     * @return count of spurious wakeups
+     */
+    public long getSpuriousWakeups();
+
+    /**
+     * Gets the number of timed waits that returned because the time was up
+     *
+     * @return count of timeouts
+     */
+    public long getTimeouts();
+
+    /**
+     * Gets the mean time from a signal to the waiter running again with the
+     * lock held
+     *
+     * @return mean signal to wake latency
+     */
+    public double getMeanWakeLatency();
+
+    /**
+     * Gets the 99th percentile of the time from a signal to the waiter
+     * running again with the lock held
+     *
+     * @return 99th percentile of the signal to wake latency
+     */
+    public double getWakeLatency99();
+
+    /**
+     * Gets the longest time from a signal to the waiter running again with
+     * the lock held
+     *
+     * @return maximum signal to wake latency
+     */
+    public double getMaxWakeLatency();
+}
@@ -0,0 +1,33 @@
+package ServerSide.Instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of a wait on an instrumented condition, lasting until the waiter
+ * holds the lock again.
+ */
+@Name("RopeGame.ConditionWait")
+@Label("Condition Wait")
+@Category({"Rope Game", "Locks"})
+@Description("Wait on a condition of a shared region")
+class ConditionWaitEvent extends jdk.jfr.Event {
+
+    @Label("Condition")
+    String condition;
+
+    @Label("Signalled")
+    boolean signalled;
+
+    @Label("Spurious")
+    @Description("Returned with no signal, timeout or interrupt")
+    boolean spurious;
+
+    @Label("Wake Latency")
+    @Description("From the signal to the waiter holding the lock, 0 if the signal was not timed")
+    @Timespan(Timespan.NANOSECONDS)
+    long wakeLatency;
+}
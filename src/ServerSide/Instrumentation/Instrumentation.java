@@ -0,0 +1,313 @@
+package ServerSide.Instrumentation;
+
+import static java.lang.System.out;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.rmi.Remote;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Instrumentation of the shared regions. A region is instrumented by
+ * exporting the proxy given by instrument instead of the region itself; the
+ * statistics of each method are published as an MXBean named
+ * RopeGame:type=RemoteMethod,region=...,name=... and can be printed
+ * periodically by the server. The regions use InstrumentedLock, whose locks
+ * and conditions are published the same way as RopeGame:type=Lock,name=...
+ * and RopeGame:type=Condition,name=..., and sent to JFR every second.
+ *
+ * The wait time of a call is the time the thread spent waiting while inside
+ * it, in nanoseconds, for an InstrumentedLock held by another thread, on an
+ * InstrumentedCondition, in a call to a remote object wrapped by outbound,
+ * or on anything else the regions report through startWait and endWait.
+ * Each thread keeps its own count, so reading it takes no lock and allocates
+ * nothing. A caller is blocked while it is in one of these waits. Sleeping,
+ * like the time a pull takes, is service time.
+ *
+ * Everything is turned off by setting the ENABLED_PROPERTY system property to
+ * false: the regions are exported as they are, and the instrumented locks and
+ * conditions cost what a plain ReentrantLock and its conditions cost.
+ */
+public final class Instrumentation {
+
+    /** System property with the seconds between dumps of the statistics, 0 for no dumps */
+    public static final String DUMP_INTERVAL_PROPERTY = "ropegame.stats.interval";
+
+    /** System property turning the instrumentation off when set to false */
+    public static final String ENABLED_PROPERTY = "ropegame.instrumentation";
+
+    /** True unless the instrumentation was turned off, fixed when the class is loaded */
+    public static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+
+    private static final ConcurrentMap<String, MethodStatistics> STATISTICS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LockStatistics> LOCKS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, ConditionStatistics> CONDITIONS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ThreadWaits> WAITS = ThreadLocal.withInitial(ThreadWaits::new); // waits of each thread
+
+    static {
+        FlightRecorder.addPeriodicEvent(LockStatisticsEvent.class, Instrumentation::emitLockStatistics);
+        FlightRecorder.addPeriodicEvent(ConditionStatisticsEvent.class, Instrumentation::emitConditionStatistics);
+    }
+
+    /**
+     * Private constructor, the class has only static methods
+     */
+    private Instrumentation() {
+    }
+
+    /**
+     * Wraps a shared region in a proxy measuring its remote calls, to be
+     * exported in its place. The region itself is given when the
+     * instrumentation is off.
+     *
+     * @param <T> remote interface of the region
+     * @param type remote interface of the region
+     * @param target region to be called
+     * @param region name of the region in the statistics
+     * @return proxy of the region
+     */
+    public static <T extends Remote> T instrument(Class<T> type, T target, String region) {
+        if (!ENABLED) {
+            return target;
+        }
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new RemoteMethodProxy(target, region)));
+    }
+
+    /**
+     * Wraps the stub of a remote object the regions call, so that the time
+     * the callers spend in a call is wait time, and they are blocked
+     * meanwhile. The stub itself is given when the instrumentation is off.
+     *
+     * @param <T> remote interface of the object
+     * @param type remote interface of the object
+     * @param stub stub of the remote object
+     * @return proxy of the stub
+     */
+    public static <T extends Remote> T outbound(Class<T> type, T stub) {
+        if (!ENABLED) {
+            return stub;
+        }
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new OutboundCallProxy(stub)));
+    }
+
+    /**
+     * Starts printing the statistics to the standard output, every number of
+     * seconds given by the DUMP_INTERVAL_PROPERTY system property. Nothing is
+     * printed if the property is not set or the instrumentation is off.
+     */
+    public static void startDump() {
+        long interval = Long.getLong(DUMP_INTERVAL_PROPERTY, 0);
+
+        if (!ENABLED || (interval <= 0)) {
+            return;
+        }
+
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "Instrumentation-dump");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        dumper.scheduleAtFixedRate(() -> dump(out), interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Prints the statistics of every method called and every lock and
+     * condition used so far, in microseconds
+     *
+     * @param stream where to print
+     */
+    public static void dump(PrintStream stream) {
+        StringBuilder table = new StringBuilder();
+
+        table.append(String.format("%-45s %9s %6s %6s %10s %10s %10s %10s %10s %10s%n", "Remote method (us)",
+                "calls", "busy", "block", "service", "p99", "max", "wait", "p99", "max"));
+
+        for (MethodStatistics statistics : new TreeMap<>(STATISTICS).values()) {
+            table.append(String.format("%-45s %9d %6d %6d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    statistics.getRegion() + "." + statistics.getMethod(), statistics.getCalls(),
+                    statistics.getInFlight(), statistics.getBlocked(), statistics.getMeanServiceTime(),
+                    statistics.getServiceTime99(), statistics.getMaxServiceTime(), statistics.getMeanWaitTime(),
+                    statistics.getWaitTime99(), statistics.getMaxWaitTime()));
+        }
+
+        if (!LOCKS.isEmpty()) {
+            table.append(String.format("%n%-45s %9s %9s %10s %10s %10s %10s %10s %10s%n", "Lock (us)",
+                    "acquired", "contended", "wait", "p99", "max", "hold", "p99", "max"));
+
+            for (LockStatistics statistics : new TreeMap<>(LOCKS).values()) {
+                table.append(String.format("%-45s %9d %9d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                        statistics.getName(), statistics.getAcquisitions(), statistics.getContended(),
+                        statistics.getMeanWaitTime(), statistics.getWaitTime99(), statistics.getMaxWaitTime(),
+                        statistics.getMeanHoldTime(), statistics.getHoldTime99(), statistics.getMaxHoldTime()));
+            }
+        }
+
+        if (!CONDITIONS.isEmpty()) {
+            table.append(String.format("%n%-45s %9s %9s %9s %9s %10s %10s %10s%n", "Condition (us)", "waits",
+                    "signals", "spurious", "timeouts", "wake", "p99", "max"));
+
+            for (ConditionStatistics statistics : new TreeMap<>(CONDITIONS).values()) {
+                table.append(String.format("%-45s %9d %9d %9d %9d %10.1f %10.1f %10.1f%n", statistics.getName(),
+                        statistics.getWaits(), statistics.getSignals(), statistics.getSpuriousWakeups(),
+                        statistics.getTimeouts(), statistics.getMeanWakeLatency(), statistics.getWakeLatency99(),
+                        statistics.getMaxWakeLatency()));
+            }
+        }
+
+        stream.print(table);
+        stream.flush();
+    }
+
+    /**
+     * Gets the statistics of a method, creating and registering them the
+     * first time
+     *
+     * @param region name of the region
+     * @param method name of the method
+     * @return statistics of the method
+     */
+    static MethodStatistics statistics(String region, String method) {
+        return STATISTICS.computeIfAbsent(region + "." + method, name -> {
+            MethodStatistics statistics = new MethodStatistics(region, method);
+
+            register(statistics, "type=RemoteMethod,region=" + region + ",name=" + method);
+
+            return statistics;
+        });
+    }
+
+    /**
+     * Gets the statistics of a lock, creating and registering them the first
+     * time
+     *
+     * @param name name of the lock
+     * @return statistics of the lock
+     */
+    static LockStatistics lockStatistics(String name) {
+        return LOCKS.computeIfAbsent(name, key -> {
+            LockStatistics statistics = new LockStatistics(name);
+
+            register(statistics, "type=Lock,name=" + name);
+
+            return statistics;
+        });
+    }
+
+    /**
+     * Gets the statistics of a condition, creating and registering them the
+     * first time
+     *
+     * @param name name of the condition
+     * @return statistics of the condition
+     */
+    static ConditionStatistics conditionStatistics(String name) {
+        return CONDITIONS.computeIfAbsent(name, key -> {
+            ConditionStatistics statistics = new ConditionStatistics(name);
+
+            register(statistics, "type=Condition,name=" + name);
+
+            return statistics;
+        });
+    }
+
+    /**
+     * Marks the current thread as waiting, until endWait is called. Used for
+     * waits other than on the instrumented locks and conditions, which mark
+     * their own.
+     */
+    public static void startWait() {
+        WAITS.get().start();
+    }
+
+    /**
+     * Marks the end of a wait of the current thread and adds to the time it
+     * has waited
+     *
+     * @param nanos nanoseconds waited
+     */
+    public static void endWait(long nanos) {
+        WAITS.get().end(nanos);
+    }
+
+    /**
+     * Gets the waits of the current thread
+     *
+     * @return waits of the current thread
+     */
+    static ThreadWaits waits() {
+        return WAITS.get();
+    }
+
+    /**
+     * Registers statistics in the platform MBean server
+     *
+     * @param statistics MXBean of the statistics
+     * @param properties key properties of the name of the MXBean
+     */
+    private static void register(Object statistics, String properties) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            server.registerMBean(statistics, new ObjectName("RopeGame:" + properties));
+        } catch (JMException ex) {
+            Logger.getLogger(Instrumentation.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Sends the statistics of every lock to JFR
+     */
+    private static void emitLockStatistics() {
+        for (LockStatistics statistics : LOCKS.values()) {
+            LockStatisticsEvent event = new LockStatisticsEvent();
+
+            event.lock = statistics.getName();
+            event.acquisitions = statistics.getAcquisitions();
+            event.contended = statistics.getContended();
+            event.meanWait = (long) statistics.getMeanWaitTime();
+            event.maxWait = (long) statistics.getMaxWaitTime();
+            event.meanHold = (long) statistics.getMeanHoldTime();
+            event.maxHold = (long) statistics.getMaxHoldTime();
+            event.commit();
+        }
+    }
+
+    /**
+     * Sends the statistics of every condition to JFR
+     */
+    private static void emitConditionStatistics() {
+        for (ConditionStatistics statistics : CONDITIONS.values()) {
+            ConditionStatisticsEvent event = new ConditionStatisticsEvent();
+
+            event.condition = statistics.getName();
+            event.waits = statistics.getWaits();
+            event.signals = statistics.getSignals();
+            event.spuriousWakeups = statistics.getSpuriousWakeups();
+            event.timeouts = statistics.getTimeouts();
+            event.meanWakeLatency = (long) statistics.getMeanWakeLatency();
+            event.maxWakeLatency = (long) statistics.getMaxWakeLatency();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package ServerSide.Instrumentation;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+
+import jdk.jfr.EventType;
+
+/**
+ * Condition of an instrumented lock that keeps statistics under its name: the
+ * latency from a signal to the waiter running again with the lock held, and
+ * the waits that returned with no signal, no timeout and no interrupt. Each
+ * wait is reported as a JFR event while a recording takes them.
+ *
+ * The thread is marked as waiting while it waits, and the time of each wait
+ * is added to its wait time; a wait parks the thread, so timing it costs
+ * little next to it. The signals are
+ * counted with the lock held, so a waiter knows it was signalled when the
+ * count changed while it waited. Only one in InstrumentedLock.SAMPLE_PERIOD
+ * signals is timed, and the wake latency is taken when the last signal given
+ * before the waiter ran was a timed one.
+ *
+ * With the instrumentation off the condition is the one of a plain
+ * ReentrantLock.
+ */
+public class InstrumentedCondition implements Condition {
+
+    private static final EventType WAIT_EVENT = EventType.getEventType(ConditionWaitEvent.class);
+
+    private final InstrumentedLock lock;            // lock of the condition
+    private final Condition delegate;               // condition actually waited on
+    private final String name;                      // name of the condition
+    private final ConditionStatistics statistics;   // statistics of the conditions of the same name, null if off
+    private long signals;                           // signals given, guarded by the lock
+    private long lastSignal;                        // when the last timed signal was given, guarded by the lock
+
+    /**
+     * Package constructor, the conditions are made by InstrumentedLock
+     *
+     * @param lock lock of the condition
+     * @param delegate condition of the underlying lock
+     * @param name name of the condition
+     */
+    InstrumentedCondition(InstrumentedLock lock, Condition delegate, String name) {
+        this.lock = lock;
+        this.delegate = delegate;
+        this.name = name;
+
+        statistics = Instrumentation.ENABLED ? Instrumentation.conditionStatistics(name) : null;
+    }
+
+    @Override
+    public void await() throws InterruptedException {
+        if (!Instrumentation.ENABLED) {
+            delegate.await();
+            return;
+        }
+
+        ConditionWaitEvent event = begin();
+        long signalled = signals;
+        boolean interrupted = true;
+
+        lock.suspendHold();
+        long start = System.nanoTime();
+        Instrumentation.startWait();
+        try {
+            delegate.await();
+            interrupted = false;
+        } finally {
+            woke(event, start, signalled, false, interrupted);
+        }
+    }
+
+    @Override
+    public void awaitUninterruptibly() {
+        if (!Instrumentation.ENABLED) {
+            delegate.awaitUninterruptibly();
+            return;
+        }
+
+        ConditionWaitEvent event = begin();
+        long signalled = signals;
+
+        lock.suspendHold();
+        long start = System.nanoTime();
+        Instrumentation.startWait();
+        delegate.awaitUninterruptibly();
+        woke(event, start, signalled, false, false);
+    }
+
+    @Override
+    public long awaitNanos(long nanosTimeout) throws InterruptedException {
+        if (!Instrumentation.ENABLED) {
+            return delegate.awaitNanos(nanosTimeout);
+        }
+
+        ConditionWaitEvent event = begin();
+        long signalled = signals;
+        long remaining = 0;
+        boolean interrupted = true;
+
+        lock.suspendHold();
+        long start = System.nanoTime();
+        Instrumentation.startWait();
+        try {
+            remaining = delegate.awaitNanos(nanosTimeout);
+            interrupted = false;
+        } finally {
+            woke(event, start, signalled, remaining <= 0, interrupted);
+        }
+
+        return remaining;
+    }
+
+    @Override
+    public boolean await(long time, TimeUnit unit) throws InterruptedException {
+        if (!Instrumentation.ENABLED) {
+            return delegate.await(time, unit);
+        }
+
+        ConditionWaitEvent event = begin();
+        long signalled = signals;
+        boolean inTime = false;
+        boolean interrupted = true;
+
+        lock.suspendHold();
+        long start = System.nanoTime();
+        Instrumentation.startWait();
+        try {
+            inTime = delegate.await(time, unit);
+            interrupted = false;
+        } finally {
+            woke(event, start, signalled, !inTime, interrupted);
+        }
+
+        return inTime;
+    }
+
+    @Override
+    public boolean awaitUntil(Date deadline) throws InterruptedException {
+        if (!Instrumentation.ENABLED) {
+            return delegate.awaitUntil(deadline);
+        }
+
+        ConditionWaitEvent event = begin();
+        long signalled = signals;
+        boolean inTime = false;
+        boolean interrupted = true;
+
+        lock.suspendHold();
+        long start = System.nanoTime();
+        Instrumentation.startWait();
+        try {
+            inTime = delegate.awaitUntil(deadline);
+            interrupted = false;
+        } finally {
+            woke(event, start, signalled, !inTime, interrupted);
+        }
+
+        return inTime;
+    }
+
+    @Override
+    public void signal() {
+        delegate.signal();
+        if (Instrumentation.ENABLED) {
+            signalled();
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        delegate.signalAll();
+        if (Instrumentation.ENABLED) {
+            signalled();
+        }
+    }
+
+    /**
+     * Gets the name of the condition
+     *
+     * @return name of the condition
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Starts the event of a wait, if JFR is taking them
+     *
+     * @return event of the wait, null if not taken
+     */
+    private static ConditionWaitEvent begin() {
+        if (!WAIT_EVENT.isEnabled()) {
+            return null;
+        }
+
+        ConditionWaitEvent event = new ConditionWaitEvent();
+
+        event.begin();
+
+        return event;
+    }
+
+    /**
+     * Tells whether a count of signals falls on a timed signal
+     *
+     * @param count of signals given
+     * @return true if the signal that made the count was timed
+     */
+    private static boolean timed(long count) {
+        return (count & (InstrumentedLock.SAMPLE_PERIOD - 1)) == 0;
+    }
+
+    /**
+     * Counts a signal, with the lock held, and times one in SAMPLE_PERIOD
+     */
+    private void signalled() {
+        if (timed(++signals)) {
+            lastSignal = System.nanoTime();
+        }
+        statistics.signalled();
+    }
+
+    /**
+     * Records the end of a wait, with the lock taken back
+     *
+     * @param event of the wait, null if not taken
+     * @param start when the wait started, in nanoseconds
+     * @param signalled count of signals when the wait started
+     * @param timedOut true if the time of the wait was up
+     * @param interrupted true if the waiter was interrupted
+     */
+    private void woke(ConditionWaitEvent event, long start, long signalled, boolean timedOut,
+            boolean interrupted) {
+        long now = System.nanoTime();
+        boolean wasSignalled = signals != signalled;
+        long latency = (wasSignalled && timed(signals)) ? now - lastSignal : 0;
+
+        lock.resumeHold(now);
+        Instrumentation.endWait(now - start);
+        if (latency > 0) {
+            statistics.woken(latency);
+        } else if (wasSignalled) {
+            statistics.woken();
+        } else {
+            statistics.notSignalled(timedOut, interrupted);
+        }
+
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.condition = name;
+                event.signalled = wasSignalled;
+                event.wakeLatency = latency;
+                event.spurious = !wasSignalled && !timedOut && !interrupted;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package ServerSide.Instrumentation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jdk.jfr.EventType;
+
+/**
+ * Reentrant lock of a shared region that keeps statistics of its use under
+ * its name: how often it was acquired, how long contended acquisitions waited
+ * and how long the lock was held. Contended acquisitions are always timed,
+ * and reported as JFR events while a recording takes them. Of the
+ * acquisitions that find the lock free, which are most of them and much
+ * shorter, only one in SAMPLE_PERIOD has its hold timed; the others cost a
+ * plain ReentrantLock and the increment of a counter of the lock. The wait of
+ * a contended acquisition is also added to the wait time of the thread,
+ * which is marked as waiting meanwhile. Conditions are made by
+ * newCondition(String), so they are named too.
+ *
+ * With the instrumentation off the lock is a plain ReentrantLock.
+ */
+public class InstrumentedLock implements Lock {
+
+    /** One in SAMPLE_PERIOD acquisitions of a free lock has its hold timed, a power of two */
+    public static final int SAMPLE_PERIOD = 16;
+
+    private static final EventType WAIT_EVENT = EventType.getEventType(LockWaitEvent.class);
+
+    private final ReentrantLock delegate;           // lock actually taken
+    private final String name;                      // name of the lock
+    private final LockStatistics statistics;        // statistics of the locks of the same name, null if off
+    private final LockStatistics.Counter acquisitions;  // acquisitions of this lock, null if off
+    private long holdStart;                         // when the owner took the lock, 0 if not timed, guarded by the lock
+
+    /**
+     * Public constructor of a lock with a name
+     *
+     * @param name of the lock, usually the name of the region
+     */
+    public InstrumentedLock(String name) {
+        this.name = name;
+
+        delegate = new ReentrantLock();
+
+        if (Instrumentation.ENABLED) {
+            statistics = Instrumentation.lockStatistics(name);
+            acquisitions = statistics.newCounter(this);
+        } else {
+            statistics = null;
+            acquisitions = null;
+        }
+    }
+
+    /**
+     * Creates a condition of the lock with a name
+     *
+     * @param conditionName name of the condition, kept after the name of the lock
+     * @return new condition
+     */
+    public InstrumentedCondition newCondition(String conditionName) {
+        return new InstrumentedCondition(this, delegate.newCondition(), name + "." + conditionName);
+    }
+
+    @Override
+    public Condition newCondition() {
+        return newCondition("condition");
+    }
+
+    @Override
+    public void lock() {
+        if (!Instrumentation.ENABLED) {
+            delegate.lock();
+            return;
+        }
+
+        if (delegate.tryLock()) {
+            acquired(0);
+            return;
+        }
+
+        LockWaitEvent event = WAIT_EVENT.isEnabled() ? new LockWaitEvent() : null;
+        long start = System.nanoTime();
+
+        if (event != null) {
+            event.begin();
+        }
+        Instrumentation.startWait();
+        delegate.lock();
+        waited(event, start);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (!Instrumentation.ENABLED) {
+            delegate.lockInterruptibly();
+            return;
+        }
+
+        if (delegate.tryLock()) {
+            acquired(0);
+            return;
+        }
+
+        LockWaitEvent event = WAIT_EVENT.isEnabled() ? new LockWaitEvent() : null;
+        long start = System.nanoTime();
+
+        if (event != null) {
+            event.begin();
+        }
+        Instrumentation.startWait();
+        try {
+            delegate.lockInterruptibly();
+        } catch (InterruptedException ex) {
+            Instrumentation.endWait(System.nanoTime() - start);
+            throw ex;
+        }
+        waited(event, start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (!delegate.tryLock()) {
+            return false;
+        }
+
+        if (Instrumentation.ENABLED) {
+            acquired(0);
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        if (!Instrumentation.ENABLED) {
+            return delegate.tryLock(time, unit);
+        }
+
+        if (delegate.tryLock()) {
+            acquired(0);
+            return true;
+        }
+
+        LockWaitEvent event = WAIT_EVENT.isEnabled() ? new LockWaitEvent() : null;
+        long start = System.nanoTime();
+
+        if (event != null) {
+            event.begin();
+        }
+        Instrumentation.startWait();
+        try {
+            if (!delegate.tryLock(time, unit)) {
+                Instrumentation.endWait(System.nanoTime() - start);
+                return false;
+            }
+        } catch (InterruptedException ex) {
+            Instrumentation.endWait(System.nanoTime() - start);
+            throw ex;
+        }
+        waited(event, start);
+
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        if ((holdStart != 0) && (delegate.getHoldCount() == 1)) {
+            statistics.held(System.nanoTime() - holdStart);
+        }
+
+        delegate.unlock();
+    }
+
+    /**
+     * Gets the name of the lock
+     *
+     * @return name of the lock
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records the hold time up to a wait on a condition, which releases the
+     * lock
+     */
+    void suspendHold() {
+        if (holdStart != 0) {
+            statistics.held(System.nanoTime() - holdStart);
+        }
+    }
+
+    /**
+     * Starts timing the hold again when a wait on a condition returns with
+     * the lock taken back
+     *
+     * @param now current time, in nanoseconds
+     */
+    void resumeHold(long now) {
+        holdStart = now;
+    }
+
+    /**
+     * Records an acquisition that waited for the lock
+     *
+     * @param event of the wait, null if JFR is not taking it
+     * @param start when the wait started, in nanoseconds
+     */
+    private void waited(LockWaitEvent event, long start) {
+        long now = System.nanoTime();
+
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.lock = name;
+                event.commit();
+            }
+        }
+
+        statistics.waited(now - start);
+        Instrumentation.endWait(now - start);
+        acquired(now);
+    }
+
+    /**
+     * Counts an acquisition and starts timing the hold if it is to be timed
+     *
+     * @param now current time in nanoseconds if known, 0 if the hold is timed
+     *            only when sampled
+     */
+    private void acquired(long now) {
+        if (delegate.getHoldCount() > 1) {
+            return;
+        }
+
+        if (((acquisitions.increment() & (SAMPLE_PERIOD - 1)) == 0) && (now == 0)) {
+            now = System.nanoTime();
+        }
+
+        holdStart = now;
+    }
+}
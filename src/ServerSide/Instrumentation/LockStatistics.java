@@ -0,0 +1,173 @@
+package ServerSide.Instrumentation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.Cleaner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import Others.LatencyHistogram;
+
+/**
+ * Statistics of a named lock, shared by the locks of the same name of every
+ * match. Each lock counts its own acquisitions with the lock held, and the
+ * count of the name is the sum of the counts of the live locks and of the
+ * ones already collected, so no acquisition is left out. The hold time is
+ * recorded by the owner before releasing, so the recording is serialized by
+ * the lock itself.
+ */
+public class LockStatistics implements LockStatisticsMXBean {
+
+    private static final Cleaner CLEANER = Cleaner.create();   // adds the count of a collected lock to the others
+
+    private final String name;                      // name of the lock
+    private final Set<Counter> counters;            // acquisitions of each live lock
+    private final LongAdder retired;                // acquisitions of the locks collected
+    private final LatencyHistogram waitTime;        // wait of the contended acquisitions, in nanoseconds
+    private final LatencyHistogram holdTime;        // time the lock was held, of the holds timed, in nanoseconds
+
+    /**
+     * Package constructor, the statistics are kept by Instrumentation
+     *
+     * @param name name of the lock
+     */
+    LockStatistics(String name) {
+        this.name = name;
+
+        counters = ConcurrentHashMap.newKeySet();
+        retired = new LongAdder();
+        waitTime = new LatencyHistogram();
+        holdTime = new LatencyHistogram();
+    }
+
+    /**
+     * Creates the acquisition counter of a lock. Once the lock is collected
+     * its count is kept with the others.
+     *
+     * @param lock whose acquisitions are counted
+     * @return counter of the lock
+     */
+    Counter newCounter(InstrumentedLock lock) {
+        Counter counter = new Counter();
+
+        counters.add(counter);
+        CLEANER.register(lock, () -> {
+            retired.add(counter.get());
+            counters.remove(counter);
+        });
+
+        return counter;
+    }
+
+    /**
+     * Records a contended acquisition of the lock
+     *
+     * @param wait nanoseconds waited for the lock
+     */
+    void waited(long wait) {
+        waitTime.record(wait);
+    }
+
+    /**
+     * Records the time the lock was held
+     *
+     * @param hold nanoseconds held
+     */
+    void held(long hold) {
+        holdTime.record(hold);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getAcquisitions() {
+        long sum = retired.sum();
+
+        for (Counter counter : counters) {
+            sum += counter.get();
+        }
+
+        return sum;
+    }
+
+    @Override
+    public long getContended() {
+        return waitTime.getCount();
+    }
+
+    @Override
+    public double getMeanWaitTime() {
+        return waitTime.getMean() / 1e3;
+    }
+
+    @Override
+    public double getWaitTime99() {
+        return waitTime.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getMaxWaitTime() {
+        return waitTime.getMax() / 1e3;
+    }
+
+    @Override
+    public double getMeanHoldTime() {
+        return holdTime.getMean() / 1e3;
+    }
+
+    @Override
+    public double getHoldTime99() {
+        return holdTime.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getMaxHoldTime() {
+        return holdTime.getMax() / 1e3;
+    }
+
+    /**
+     * Acquisitions of one lock. It is only counted by the owner of the lock,
+     * so the count needs no atomic update, and it is read by anyone with no
+     * lock taken.
+     */
+    static final class Counter {
+
+        private static final VarHandle COUNT;
+
+        static {
+            try {
+                COUNT = MethodHandles.lookup().findVarHandle(Counter.class, "count", long.class);
+            } catch (ReflectiveOperationException ex) {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        private long count;                         // acquisitions, written by the owner of the lock
+
+        /**
+         * Counts an acquisition, with the lock held
+         *
+         * @return count of acquisitions, this one included
+         */
+        long increment() {
+            long next = count + 1;
+
+            COUNT.setOpaque(this, next);
+
+            return next;
+        }
+
+        /**
+         * Gets the count of acquisitions
+         *
+         * @return acquisitions
+         */
+        long get() {
+            return (long) COUNT.getOpaque(this);
+        }
+    }
+}
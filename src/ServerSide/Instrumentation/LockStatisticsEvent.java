@@ -0,0 +1,47 @@
+package ServerSide.Instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic JFR event with the statistics of a named lock, since the start of
+ * the server.
+ */
+@Name("RopeGame.LockStatistics")
+@Label("Lock Statistics")
+@Category({"Rope Game", "Locks"})
+@Description("Statistics of a named lock of the shared regions")
+@Period("1 s")
+@StackTrace(false)
+class LockStatisticsEvent extends jdk.jfr.Event {
+
+    @Label("Lock")
+    String lock;
+
+    @Label("Acquisitions")
+    long acquisitions;
+
+    @Label("Contended")
+    long contended;
+
+    @Label("Mean Wait")
+    @Timespan(Timespan.MICROSECONDS)
+    long meanWait;
+
+    @Label("Max Wait")
+    @Timespan(Timespan.MICROSECONDS)
+    long maxWait;
+
+    @Label("Mean Hold")
+    @Timespan(Timespan.MICROSECONDS)
+    long meanHold;
+
+    @Label("Max Hold")
+    @Timespan(Timespan.MICROSECONDS)
+    long maxHold;
+}
@@ -0,0 +1,72 @@
+package ServerSide.Instrumentation;
+
+/**
+ * Management interface of the statistics of a named lock of the shared
+ * regions. Times are in microseconds.
+ */
+public interface LockStatisticsMXBean {
+
+    /**
+     * Gets the name of the lock
+     *
+     * @return name of the lock
+     */
+    public String getName();
+
+    /**
+     * Gets the number of times the lock was acquired
+     *
+     * @return count of acquisitions
+     */
+    public long getAcquisitions();
+
+    /**
+     * Gets the number of times the lock was acquired after waiting for it
+     *
+     * @return count of contended acquisitions
+     */
+    public long getContended();
+
+    /**
+     * Gets the mean time a contended acquisition waited for the lock
+     *
+     * @return mean wait time
+     */
+    public double getMeanWaitTime();
+
+    /**
+     * Gets the 99th percentile of the time a contended acquisition waited
+     * for the lock
+     *
+     * @return 99th percentile of the wait time
+     */
+    public double getWaitTime99();
+
+    /**
+     * Gets the longest time an acquisition waited for the lock
+     *
+     * @return maximum wait time
+     */
+    public double getMaxWaitTime();
+
+    /**
+     * Gets the mean time the lock was held
+     *
+     * @return mean hold time
+     */
+    public double getMeanHoldTime();
+
+    /**
+     * Gets the 99th percentile of the time the lock was held
+     *
+     * @return 99th percentile of the hold time
+     */
+    public double getHoldTime99();
+
+    /**
+     * Gets the longest time the lock was held
+     *
+     * @return maximum hold time
+     */
+    public double getMaxHoldTime();
+}
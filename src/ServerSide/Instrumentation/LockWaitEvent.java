@@ -0,0 +1,20 @@
+package ServerSide.Instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of a contended acquisition of an instrumented lock, lasting while
+ * the lock was waited for.
+ */
+@Name("RopeGame.LockWait")
+@Label("Lock Wait")
+@Category({"Rope Game", "Locks"})
+@Description("Contended acquisition of a lock of a shared region")
+class LockWaitEvent extends jdk.jfr.Event {
+
+    @Label("Lock")
+    String lock;
+}
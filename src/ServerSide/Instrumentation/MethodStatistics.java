@@ -0,0 +1,133 @@
+package ServerSide.Instrumentation;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import Others.LatencyHistogram;
+
+/**
+ * Statistics of a remote method of a shared region, shared by the regions of
+ * every match. The time of a call is split in the time spent waiting on
+ * locks and conditions and the rest, the service time.
+ */
+public class MethodStatistics implements MethodStatisticsMXBean {
+
+    private final String region;                    // name of the region
+    private final String method;                    // name of the method
+    private final LatencyHistogram serviceTime;     // service time of the calls, in nanoseconds
+    private final LatencyHistogram waitTime;        // wait time of the calls, in nanoseconds
+    private final LongAdder errors;                 // calls that have thrown
+    private final Set<ThreadWaits> inFlight;        // waits of the callers inside the method
+
+    /**
+     * Package constructor, the statistics are kept by Instrumentation
+     *
+     * @param region name of the region
+     * @param method name of the method
+     */
+    MethodStatistics(String region, String method) {
+        this.region = region;
+        this.method = method;
+
+        serviceTime = new LatencyHistogram();
+        waitTime = new LatencyHistogram();
+        errors = new LongAdder();
+        inFlight = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Marks the caller as inside the method
+     *
+     * @param caller waits of the calling thread
+     */
+    void enter(ThreadWaits caller) {
+        inFlight.add(caller);
+    }
+
+    /**
+     * Marks the caller as out of the method and records the call
+     *
+     * @param caller waits of the calling thread
+     * @param service nanoseconds the call was running
+     * @param wait nanoseconds the call waited on locks and conditions
+     * @param failed true if the call has thrown
+     */
+    void exit(ThreadWaits caller, long service, long wait, boolean failed) {
+        inFlight.remove(caller);
+
+        serviceTime.record(service);
+        waitTime.record(wait);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    @Override
+    public String getRegion() {
+        return region;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public long getCalls() {
+        return serviceTime.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    @Override
+    public int getBlocked() {
+        int blocked = 0;
+
+        for (ThreadWaits caller : inFlight) {
+            if (caller.isWaiting()) {
+                blocked++;
+            }
+        }
+
+        return blocked;
+    }
+
+    @Override
+    public double getMeanServiceTime() {
+        return serviceTime.getMean() / 1e3;
+    }
+
+    @Override
+    public double getServiceTime99() {
+        return serviceTime.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getMaxServiceTime() {
+        return serviceTime.getMax() / 1e3;
+    }
+
+    @Override
+    public double getMeanWaitTime() {
+        return waitTime.getMean() / 1e3;
+    }
+
+    @Override
+    public double getWaitTime99() {
+        return waitTime.getValueAtPercentile(99) / 1e3;
+    }
+
+    @Override
+    public double getMaxWaitTime() {
+        return waitTime.getMax() / 1e3;
+    }
+}
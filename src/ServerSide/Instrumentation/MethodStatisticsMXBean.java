@@ -0,0 +1,94 @@
+package ServerSide.Instrumentation;
+
+/**
+ * Management interface of the statistics of a remote method of a shared
+ * region. Times are in microseconds.
+ */
+public interface MethodStatisticsMXBean {
+
+    /**
+     * Gets the name of the shared region
+     *
+     * @return name of the region
+     */
+    public String getRegion();
+
+    /**
+     * Gets the name of the method
+     *
+     * @return name of the method
+     */
+    public String getMethod();
+
+    /**
+     * Gets the number of calls that have returned
+     *
+     * @return count of calls
+     */
+    public long getCalls();
+
+    /**
+     * Gets the number of calls that have thrown an exception
+     *
+     * @return count of failed calls
+     */
+    public long getErrors();
+
+    /**
+     * Gets the number of callers inside the method
+     *
+     * @return callers in flight
+     */
+    public int getInFlight();
+
+    /**
+     * Gets the number of callers inside the method that are waiting on a
+     * lock, a condition or a phaser of the region
+     *
+     * @return callers in flight waiting
+     */
+    public int getBlocked();
+
+    /**
+     * Gets the mean time the method was running
+     *
+     * @return mean service time
+     */
+    public double getMeanServiceTime();
+
+    /**
+     * Gets the 99th percentile of the time the method was running
+     *
+     * @return 99th percentile of the service time
+     */
+    public double getServiceTime99();
+
+    /**
+     * Gets the longest time the method was running
+     *
+     * @return maximum service time
+     */
+    public double getMaxServiceTime();
+
+    /**
+     * Gets the mean time the method waited on locks and conditions
+     *
+     * @return mean wait time
+     */
+    public double getMeanWaitTime();
+
+    /**
+     * Gets the 99th percentile of the time the method waited on locks and
+     * conditions
+     *
+     * @return 99th percentile of the wait time
+     */
+    public double getWaitTime99();
+
+    /**
+     * Gets the longest time the method waited on locks and conditions
+     *
+     * @return maximum wait time
+     */
+    public double getMaxWaitTime();
+}
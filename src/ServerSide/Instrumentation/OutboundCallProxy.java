@@ -0,0 +1,43 @@
+package ServerSide.Instrumentation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Proxy of the stub of a remote object a shared region calls, such as the
+ * general information repository of another server. The calling thread is
+ * marked as waiting while the call is out, and the time of the call is added
+ * to its wait time, as the region does nothing meanwhile.
+ */
+class OutboundCallProxy implements InvocationHandler {
+
+    private final Object stub;      // stub of the remote object called
+
+    /**
+     * Package constructor, the proxies are created by Instrumentation
+     *
+     * @param stub stub of the remote object called
+     */
+    OutboundCallProxy(Object stub) {
+        this.stub = stub;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(stub, args);
+        }
+
+        long start = System.nanoTime();
+
+        Instrumentation.startWait();
+        try {
+            return method.invoke(stub, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        } finally {
+            Instrumentation.endWait(System.nanoTime() - start);
+        }
+    }
+}
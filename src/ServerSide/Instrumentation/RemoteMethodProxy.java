@@ -0,0 +1,63 @@
+package ServerSide.Instrumentation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server side proxy of a shared region that measures every remote call made
+ * through it. The time each call waited on locks and conditions is told
+ * apart from the time it was running by the wait counter of the thread,
+ * which the instrumented locks and conditions add to.
+ */
+class RemoteMethodProxy implements InvocationHandler {
+
+    private final Object target;                                // region called
+    private final String region;                                // name of the region
+    private final Map<Method, MethodStatistics> byMethod;       // statistics of each method, once looked up
+
+    /**
+     * Package constructor, the proxies are created by Instrumentation
+     *
+     * @param target region called
+     * @param region name of the region
+     */
+    RemoteMethodProxy(Object target, String region) {
+        this.target = target;
+        this.region = region;
+
+        byMethod = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(target, args);
+        }
+
+        MethodStatistics statistics = byMethod.computeIfAbsent(method,
+                m -> Instrumentation.statistics(region, m.getName()));
+        boolean failed = false;
+
+        ThreadWaits waits = Instrumentation.waits();
+
+        statistics.enter(waits);
+
+        long waited = waits.getWaited();
+        long start = System.nanoTime();
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            failed = true;
+            throw ex.getCause();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long wait = Math.min(elapsed, waits.getWaited() - waited);
+
+            statistics.exit(waits, elapsed - wait, wait, failed);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ServerSide.Instrumentation;
+
+/**
+ * Waits of a thread on the locks, conditions and phasers of the regions: the
+ * time it has waited and whether it is waiting now. Only the thread itself
+ * counts its waits; the statistics of the method it is in read whether it is
+ * waiting, to tell the callers that are blocked.
+ */
+final class ThreadWaits {
+
+    private long waited;            // nanoseconds waited, read by the thread only
+    private volatile int waiting;   // waits going on, more than one if reported inside another
+
+    /**
+     * Marks the thread as waiting
+     */
+    void start() {
+        waiting++;
+    }
+
+    /**
+     * Marks the end of a wait of the thread
+     *
+     * @param nanos nanoseconds waited
+     */
+    void end(long nanos) {
+        waited += nanos;
+        waiting--;
+    }
+
+    /**
+     * Gets the time the thread has waited since it started
+     *
+     * @return nanoseconds waited
+     */
+    long getWaited() {
+        return waited;
+    }
+
+    /**
+     * Tells whether the thread is waiting, from any thread
+     *
+     * @return true if the thread is waiting
+     */
+    boolean isWaiting() {
+        return waiting > 0;
+    }
+}
@@ -0,0 +1,94 @@
+package ServerSide.Logging;
+
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log writer that publishes the entries into a ring buffer and leaves the
+ * printing to a dedicated writer thread, which flushes the log once per batch
+ * of entries instead of once per entry.
+ */
+public class AsyncLogWriter implements LogWriter {
+
+    private static final int BATCH_SIZE = 256;                          // maximum entries printed between flushes
+    private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos(1); // writer sleep when there is nothing to print
+
+    private final PrintWriter printer;
+    private final RingBuffer<LogEntry> buffer;  // entries waiting to be printed
+    private final Thread writer;                // thread printing the entries
+    private volatile boolean running;           // false after close was requested
+
+    /**
+     * Creates an asynchronous log writer and starts its writer thread
+     *
+     * @param printer to print the entries to
+     * @param capacity maximum number of entries waiting to be printed
+     */
+    public AsyncLogWriter(PrintWriter printer, int capacity) {
+        this.printer = printer;
+        this.buffer = new RingBuffer<>(capacity);
+        this.running = true;
+
+        writer = new Thread(this::drain, "GeneralInformationRepository-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void write(LogEntry entry) {
+        if (!running) {
+            return;
+        }
+
+        while (!buffer.offer(entry)) {
+            // the writer is behind, wait for it to release some slots
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writer);
+
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        printer.close();
+    }
+
+    /**
+     * Writer thread life cycle. Prints the entries in batches until the writer
+     * is closed and the buffer is drained.
+     */
+    private void drain() {
+        while (running || !buffer.isEmpty()) {
+            int printed = 0;
+            LogEntry entry;
+
+            while (printed < BATCH_SIZE && (entry = buffer.poll()) != null) {
+                entry.print(printer);
+                printed++;
+            }
+
+            if (printed > 0) {
+                printer.flush();
+            } else if (running) {
+                LockSupport.parkNanos(IDLE_PARK);
+            } else {
+                // an entry was claimed but not published yet
+                Thread.onSpinWait();
+            }
+        }
+
+        printer.flush();
+    }
+}
@@ -0,0 +1,137 @@
+package ServerSide.Logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+import Others.MatchConfig;
+
+/**
+ * Compact binary log of the game. Every change of the game status is stored
+ * as a fixed size record, so nothing has to be formatted while the game runs.
+ * The text log can be rebuilt later with the BinaryLogRenderer.
+ *
+ * File layout: a header (magic, version, record size, start time in
+ * milliseconds, roster size, pullers per team and a reserved int) followed
+ * by records with the layout
+ *
+ *   long  nanoseconds since the start of the log
+ *   byte  event kind ordinal
+ *   byte  team
+ *   byte  contestant id
+ *   byte  state id
+ *   int   strength
+ *   short trial number
+ *   short game number
+ *   short flag position
+ *   short reserved
+ *
+ * All values are little endian. The records are kept in a direct buffer and
+ * appended to a log store in batches. Instances are not thread safe, the
+ * general information repository only uses them while holding its lock.
+ */
+public class BinaryEventLog {
+
+    public static final int MAGIC = 0x45504f52;             // "ROPE"
+    public static final short VERSION = 2;                  // version of the file layout
+    public static final int HEADER_SIZE = 24;               // size of the file header in bytes
+    public static final int RECORD_SIZE = 24;               // size of each record in bytes
+
+    private static final int BUFFER_RECORDS = 2048;         // records kept in memory before being written
+
+    private final LogStore store;        // where the records are appended
+    private final ByteBuffer buffer;     // records not written yet
+    private final long startNanos;       // time reference of the records
+    private boolean closed;
+
+    /**
+     * Creates a binary event log written to a single file, replacing any
+     * existing file
+     *
+     * @param file path of the log file
+     * @param config configuration of the logged match
+     * @throws IOException if the file could not be created
+     */
+    public BinaryEventLog(Path file, MatchConfig config) throws IOException {
+        this(new FileChannelStore(file), config);
+    }
+
+    /**
+     * Creates a binary event log appended to a log store
+     *
+     * @param store where the records are appended
+     * @param config configuration of the logged match
+     */
+    public BinaryEventLog(LogStore store, MatchConfig config) {
+        this.store = store;
+
+        buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        startNanos = System.nanoTime();
+        closed = false;
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) RECORD_SIZE);
+        buffer.putLong(System.currentTimeMillis());
+        buffer.putShort((short) config.getRoster());
+        buffer.putShort((short) config.getPullers());
+        buffer.putInt(0);
+    }
+
+    /**
+     * Appends a record to the log
+     *
+     * @param kind of the event
+     * @param team of the entity, 0 if not applicable
+     * @param id of the contestant, 0 if not applicable
+     * @param state id of the entity state, 0 if not applicable
+     * @param strength of the contestant, 0 if not applicable
+     * @param trial current trial number
+     * @param game current game number
+     * @param flag current flag position
+     */
+    public void append(EventKind kind, int team, int id, int state, int strength,
+            int trial, int game, int flag) {
+        if (closed) {
+            return;
+        }
+
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush();
+        }
+
+        buffer.putLong(System.nanoTime() - startNanos);
+        buffer.put((byte) kind.ordinal());
+        buffer.put((byte) team);
+        buffer.put((byte) id);
+        buffer.put((byte) state);
+        buffer.putInt(strength);
+        buffer.putShort((short) trial);
+        buffer.putShort((short) game);
+        buffer.putShort((short) flag);
+        buffer.putShort((short) 0);
+    }
+
+    /**
+     * Appends the buffered records to the store
+     */
+    public void flush() {
+        buffer.flip();
+        store.append(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Appends every buffered record and closes the store
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        flush();
+        closed = true;
+        store.close();
+    }
+}
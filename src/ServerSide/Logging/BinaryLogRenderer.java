@@ -0,0 +1,258 @@
+package ServerSide.Logging;
+
+import static java.lang.System.out;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import Interfaces.InterfaceRefereeSite.GameScore;
+import Others.InterfaceCoach.CoachState;
+import Others.InterfaceContestant.ContestantState;
+import Others.InterfaceReferee.RefereeState;
+import Others.MatchConfig;
+
+/**
+ * Offline tool that replays a binary event log and prints the same text log
+ * the general information repository prints in text mode.
+ */
+public class BinaryLogRenderer {
+
+    // game status rebuilt from the records, sized when the header is read
+    private MatchConfig config;
+    private RefereeState refereeState;
+    private CoachState[] coachesState;
+    private ContestantState[][] contestantsState;
+    private int[][] contestantsStrength;
+    private List<List<Integer>> teamsPlacement;
+
+    private final PrintWriter printer;
+
+    /**
+     * Main method.
+     *
+     *        args[0] - binary event log to be read, either a file or the base
+     *                  name of the segments of a mapped log store
+     *        args[1] - text log to be written
+     *
+     * @param args runtime arguments
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            out.println("Wrong number of parameters!");
+            System.exit(1);
+        }
+
+        Path input = Paths.get(args[0]);
+        List<InputStream> files = new ArrayList<>();
+
+        try (PrintWriter printer = new PrintWriter(args[1])) {
+            if (Files.exists(input)) {
+                files.add(Files.newInputStream(input));
+            } else {
+                for (Path segment : MappedLogStore.segments(input)) {
+                    files.add(Files.newInputStream(segment));
+                }
+            }
+
+            try (ReadableByteChannel channel = Channels.newChannel(
+                    new SequenceInputStream(Collections.enumeration(files)))) {
+                new BinaryLogRenderer(printer).render(channel);
+            }
+        } catch (IOException e) {
+            out.println("Binary log rendering exception: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates a renderer
+     *
+     * @param printer to print the text log to
+     */
+    public BinaryLogRenderer(PrintWriter printer) {
+        this.printer = printer;
+    }
+
+    /**
+     * Reads every record of a binary event log and prints the text log
+     *
+     * @param channel to read the binary event log from
+     * @throws IOException if the log can not be read or is not a binary event log
+     */
+    public void render(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * BinaryEventLog.RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.limit(BinaryEventLog.HEADER_SIZE);
+        readFully(channel, buffer);
+        buffer.flip();
+
+        if (buffer.remaining() < BinaryEventLog.HEADER_SIZE
+                || buffer.getInt() != BinaryEventLog.MAGIC) {
+            throw new IOException("not a binary event log");
+        }
+
+        short version = buffer.getShort();
+
+        if (version != BinaryEventLog.VERSION
+                || buffer.getShort() != BinaryEventLog.RECORD_SIZE) {
+            throw new IOException("unsupported binary event log version " + version);
+        }
+
+        buffer.getLong();   // start time
+
+        MatchConfig sizes = MatchConfig.getDefault();
+        int roster = buffer.getShort();
+        int pullers = buffer.getShort();
+
+        try {
+            start(new MatchConfig(roster, pullers, sizes.getTrials(), sizes.getGames(), sizes.getKnockout()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("bad binary event log header: " + e.getMessage(), e);
+        }
+
+        buffer.clear();
+
+        while (channel.read(buffer) > 0) {
+            buffer.flip();
+
+            while (buffer.remaining() >= BinaryEventLog.RECORD_SIZE) {
+                replay(buffer);
+            }
+
+            buffer.compact();
+        }
+
+        printer.flush();
+    }
+
+    /**
+     * Creates an empty game status sized for a match
+     *
+     * @param config configuration of the logged match
+     */
+    private void start(MatchConfig config) {
+        this.config = config;
+
+        coachesState = new CoachState[2];
+        contestantsState = new ContestantState[2][config.getRoster()];
+        contestantsStrength = new int[2][config.getRoster()];
+        teamsPlacement = new ArrayList<>(2);
+
+        for (int i = 0; i < 2; i++) {
+            teamsPlacement.add(new LinkedList<>());
+        }
+    }
+
+    /**
+     * Reads from a channel until the buffer is full or the channel ends
+     *
+     * @param channel to read from
+     * @param buffer to read to
+     * @throws IOException if the channel can not be read
+     */
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+        }
+    }
+
+    /**
+     * Applies the next record of the buffer to the game status and prints what
+     * the record asks for
+     *
+     * @param buffer positioned at the start of a record
+     */
+    private void replay(ByteBuffer buffer) {
+        buffer.getLong();   // timestamp
+
+        EventKind kind = EventKind.getKind(buffer.get());
+        int team = buffer.get();
+        int id = buffer.get();
+        int state = buffer.get();
+        int strength = buffer.getInt();
+        int trial = buffer.getShort();
+        int game = buffer.getShort();
+        int flag = buffer.getShort();
+
+        buffer.getShort();  // reserved
+
+        switch (kind) {
+            case REFEREE:
+                refereeState = RefereeState.getStateById(state);
+                break;
+            case COACH:
+                coachesState[team - 1] = CoachState.getStateById(state);
+                break;
+            case CONTESTANT:
+                contestantsState[team - 1][id - 1] = ContestantState.getStateById(state);
+                contestantsStrength[team - 1][id - 1] = strength;
+                break;
+            case CONTESTANT_STRENGTH:
+                contestantsStrength[team - 1][id - 1] = strength;
+                break;
+            case SET_TEAM_PLACEMENT:
+                teamsPlacement.get(team - 1).add(id);
+                break;
+            case RESET_TEAM_PLACEMENT:
+                teamsPlacement.get(team - 1).remove((Integer) id);
+                break;
+            case GAME_NUMBER:
+            case TRIAL_NUMBER:
+            case FLAG_POSITION:
+                // the values travel in every record
+                break;
+            case HEADER:
+                LogEntries.header(snapshot(trial, flag), config).print(printer);
+                break;
+            case GAME_HEADER:
+                LogEntries.gameHeader(game, config).print(printer);
+                break;
+            case LINE_UPDATE:
+                snapshot(trial, flag).print(printer);
+                break;
+            case GAME_RESULT:
+                LogEntries.gameResult(GameScore.values()[state], game, trial).print(printer);
+                break;
+            case MATCH_WINNER:
+                LogEntries.matchWinner(team, id, state).print(printer);
+                break;
+            case MATCH_DRAW:
+                LogEntries.matchDraw().print(printer);
+                break;
+            case LEGEND:
+                LogEntries.legend(config).print(printer);
+                break;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the rebuilt game status
+     *
+     * @param trial current trial number
+     * @param flag current flag position
+     * @return snapshot of the game status
+     */
+    private StateSnapshot snapshot(int trial, int flag) {
+        int[][] placement = new int[2][];
+
+        for (int i = 0; i < 2; i++) {
+            placement[i] = teamsPlacement.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new StateSnapshot(refereeState, coachesState, contestantsState,
+                contestantsStrength, placement, config.getPullers(), trial, flag);
+    }
+}
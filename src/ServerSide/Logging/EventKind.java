@@ -0,0 +1,37 @@
+package ServerSide.Logging;
+
+/**
+ * Kinds of the records stored in the binary event log. The first kinds are
+ * changes of the game status, the remaining ones mark the points where the
+ * text log prints something.
+ */
+public enum EventKind {
+    REFEREE,                // referee changed state: state
+    COACH,                  // coach changed state: team, state
+    CONTESTANT,             // contestant changed state: team, id, state, strength
+    CONTESTANT_STRENGTH,    // contestant changed strength: team, id, strength
+    SET_TEAM_PLACEMENT,     // contestant went to the rope: team, id
+    RESET_TEAM_PLACEMENT,   // contestant left the rope: team, id
+    GAME_NUMBER,            // game number changed
+    TRIAL_NUMBER,           // trial number changed
+    FLAG_POSITION,          // flag position changed
+    HEADER,                 // log header printed
+    GAME_HEADER,            // game header printed
+    LINE_UPDATE,            // state line printed
+    GAME_RESULT,            // game result printed: state is the game score ordinal
+    MATCH_WINNER,           // match winner printed: team, id is the score of team 1, state the score of team 2
+    MATCH_DRAW,             // match draw printed
+    LEGEND;                 // legend printed
+
+    private static final EventKind[] KINDS = values();
+
+    /**
+     * Gets an event kind by its ordinal
+     *
+     * @param ordinal of the event kind
+     * @return event kind
+     */
+    public static EventKind getKind(int ordinal) {
+        return KINDS[ordinal];
+    }
+}
@@ -0,0 +1,49 @@
+package ServerSide.Logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Log store that writes the bytes to a single file through a file channel.
+ * Every append is a write system call.
+ */
+public class FileChannelStore implements LogStore {
+
+    private final FileChannel channel;  // channel of the log file
+
+    /**
+     * Creates a file store, replacing any existing file
+     *
+     * @param file path of the file
+     * @throws IOException if the file could not be created
+     */
+    public FileChannelStore(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Override
+    public void append(ByteBuffer source) {
+        try {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(FileChannelStore.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            Logger.getLogger(FileChannelStore.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package ServerSide.Logging;
+
+import java.io.PrintWriter;
+
+import Interfaces.InterfaceRefereeSite.GameScore;
+import Others.MatchConfig;
+
+/**
+ * Factory of the log entries printed by the general information repository.
+ * Every entry only captures immutable values, so it can be printed by any
+ * thread at any time after being created.
+ */
+public final class LogEntries {
+
+    /**
+     * Not instantiable
+     */
+    private LogEntries() {
+    }
+
+    /**
+     * Log header, followed by the initial state of the entities
+     *
+     * @param snapshot of the game status
+     * @param config configuration of the match
+     * @return log entry
+     */
+    public static LogEntry header(StateSnapshot snapshot, MatchConfig config) {
+        return printer -> {
+            printer.printf("Game of the Rope - Description of the internal state%n");
+            printer.printf("%n");
+            printColumnHeader(printer, config);
+            snapshot.printWithEmptyResult(printer);
+        };
+    }
+
+    /**
+     * Game header
+     *
+     * @param game number of the game
+     * @param config configuration of the match
+     * @return log entry
+     */
+    public static LogEntry gameHeader(int game, MatchConfig config) {
+        return printer -> {
+            printer.printf("Game %1d%n", game);
+            printColumnHeader(printer, config);
+        };
+    }
+
+    /**
+     * Game result
+     *
+     * @param score of the game
+     * @param game number of the game
+     * @param trials number of trials played in the game
+     * @return log entry
+     */
+    public static LogEntry gameResult(GameScore score, int game, int trials) {
+        return printer -> {
+            switch (score) {
+                case VICTORY_TEAM_1_BY_KNOCKOUT:
+                    printer.printf("Game %d was won by team %d by knock out in %d trials.%n", game, 1, trials);
+                    break;
+                case VICTORY_TEAM_1_BY_POINTS:
+                    printer.printf("Game %d was won by team %d by points.%n", game, 1);
+                    break;
+                case VICTORY_TEAM_2_BY_KNOCKOUT:
+                    printer.printf("Game %d was won by team %d by knock out in %d trials.%n", game, 2, trials);
+                    break;
+                case VICTORY_TEAM_2_BY_POINTS:
+                    printer.printf("Game %d was won by team %d by points.%n", game, 1);
+                    break;
+                case DRAW:
+                    printer.printf("Game %d was a draw.%n", game);
+                    break;
+            }
+        };
+    }
+
+    /**
+     * Match winner
+     *
+     * @param team that won
+     * @param score1 score team 1
+     * @param score2 score team 2
+     * @return log entry
+     */
+    public static LogEntry matchWinner(int team, int score1, int score2) {
+        return printer -> printer.printf("Match was won by team %d (%d-%d).%n", team, score1, score2);
+    }
+
+    /**
+     * Match draw
+     *
+     * @return log entry
+     */
+    public static LogEntry matchDraw() {
+        return printer -> printer.printf("Match was a draw.%n");
+    }
+
+    /**
+     * Log legend
+     *
+     * @param config configuration of the match
+     * @return log entry
+     */
+    public static LogEntry legend(MatchConfig config) {
+        return printer -> {
+            printer.printf("Legend:%n");
+            printer.printf("Ref Sta – state of the referee%n");
+            printer.printf("Coa # Stat - state of the coach of team # (# - 1 .. 2)%n");
+            printer.printf("Cont # Sta – state of the contestant # (# - 1 .. %d) of team whose coach was listed to the immediate left%n", config.getRoster());
+            printer.printf("Cont # SG – strength of the contestant # (# - 1 .. %d) of team whose coach was listed to the immediate left%n", config.getRoster());
+            printer.printf("TRIAL – ? – contestant identification at the position ? at the end of the rope for present trial (? - 1 .. %d)%n", config.getPullers());
+            printer.printf("TRIAL – NB – trial number%n");
+            printer.printf("TRIAL – PS – position of the centre of the rope at the beginning of the trial%n");
+        };
+    }
+
+    /**
+     * Prints game column header
+     *
+     * @param printer to print to
+     * @param config configuration of the match
+     */
+    private static void printColumnHeader(PrintWriter printer, MatchConfig config) {
+        printer.printf("Ref");
+
+        for (int team = 1; team <= 2; team++) {
+            printer.printf(" Coa %d", team);
+
+            for (int id = 1; id <= config.getRoster(); id++) {
+                printer.printf(" Cont %d", id);
+            }
+        }
+
+        printer.printf(" Trial%n");
+        printer.printf("Sta");
+
+        for (int team = 1; team <= 2; team++) {
+            printer.printf("  Stat");
+
+            for (int id = 1; id <= config.getRoster(); id++) {
+                printer.printf(" Sta SG");
+            }
+        }
+
+        for (int position = config.getPullers(); position >= 1; position--) {
+            printer.printf(" %d", position);
+        }
+
+        printer.printf(" .");
+
+        for (int position = 1; position <= config.getPullers(); position++) {
+            printer.printf(" %d", position);
+        }
+
+        printer.printf(" NB PS%n");
+    }
+}
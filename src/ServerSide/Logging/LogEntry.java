@@ -0,0 +1,18 @@
+package ServerSide.Logging;
+
+import java.io.PrintWriter;
+
+/**
+ * Immutable piece of the game log. Entries are created by the general
+ * information repository while holding its lock and are printed later by a
+ * log writer, possibly in another thread.
+ */
+public interface LogEntry {
+
+    /**
+     * Prints this entry
+     *
+     * @param printer to print the entry to
+     */
+    void print(PrintWriter printer);
+}
@@ -0,0 +1,21 @@
+package ServerSide.Logging;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Storage backend where the logs append their bytes
+ */
+public interface LogStore {
+
+    /**
+     * Appends every remaining byte of the buffer to the store
+     *
+     * @param source bytes to append
+     */
+    void append(ByteBuffer source);
+
+    /**
+     * Makes every appended byte durable and closes the store
+     */
+    void close();
+}
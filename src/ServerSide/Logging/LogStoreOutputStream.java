@@ -0,0 +1,37 @@
+package ServerSide.Logging;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Output stream that appends the written bytes to a log store, so the text
+ * log can be printed to any store
+ */
+public class LogStoreOutputStream extends OutputStream {
+
+    private final LogStore store;
+
+    /**
+     * Creates an output stream over a log store
+     *
+     * @param store to append the bytes to
+     */
+    public LogStoreOutputStream(LogStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void write(int b) {
+        store.append(ByteBuffer.wrap(new byte[]{(byte) b}));
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        store.append(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+}
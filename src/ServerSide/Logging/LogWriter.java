@@ -0,0 +1,20 @@
+package ServerSide.Logging;
+
+/**
+ * Interface that defines how the general information repository hands its
+ * log entries to the log file
+ */
+public interface LogWriter {
+
+    /**
+     * Writes an entry to the log
+     *
+     * @param entry to be written
+     */
+    void write(LogEntry entry);
+
+    /**
+     * Writes every pending entry and closes the log
+     */
+    void close();
+}
@@ -0,0 +1,233 @@
+package ServerSide.Logging;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Log store that appends the bytes to memory mapped segment files named
+ * base.0000, base.0001, ... Appending is a memory copy and a new segment is
+ * started when the current one is full. The mapped pages are forced to disk
+ * by a background thread once per force interval when something was
+ * appended, so a record is durable at most one interval after it was
+ * appended, even if the log goes idle. On close the last segment is unmapped
+ * and truncated to its used size.
+ *
+ * The methods are synchronized, as the background force shares the segment.
+ */
+public class MappedLogStore implements LogStore {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;   // 16 MiB
+
+    private static final ScheduledExecutorService FORCER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "MappedLogStore-force");
+
+        thread.setDaemon(true);
+
+        return thread;
+    });
+
+    private final Path base;                // base path of the segments
+    private final int segmentSize;          // size of each segment in bytes
+    private final ScheduledFuture<?> forcing;   // periodic force of the segment
+
+    private FileChannel channel;            // channel of the current segment
+    private MappedByteBuffer segment;       // mapping of the current segment
+    private int segmentIndex;               // number of the current segment
+    private boolean dirty;                  // true if appended to since the last force
+    private boolean closed;
+
+    /**
+     * Creates a mapped store, replacing any existing segments
+     *
+     * @param base path of the segments
+     * @param segmentSize size of each segment in bytes
+     * @param forceIntervalMillis milliseconds between forces to disk
+     * @throws IOException if the first segment could not be created
+     */
+    public MappedLogStore(Path base, int segmentSize, long forceIntervalMillis) throws IOException {
+        this.base = base;
+        this.segmentSize = segmentSize;
+
+        for (Path old : segments(base)) {
+            Files.delete(old);
+        }
+
+        segmentIndex = 0;
+        dirty = false;
+        closed = false;
+
+        openSegment(segmentIndex);
+
+        long interval = Math.max(1, forceIntervalMillis);
+
+        forcing = FORCER.scheduleWithFixedDelay(this::force, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the path of a segment
+     *
+     * @param base path of the segments
+     * @param index number of the segment
+     * @return path of the segment
+     */
+    public static Path segmentPath(Path base, int index) {
+        return Paths.get(String.format("%s.%04d", base, index));
+    }
+
+    /**
+     * Gets the existing segments of a store, in order
+     *
+     * @param base path of the segments
+     * @return paths of the existing segments
+     */
+    public static List<Path> segments(Path base) {
+        List<Path> result = new ArrayList<>();
+
+        for (int i = 0; Files.exists(segmentPath(base, i)); i++) {
+            result.add(segmentPath(base, i));
+        }
+
+        return result;
+    }
+
+    @Override
+    public synchronized void append(ByteBuffer source) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            while (source.hasRemaining()) {
+                if (!segment.hasRemaining()) {
+                    roll();
+                }
+
+                int length = Math.min(source.remaining(), segment.remaining());
+                ByteBuffer part = source.duplicate();
+
+                part.limit(part.position() + length);
+                segment.put(part);
+                source.position(source.position() + length);
+                dirty = true;
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(MappedLogStore.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        forcing.cancel(false);
+        segment.force();
+
+        int used = segment.position();
+
+        // the mapping must be gone before the file shrinks, some platforms refuse to truncate a mapped file
+        unmap(segment);
+        segment = null;
+
+        try {
+            channel.truncate(used);
+            channel.close();
+        } catch (IOException ex) {
+            Logger.getLogger(MappedLogStore.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    /**
+     * Forces the current segment to disk if something was appended since the
+     * last force. Run periodically by the background thread.
+     */
+    private synchronized void force() {
+        if (closed || !dirty) {
+            return;
+        }
+
+        segment.force();
+        dirty = false;
+    }
+
+    /**
+     * Starts the next segment and then forces the full one to disk and
+     * releases it. If the next segment can not be created the full one is
+     * kept as the current segment, so the store stays usable and the next
+     * append tries again.
+     *
+     * @throws IOException if the next segment could not be created
+     */
+    private void roll() throws IOException {
+        FileChannel fullChannel = channel;
+        MappedByteBuffer full = segment;
+
+        openSegment(segmentIndex + 1);
+        segmentIndex++;
+
+        full.force();
+        unmap(full);
+        fullChannel.close();
+    }
+
+    /**
+     * Creates and maps a segment and makes it the current one. The current
+     * segment is left as it was if this fails.
+     *
+     * @param index number of the segment
+     * @throws IOException if the segment could not be created
+     */
+    private void openSegment(int index) throws IOException {
+        FileChannel next = FileChannel.open(segmentPath(base, index), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        try {
+            segment = next.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException ex) {
+            next.close();
+            throw ex;
+        }
+
+        channel = next;
+    }
+
+    /**
+     * Releases a mapping at once instead of when it is collected. The buffer
+     * must not be used afterwards. Nothing is done if the platform does not
+     * allow it; the mapping is then released by the collector.
+     *
+     * @param buffer mapping to be released
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+
+            theUnsafe.setAccessible(true);
+
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            Logger.getLogger(MappedLogStore.class.getName()).log(Level.FINE, "Mapping left to the collector", ex);
+        }
+    }
+}
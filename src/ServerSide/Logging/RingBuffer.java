@@ -0,0 +1,110 @@
+package ServerSide.Logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer with many producers and a single consumer.
+ *
+ * Every slot has a sequence number: a producer claims a position by moving the
+ * tail and publishes the element by advancing the slot sequence, the consumer
+ * only reads a slot after seeing its sequence published.
+ *
+ * @param <E> type of the stored elements
+ */
+public class RingBuffer<E> {
+
+    private final Object[] elements;            // stored elements
+    private final AtomicLongArray sequences;    // publishing sequence of each slot
+    private final int mask;                     // capacity - 1, used to index the slots
+    private final AtomicLong tail;              // next position to be claimed by a producer
+    private long head;                          // next position to be read by the consumer
+
+    /**
+     * Creates a ring buffer
+     *
+     * @param capacity of the buffer, rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+
+        elements = new Object[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+        tail = new AtomicLong(0);
+        head = 0;
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Inserts an element if there is free space. Safe to be called by any
+     * number of threads.
+     *
+     * @param element to insert
+     * @return true if inserted, false if the buffer is full
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element. Must only be called by the consumer thread.
+     *
+     * @return oldest element or null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        int index = (int) head & mask;
+
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        E element = (E) elements[index];
+
+        elements[index] = null;
+        sequences.lazySet(index, head + elements.length);
+        head++;
+
+        return element;
+    }
+
+    /**
+     * Checks if there are no published elements left
+     *
+     * @return true if the buffer is empty
+     */
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    /**
+     * Gets the number of slots of the buffer
+     *
+     * @return capacity of the buffer
+     */
+    public int capacity() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,122 @@
+package ServerSide.Logging;
+
+import java.io.PrintWriter;
+
+import Others.InterfaceCoach.CoachState;
+import Others.InterfaceContestant.ContestantState;
+import Others.InterfaceReferee.RefereeState;
+
+/**
+ * Immutable copy of the game status kept by the general information
+ * repository. Printing it produces a state line of the log.
+ */
+public class StateSnapshot implements LogEntry {
+
+    private final RefereeState refereeState;            // referee state
+    private final CoachState[] coachesState;            // state of the coach of each team
+    private final ContestantState[][] contestantsState; // state of each contestant of each team
+    private final int[][] contestantsStrength;          // strength of each contestant of each team
+    private final int[][] teamsPlacement;               // contestants at the rope of each team
+    private final int pullers;                          // positions at the rope of each team
+    private final int trialNumber;                      // current trial number
+    private final int flagPosition;                     // current flag position
+
+    /**
+     * Creates a snapshot. The arrays are copied so the snapshot never changes
+     * after being created.
+     *
+     * @param refereeState referee state
+     * @param coachesState state of the coach of each team
+     * @param contestantsState state of each contestant of each team
+     * @param contestantsStrength strength of each contestant of each team
+     * @param teamsPlacement contestants at the rope of each team
+     * @param pullers positions at the rope of each team
+     * @param trialNumber current trial number
+     * @param flagPosition current flag position
+     */
+    public StateSnapshot(RefereeState refereeState, CoachState[] coachesState,
+            ContestantState[][] contestantsState, int[][] contestantsStrength,
+            int[][] teamsPlacement, int pullers, int trialNumber, int flagPosition) {
+        this.refereeState = refereeState;
+        this.coachesState = coachesState.clone();
+        this.contestantsState = new ContestantState[contestantsState.length][];
+        this.contestantsStrength = new int[contestantsStrength.length][];
+        this.teamsPlacement = new int[teamsPlacement.length][];
+
+        for (int i = 0; i < contestantsState.length; i++) {
+            this.contestantsState[i] = contestantsState[i].clone();
+            this.contestantsStrength[i] = contestantsStrength[i].clone();
+            this.teamsPlacement[i] = teamsPlacement[i].clone();
+        }
+
+        this.pullers = pullers;
+        this.trialNumber = trialNumber;
+        this.flagPosition = flagPosition;
+    }
+
+    @Override
+    public void print(PrintWriter printer) {
+        printActiveEntitiesStates(printer);
+        printTrialResult(printer);
+    }
+
+    /**
+     * Prints the state of the entities followed by an empty trial result
+     *
+     * @param printer to print to
+     */
+    public void printWithEmptyResult(PrintWriter printer) {
+        printActiveEntitiesStates(printer);
+
+        for (int i = 0; i < 2 * pullers + 1; i++) {
+            printer.printf(i == pullers ? " ." : " -");
+        }
+
+        printer.printf(" -- --%n");
+    }
+
+    /**
+     * Prints active entities states
+     *
+     * @param printer to print to
+     */
+    private void printActiveEntitiesStates(PrintWriter printer) {
+        printer.printf("%3s", refereeState);
+
+        // Printing teams state
+        for (int i = 0; i < coachesState.length; i++) {
+            printer.printf("  %4s", coachesState[i]);
+
+            for (int j = 0; j < contestantsState[i].length; j++) {
+                printer.printf(" %3s %2d", contestantsState[i][j], contestantsStrength[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Prints trial result
+     *
+     * @param printer to print to
+     */
+    private void printTrialResult(PrintWriter printer) {
+        for (int i = 0; i < pullers; i++) {
+            if (i >= teamsPlacement[0].length) {
+                printer.printf(" -");
+            } else {
+                printer.printf(" %1d", teamsPlacement[0][i]);
+            }
+        }
+
+        printer.printf(" .");
+
+        for (int i = 0; i < pullers; i++) {
+            if (i >= teamsPlacement[1].length) {
+                printer.printf(" -");
+            } else {
+                printer.printf(" %1d", teamsPlacement[1][i]);
+            }
+        }
+
+        printer.printf(" %2d %2d%n", trialNumber, flagPosition);
+    }
+}
@@ -0,0 +1,32 @@
+package ServerSide.Logging;
+
+import java.io.PrintWriter;
+
+/**
+ * Log writer that prints and flushes every entry in the caller thread
+ */
+public class SyncLogWriter implements LogWriter {
+
+    private final PrintWriter printer;
+
+    /**
+     * Creates a synchronous log writer
+     *
+     * @param printer to print the entries to
+     */
+    public SyncLogWriter(PrintWriter printer) {
+        this.printer = printer;
+    }
+
+    @Override
+    public void write(LogEntry entry) {
+        entry.print(printer);
+        printer.flush();
+    }
+
+    @Override
+    public void close() {
+        printer.flush();
+        printer.close();
+    }
+}
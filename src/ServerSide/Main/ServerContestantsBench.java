@@ -4,7 +4,6 @@ import static java.lang.System.out;
 
 import java.rmi.AlreadyBoundException;
 import java.rmi.NotBoundException;
-import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
@@ -12,12 +11,17 @@ import java.rmi.server.UnicastRemoteObject;
 
 import Interfaces.InterfaceContestantsBench;
 import Interfaces.InterfaceGeneralInformationRepository;
-import Interfaces.InterfaceRefereeSite;
+import Interfaces.InterfaceMatchTable;
 import Interfaces.Register;
+import Others.MatchConfig;
+import ServerSide.Instrumentation.Instrumentation;
 import ServerSide.Objects.ContestantsBench;
+import ServerSide.Objects.MatchTable;
 
 /**
- *    Instantiation and registering of a contestants bench object.
+ *    Instantiation and registering of the contestants bench objects, one for
+ *    each match hosted by the server. The bench of the first match is also
+ *    registered under its own name.
  *
  *    Implementation of a client-server model of type 2 (server replication).
  *    Communication is based on Java RMI.
@@ -30,8 +34,12 @@ import ServerSide.Objects.ContestantsBench;
     *        args[0] - port number for listening to service requests
     *        args[1] - name of the platform where is located the RMI registering service
     *        args[2] - port number where the registering service is listening to service requests
+    *
+    *    The remote methods are instrumented, see Instrumentation; with
+    *    -Dropegame.stats.interval=s their statistics are printed every s seconds.
     */
 
+    @SuppressWarnings("unchecked")
     public static void main (String[] args) {
 
         int portNumb = -1;                                             // port number for listening to service requests
@@ -79,12 +87,10 @@ import ServerSide.Objects.ContestantsBench;
         //    System.setSecurityManager (new SecurityManager ());
         out.println("Security manager was installed!");
 
-        /* get a remote reference to the general repository and referee site objects */
+        /* get a remote reference to the table of the general repositories */
 
-        String nameEntryGeneralRepos = "GeneralRepository";
-        String nameEntryRefereeSite = "RefereeSite";
-        InterfaceGeneralInformationRepository girStub = null;
-        InterfaceRefereeSite refSiteStub = null;
+        String nameEntryGeneralRepos = "GeneralRepository" + InterfaceMatchTable.SUFFIX;
+        InterfaceMatchTable<InterfaceGeneralInformationRepository> girTable = null;
         Registry registry = null;
 
         try
@@ -100,8 +106,7 @@ import ServerSide.Objects.ContestantsBench;
         out.println("RMI registry was created!");
 
         try { 
-            registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
-            girStub = (InterfaceGeneralInformationRepository) registry.lookup (nameEntryGeneralRepos);
+            girTable = (InterfaceMatchTable<InterfaceGeneralInformationRepository>) registry.lookup (nameEntryGeneralRepos);
         } catch (RemoteException e) { 
             System.out.println("GeneralRepos lookup exception: " + e.getMessage () + "!");
             e.printStackTrace();
@@ -112,54 +117,54 @@ import ServerSide.Objects.ContestantsBench;
             System.exit(1);
         }
 
-        try { 
-            registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
-            refSiteStub = (InterfaceRefereeSite) registry.lookup(nameEntryRefereeSite);
-        } catch (RemoteException e) { 
-            System.out.println("Referee site lookup exception: " + e.getMessage () + "!");
+        /* get the match configuration from the general registry service */
+
+        String nameEntryBase = "RegisterHandler";
+        Register reg = null;
+        MatchConfig config = null;
+
+        try {
+            reg = (Register) registry.lookup(nameEntryBase);
+        } catch (RemoteException e) {
+            System.out.println("RegisterRemoteObject lookup exception: " + e.getMessage());
             e.printStackTrace();
-            System.exit (1);
-        } catch (NotBoundException e) { 
-            System.out.println("Referee site not bound exception: " + e.getMessage () + "!");
+            System.exit(1);
+        } catch (NotBoundException e) {
+            System.out.println("RegisterRemoteObject not bound exception: " + e.getMessage());
             e.printStackTrace();
             System.exit(1);
         }
 
-        /* instantiate a contestants bench object */
-
-        ContestantsBench bench = null;
-        InterfaceContestantsBench benchStub = null;
-        
-        bench = new ContestantsBench(refSiteStub, girStub);
-        
         try {
-            benchStub = (InterfaceContestantsBench) UnicastRemoteObject.exportObject((Remote) bench, portNumb);
+            config = reg.getMatchConfig();
         } catch (RemoteException e) {
-            System.out.println("Contestants bench stub generation exception: " + e.getMessage());
+            System.out.println("Match configuration exception: " + e.getMessage());
             e.printStackTrace();
             System.exit(1);
         }
-        System.out.println("Contestants bench stub was generated!");
 
-        /* register it with the general registry service */
+        /* instantiate the table of the contestants benches, one for each match */
 
-        String nameEntryBase = "RegisterHandler";
-        String nameEntryObject = "ContestantsBench";
-        Register reg = null;
+        MatchTable<InterfaceContestantsBench> benchTable = createTable(girTable, config, portNumb);
+        InterfaceMatchTable<InterfaceContestantsBench> benchTableStub = null;
+        InterfaceContestantsBench benchStub = null;
 
         try {
-            reg = (Register) registry.lookup(nameEntryBase);
+            benchTableStub = (InterfaceMatchTable<InterfaceContestantsBench>) UnicastRemoteObject.exportObject(benchTable, portNumb);
+            benchStub = benchTable.getMatch(0);
         } catch (RemoteException e) {
-            System.out.println("RegisterRemoteObject lookup exception: " + e.getMessage());
-            e.printStackTrace();
-            System.exit(1);
-        } catch (NotBoundException e) {
-            System.out.println("RegisterRemoteObject not bound exception: " + e.getMessage());
+            System.out.println("Contestants bench stub generation exception: " + e.getMessage());
             e.printStackTrace();
             System.exit(1);
         }
+        System.out.println("Contestants bench stub was generated!");
+
+        /* register the table, and the first match under the name of the region, with the general registry service */
+
+        String nameEntryObject = "ContestantsBench";
 
         try {
+            reg.bind(nameEntryObject + InterfaceMatchTable.SUFFIX, benchTableStub);
             reg.bind(nameEntryObject, benchStub);
         } catch (RemoteException e) {
             System.out.println("Contestants bench registration exception: " + e.getMessage());
@@ -172,5 +177,31 @@ import ServerSide.Objects.ContestantsBench;
         }
 
         out.println("Contestants bench object was registered!");
+
+        /* print the statistics of the remote methods, if asked for */
+
+        Instrumentation.startDump();
+    }
+
+    /**
+     * Creates the table of the contestants benches. The bench of a match uses
+     * the general repository of the same match, and its calls to the
+     * repository are measured as waits.
+     *
+     * @param girTable table of the general repositories
+     * @param config configuration of the matches
+     * @param portNumb port number for listening to service requests
+     * @return table of the contestants benches
+     */
+    private static MatchTable<InterfaceContestantsBench> createTable(
+            InterfaceMatchTable<InterfaceGeneralInformationRepository> girTable, MatchConfig config,
+            int portNumb) {
+        return new MatchTable<>(match -> {
+            InterfaceGeneralInformationRepository gir = Instrumentation.outbound(
+                    InterfaceGeneralInformationRepository.class, girTable.getMatch(match));
+
+            return Instrumentation.instrument(InterfaceContestantsBench.class, new ContestantsBench(gir, config),
+                    "ContestantsBench");
+        }, portNumb);
     }
- }
\ No newline at end of file
+ }
@@ -2,6 +2,9 @@ package ServerSide.Main;
 
 import static java.lang.System.out;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Paths;
 import java.rmi.AlreadyBoundException;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
@@ -10,11 +13,23 @@ import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 
 import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.InterfaceMatchTable;
 import Interfaces.Register;
+import Others.MatchConfig;
+import ServerSide.Instrumentation.Instrumentation;
+import ServerSide.Logging.AsyncLogWriter;
+import ServerSide.Logging.BinaryEventLog;
+import ServerSide.Logging.LogStoreOutputStream;
+import ServerSide.Logging.LogWriter;
+import ServerSide.Logging.MappedLogStore;
+import ServerSide.Logging.SyncLogWriter;
 import ServerSide.Objects.GeneralInformationRepository;
+import ServerSide.Objects.MatchTable;
 
 /**
- *    Instantiation and registering of the general information repository object.
+ *    Instantiation and registering of the general information repository
+ *    objects, one for each match hosted by the server. The repository of the
+ *    first match is also registered under its own name.
  *
  *    Implementation of a client-server model of type 2 (server replication).
  *    Communication is based on Java RMI.
@@ -27,15 +42,21 @@ public class ServerGeneralInformationRepository {
     *        args[0] - port number for listening to service requests
     *        args[1] - name of the platform where is located the RMI registering service
     *        args[2] - port number where the registering service is listening to service requests
+    *        args[3] - (optional) logging mode: sync (default), async or binary
+    *        args[4] - (optional) log storage: file (default) or mapped
+    *        args[5] - (optional) milliseconds between forces to disk of the mapped storage (default 1000)
+    *
+    *    The remote methods are instrumented, see Instrumentation; with
+    *    -Dropegame.stats.interval=s their statistics are printed every s seconds.
     */
-
+    @SuppressWarnings("unchecked")
     public static void main (String[] args) {
 
         int portNumb = -1;                                             // port number for listening to service requests
         String rmiRegHostName;                                         // name of the platform where is located the RMI registering service
         int rmiRegPortNumb = -1;                                       // port number where the registering service is listening to service requests
 
-        if (args.length != 3)
+        if ((args.length < 3) || (args.length > 6))
         { 
             out.println("Wrong number of parameters!"); 
             System.exit (1);
@@ -76,26 +97,9 @@ public class ServerGeneralInformationRepository {
         //    System.setSecurityManager (new SecurityManager ());
         out.println("Security manager was installed!");
 
-        /* instantiate a general repository object */
-        GeneralInformationRepository gir = new GeneralInformationRepository();
-        InterfaceGeneralInformationRepository girStub = null;
-
-        try
-        { 
-            girStub = (InterfaceGeneralInformationRepository) UnicastRemoteObject.exportObject(gir, portNumb);
-        }
-        catch (RemoteException e)
-        { 
-            out.println("General Repository stub generation exception: " + e.getMessage ());
-            e.printStackTrace ();
-            System.exit (1);
-        }
-        out.println("General Repository Stub was generated!");
-
-        /* register it with the general registry service */
+        /* get the match configuration from the general registry service */
 
         String nameEntryBase = "RegisterHandler";
-        String nameEntryObject = "GeneralRepository";
         Registry registry = null;
         Register reg = null;
 
@@ -117,7 +121,73 @@ public class ServerGeneralInformationRepository {
             System.exit(1);
         }
 
+        MatchConfig config = null;
+
         try {
+            config = reg.getMatchConfig();
+        } catch (RemoteException e) {
+            System.out.println("Match configuration exception: " + e.getMessage());
+            System.exit(1);
+        }
+
+        /* check the log parameters */
+
+        String logMode = (args.length > 3) ? args[3] : "sync";
+        String logStorage = (args.length > 4) ? args[4] : "file";
+        long forceInterval = 1000;
+
+        if (args.length > 5)
+        { 
+            try
+            { 
+                forceInterval = Long.parseLong (args[5]);
+            }
+            catch (NumberFormatException e)
+            { 
+                out.println("args[5] is not a number!");
+                System.exit (1);
+            }
+        }
+
+        if (!logMode.equals("sync") && !logMode.equals("async") && !logMode.equals("binary"))
+        { 
+            out.println("args[3] is not a valid logging mode!");
+            System.exit (1);
+        }
+
+        if (!logStorage.equals("file") && !logStorage.equals("mapped"))
+        { 
+            out.println("args[4] is not a valid log storage!");
+            System.exit (1);
+        }
+
+        /* instantiate the table of the general repositories, one for each match */
+
+        MatchTable<InterfaceGeneralInformationRepository> girTable = createTable(logMode, logStorage, forceInterval,
+                config, portNumb);
+        InterfaceMatchTable<InterfaceGeneralInformationRepository> girTableStub = null;
+        InterfaceGeneralInformationRepository girStub = null;
+
+        try
+        { 
+            girTableStub = (InterfaceMatchTable<InterfaceGeneralInformationRepository>) UnicastRemoteObject.exportObject(girTable, portNumb);
+            girStub = girTable.getMatch(0);
+        }
+        catch (RemoteException e)
+        { 
+            out.println("General Repository stub generation exception: " + e.getMessage ());
+            e.printStackTrace ();
+            System.exit (1);
+        }
+        out.println("Log writer was created (" + logMode + ", " + logStorage + ")!");
+        out.println("General Repository Stub was generated!");
+
+        /* register the table, and the first match under the name of the region, with the general registry service */
+
+        String nameEntryObject = "GeneralRepository";
+
+        try {
+            reg.bind(nameEntryObject + InterfaceMatchTable.SUFFIX, girTableStub);
             reg.bind(nameEntryObject, girStub);
         } catch (RemoteException e) {
             System.out.println("General Repository registration exception: " + e.getMessage());
@@ -128,5 +198,90 @@ public class ServerGeneralInformationRepository {
         }
 
         System.out.println("General Repository object was registered!");
+
+        /* print the statistics of the remote methods, if asked for */
+
+        Instrumentation.startDump();
+    }
+
+    /**
+     * Creates the table of the general repositories. Each match logs to its
+     * own files; the first match keeps the gameResults names.
+     *
+     * @param logMode sync, async or binary
+     * @param logStorage file or mapped
+     * @param forceInterval milliseconds between forces to disk of the mapped storage
+     * @param config configuration of the matches
+     * @param portNumb port number for listening to service requests
+     * @return table of the general repositories
+     */
+    private static MatchTable<InterfaceGeneralInformationRepository> createTable(String logMode, String logStorage,
+            long forceInterval, MatchConfig config, int portNumb) {
+        return new MatchTable<>(match -> {
+            GeneralInformationRepository gir;
+
+            try {
+                gir = createRepository(match, logMode, logStorage, forceInterval, config);
+            } catch (IOException e) {
+                throw new RemoteException("Log file creation exception for match " + match, e);
+            }
+
+            return Instrumentation.instrument(InterfaceGeneralInformationRepository.class, gir, "GeneralRepository");
+        }, portNumb);
+    }
+
+    /**
+     * Creates the general repository of a match with its logs
+     *
+     * @param match id of the match
+     * @param logMode sync, async, binary or none
+     * @param logStorage file or mapped
+     * @param forceInterval milliseconds between forces to disk of the mapped storage
+     * @param config configuration of the match
+     * @return general repository of the match
+     * @throws IOException if the logs could not be created
+     */
+    static GeneralInformationRepository createRepository(int match, String logMode, String logStorage,
+            long forceInterval, MatchConfig config) throws IOException {
+        String baseName = (match == 0) ? "gameResults" : "gameResults_" + match;
+        LogWriter logWriter = null;
+        BinaryEventLog eventLog = null;
+
+        switch (logMode) {
+            case "sync":
+                logWriter = new SyncLogWriter(openText(baseName + ".log", logStorage, forceInterval));
+                break;
+            case "async":
+                logWriter = new AsyncLogWriter(openText(baseName + ".log", logStorage, forceInterval), 4096);
+                break;
+            case "binary":
+                eventLog = logStorage.equals("mapped")
+                        ? new BinaryEventLog(new MappedLogStore(Paths.get(baseName + ".bin"),
+                                MappedLogStore.DEFAULT_SEGMENT_SIZE, forceInterval), config)
+                        : new BinaryEventLog(Paths.get(baseName + ".bin"), config);
+                break;
+            default:
+                break;
+        }
+
+        return new GeneralInformationRepository(logWriter, eventLog, config);
+    }
+
+    /**
+     * Opens the printer of the text log
+     *
+     * @param fileName name of the log file, or base name of its segments
+     * @param storage file or mapped
+     * @param forceInterval milliseconds between forces to disk of the mapped storage
+     * @return printer of the text log
+     * @throws IOException if the log could not be created
+     */
+    private static PrintWriter openText(String fileName, String storage, long forceInterval) throws IOException {
+        if (storage.equals("mapped")) {
+            return new PrintWriter(new LogStoreOutputStream(new MappedLogStore(Paths.get(fileName),
+                    MappedLogStore.DEFAULT_SEGMENT_SIZE, forceInterval)));
+        }
+
+        return new PrintWriter(fileName);
     }
 }
@@ -0,0 +1,162 @@
+package ServerSide.Main;
+
+import static java.lang.System.out;
+
+import java.io.IOException;
+import java.rmi.RemoteException;
+
+import Communication.NioServer;
+import Interfaces.InterfaceContestantsBench;
+import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.InterfacePlayground;
+import Interfaces.InterfaceRefereeSite;
+import Others.MatchConfig;
+import Others.PullDurationModel;
+import ServerSide.Dispatchers.ContestantsBenchDispatcher;
+import ServerSide.Dispatchers.GeneralInformationRepositoryDispatcher;
+import ServerSide.Dispatchers.MatchDispatcher;
+import ServerSide.Dispatchers.PlaygroundDispatcher;
+import ServerSide.Dispatchers.RefereeSiteDispatcher;
+import ServerSide.Objects.ContestantsBench;
+import ServerSide.Objects.MatchTable;
+import ServerSide.Objects.Playground;
+import ServerSide.Objects.RefereeSite;
+
+/**
+ *    Instantiation of the four shared regions of every match behind a single
+ *    message server.
+ *
+ *    The regions of a match are created the first time one of its messages
+ *    arrives. Communication is based on the Message protocol over non
+ *    blocking socket channels, as an alternative to Java RMI.
+ */
+public class ServerNio {
+
+    /**
+    *  Main method.
+    *
+    *        args[0] - port number for listening to service requests
+    *        args[1] - (optional) logging mode: sync (default), async, binary or none
+    *        args[2] - (optional) pull mode: random (default) or throughput, for pulls that take no time
+    *        args[3..] - (optional) match parameters as name=value: roster, pullers, trials,
+    *                    games and knockout
+    */
+    public static void main (String[] args) {
+
+        int portNumb = -1;                                             // port number for listening to service requests
+
+        if (args.length < 1)
+        { 
+            out.println("Wrong number of parameters!"); 
+            System.exit (1);
+        }
+        try
+        { 
+            portNumb = Integer.parseInt (args[0]);
+        }
+        catch (NumberFormatException e)
+        { 
+            out.println("args[0] is not a number!");
+            System.exit (1);
+        }
+        if ((portNumb < 4000) || (portNumb >= 65536))
+           { 
+                out.println("args[0] is not a valid port number!");
+                System.exit (1);
+           }
+
+        String logMode = (args.length > 1) ? args[1] : "sync";
+        String pullMode = (args.length > 2) ? args[2] : "random";
+
+        if (!logMode.equals("sync") && !logMode.equals("async") && !logMode.equals("binary") && !logMode.equals("none"))
+        { 
+            out.println("args[1] is not a valid logging mode!");
+            System.exit (1);
+        }
+        if (!pullMode.equals("random") && !pullMode.equals("throughput"))
+        {
+            out.println("args[2] is not a valid pull mode!");
+            System.exit (1);
+        }
+
+        MatchConfig config = null;                                     // configuration of the matches
+        try
+        {
+            config = MatchConfig.parse (args, 3);
+        }
+        catch (IllegalArgumentException e)
+        {
+            out.println("Invalid match parameters: " + e.getMessage ());
+            System.exit (1);
+        }
+        out.println("Match configuration: " + config);
+
+        /* instantiate the tables of the shared regions, wired by match */
+
+        PullDurationModel pullDuration = pullMode.equals("throughput")
+                ? PullDurationModel.none() : PullDurationModel.random(1, 3);
+        MatchDispatcher dispatcher = createDispatcher(logMode, pullDuration, config);
+
+        /* start the message server */
+
+        NioServer server = null;
+
+        try
+        { 
+            server = new NioServer(portNumb, dispatcher);
+        }
+        catch (IOException e)
+        { 
+            out.println("Message server creation exception: " + e.getMessage ());
+            System.exit (1);
+        }
+        out.println("Message server is listening on port " + portNumb + "!");
+
+        server.run();
+    }
+
+    /**
+     * Creates the tables of the shared regions and their dispatcher. The
+     * regions of a match use the general repository of the same match.
+     *
+     * @param logMode sync, async, binary or none
+     * @param pullDuration time each pull takes
+     * @param config configuration of the matches
+     * @return dispatcher of the messages to the regions
+     */
+    private static MatchDispatcher createDispatcher(String logMode, PullDurationModel pullDuration,
+            MatchConfig config) {
+        MatchTable<InterfaceGeneralInformationRepository> girTable = createRepositories(logMode, config);
+        MatchTable<InterfaceRefereeSite> refereeSiteTable = new MatchTable<>(match ->
+                new RefereeSite(girTable.getMatch(match), config, match));
+        MatchTable<InterfaceContestantsBench> benchTable = new MatchTable<>(match ->
+                new ContestantsBench(girTable.getMatch(match), config));
+        MatchTable<InterfacePlayground> playgroundTable = new MatchTable<>(match ->
+                new Playground(girTable.getMatch(match), pullDuration, config, match));
+
+        return new MatchDispatcher(config,
+                new ContestantsBenchDispatcher(benchTable),
+                new PlaygroundDispatcher(playgroundTable),
+                new RefereeSiteDispatcher(refereeSiteTable),
+                new GeneralInformationRepositoryDispatcher(girTable));
+    }
+
+    /**
+     * Creates the table of the general repositories, each match logging to
+     * its own files
+     *
+     * @param logMode sync, async, binary or none
+     * @param config configuration of the matches
+     * @return table of the general repositories
+     */
+    private static MatchTable<InterfaceGeneralInformationRepository> createRepositories(String logMode,
+            MatchConfig config) {
+        return new MatchTable<>(match -> {
+            try {
+                return ServerGeneralInformationRepository.createRepository(match, logMode, "file", 0, config);
+            } catch (IOException e) {
+                throw new RemoteException("Log file creation exception for match " + match, e);
+            }
+        });
+    }
+}
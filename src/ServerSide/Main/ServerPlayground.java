@@ -10,12 +10,19 @@ import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 
 import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.InterfaceMatchTable;
 import Interfaces.InterfacePlayground;
 import Interfaces.Register;
+import Others.MatchConfig;
+import Others.PullDurationModel;
+import ServerSide.Instrumentation.Instrumentation;
+import ServerSide.Objects.MatchTable;
 import ServerSide.Objects.Playground;
 
 /**
- *    Instantiation and registering of the playground object.
+ *    Instantiation and registering of the playground objects, one for each
+ *    match hosted by the server. The playground of the first match is also
+ *    registered under its own name.
  *
  *    Implementation of a client-server model of type 2 (server replication).
  *    Communication is based on Java RMI.
@@ -28,14 +35,19 @@ public class ServerPlayground {
     *        args[0] - port number for listening to service requests
     *        args[1] - name of the platform where is located the RMI registering service
     *        args[2] - port number where the registering service is listening to service requests
+    *        args[3] - optional, "throughput" for pulls that take no time
+    *
+    *    The remote methods are instrumented, see Instrumentation; with
+    *    -Dropegame.stats.interval=s their statistics are printed every s seconds.
     */
+    @SuppressWarnings("unchecked")
     public static void main (String[] args) {
 
         int portNumb = -1;                                             // port number for listening to service requests
         String rmiRegHostName;                                         // name of the platform where is located the RMI registering service
         int rmiRegPortNumb = -1;                                       // port number where the registering service is listening to service requests
 
-        if (args.length != 3)
+        if ((args.length != 3) && (args.length != 4))
         { 
             out.println("Wrong number of parameters!"); 
             System.exit (1);
@@ -69,6 +81,16 @@ public class ServerPlayground {
                 out.println("args[2] is not a valid port number!");
                 System.exit (1);
            }
+        PullDurationModel pullDuration = PullDurationModel.random(1, 3);   // time each pull takes
+        if (args.length == 4)
+        {
+            if (!args[3].equals("throughput"))
+            {
+                out.println("args[3] is not a valid pull mode!");
+                System.exit (1);
+            }
+            pullDuration = PullDurationModel.none();
+        }
 
         /* create and install the security manager */
 
@@ -76,10 +98,10 @@ public class ServerPlayground {
         //    System.setSecurityManager (new SecurityManager ());
         out.println("Security manager was installed!");
 
-        /* get a remote reference to the general repository object */
+        /* get a remote reference to the table of the general repositories */
         
-        String nameEntryGeneralRepos = "GeneralRepository";
-        InterfaceGeneralInformationRepository girStub = null;
+        String nameEntryGeneralRepos = "GeneralRepository" + InterfaceMatchTable.SUFFIX;
+        InterfaceMatchTable<InterfaceGeneralInformationRepository> girTable = null;
         Registry registry = null;
 
         try
@@ -95,8 +117,7 @@ public class ServerPlayground {
         out.println("RMI registry was created!");
 
         try {
-            registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
-            girStub = (InterfaceGeneralInformationRepository) registry.lookup(nameEntryGeneralRepos);
+            girTable = (InterfaceMatchTable<InterfaceGeneralInformationRepository>) registry.lookup(nameEntryGeneralRepos);
         } catch (RemoteException e) {
             System.out.println("Excepção na localização do General Information Repository: " + e.getMessage() + "!");
             e.printStackTrace();
@@ -107,27 +128,11 @@ public class ServerPlayground {
             System.exit(1);
         }
 
-        /* instantiate a playground object */
-
-        Playground playground = null;
-        InterfacePlayground playgroundStub = null;
-
-        playground = new Playground(girStub);
-        
-        try {
-            playgroundStub = (InterfacePlayground) UnicastRemoteObject.exportObject(playground, portNumb);
-        } catch (RemoteException e) {
-            System.out.println("Playground stub generation exception: " + e.getMessage());
-            e.printStackTrace();
-            System.exit(1);
-        }
-        System.out.println("Playground stub was generated!");
-
-        /* register it with the general registry service */
+        /* get the match configuration from the general registry service */
 
         String nameEntryBase = "RegisterHandler";
-        String nameEntryObject = "Playground";
         Register reg = null;
+        MatchConfig config = null;
 
         try {
             reg = (Register) registry.lookup(nameEntryBase);
@@ -142,6 +147,35 @@ public class ServerPlayground {
         }
 
         try {
+            config = reg.getMatchConfig();
+        } catch (RemoteException e) {
+            System.out.println("Match configuration exception: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+
+        /* instantiate the table of the playgrounds, one for each match */
+
+        MatchTable<InterfacePlayground> playgroundTable = createTable(girTable, pullDuration, config, portNumb);
+        InterfaceMatchTable<InterfacePlayground> playgroundTableStub = null;
+        InterfacePlayground playgroundStub = null;
+
+        try {
+            playgroundTableStub = (InterfaceMatchTable<InterfacePlayground>) UnicastRemoteObject.exportObject(playgroundTable, portNumb);
+            playgroundStub = playgroundTable.getMatch(0);
+        } catch (RemoteException e) {
+            System.out.println("Playground stub generation exception: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+        System.out.println("Playground stub was generated!");
+
+        /* register the table, and the first match under the name of the region, with the general registry service */
+
+        String nameEntryObject = "Playground";
+
+        try {
+            reg.bind(nameEntryObject + InterfaceMatchTable.SUFFIX, playgroundTableStub);
             reg.bind(nameEntryObject, playgroundStub);
         } catch (RemoteException e) {
             System.out.println("Playground registration exception: " + e.getMessage());
@@ -154,5 +188,32 @@ public class ServerPlayground {
         }
 
         out.println("Playground object was registered!");
+
+        /* print the statistics of the remote methods, if asked for */
+
+        Instrumentation.startDump();
+    }
+
+    /**
+     * Creates the table of the playgrounds. The playground of a match uses the
+     * general repository of the same match, and its calls to the repository
+     * are measured as waits.
+     *
+     * @param girTable table of the general repositories
+     * @param pullDuration time each pull takes
+     * @param config configuration of the matches
+     * @param portNumb port number for listening to service requests
+     * @return table of the playgrounds
+     */
+    private static MatchTable<InterfacePlayground> createTable(
+            InterfaceMatchTable<InterfaceGeneralInformationRepository> girTable, PullDurationModel pullDuration,
+            MatchConfig config, int portNumb) {
+        return new MatchTable<>(match -> {
+            InterfaceGeneralInformationRepository gir = Instrumentation.outbound(
+                    InterfaceGeneralInformationRepository.class, girTable.getMatch(match));
+
+            return Instrumentation.instrument(InterfacePlayground.class,
+                    new Playground(gir, pullDuration, config, match), "Playground");
+        }, portNumb);
     }
 }
@@ -10,13 +10,19 @@ import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 
 import Interfaces.InterfaceGeneralInformationRepository;
+import Interfaces.InterfaceMatchTable;
 import Interfaces.InterfacePlayground;
 import Interfaces.InterfaceRefereeSite;
 import Interfaces.Register;
+import Others.MatchConfig;
+import ServerSide.Instrumentation.Instrumentation;
+import ServerSide.Objects.MatchTable;
 import ServerSide.Objects.RefereeSite;
 
 /**
- *    Instantiation and registering of the referee site object.
+ *    Instantiation and registering of the referee site objects, one for each
+ *    match hosted by the server. The referee site of the first match is also
+ *    registered under its own name.
  *
  *    Implementation of a client-server model of type 2 (server replication).
  *    Communication is based on Java RMI.
@@ -29,7 +35,11 @@ public class ServerRefereeSite {
     *        args[0] - port number for listening to service requests
     *        args[1] - name of the platform where is located the RMI registering service
     *        args[2] - port number where the registering service is listening to service requests
+    *
+    *    The remote methods are instrumented, see Instrumentation; with
+    *    -Dropegame.stats.interval=s their statistics are printed every s seconds.
     */
+    @SuppressWarnings("unchecked")
     public static void main (String[] args) {
         
         int portNumb = -1;                                             // port number for listening to service requests
@@ -77,10 +87,10 @@ public class ServerRefereeSite {
         //    System.setSecurityManager (new SecurityManager ());
         out.println("Security manager was installed!");
 
-        /* get a remote reference to the general repository object */
+        /* get a remote reference to the table of the general repositories */
 
-        String nameEntryGeneralRepos = "GeneralRepository";
-        InterfaceGeneralInformationRepository girStub = null;
+        String nameEntryGeneralRepos = "GeneralRepository" + InterfaceMatchTable.SUFFIX;
+        InterfaceMatchTable<InterfaceGeneralInformationRepository> girTable = null;
         Registry registry = null;
 
         try
@@ -96,8 +106,7 @@ public class ServerRefereeSite {
         out.println("RMI registry was created!");
 
         try {
-            registry = LocateRegistry.getRegistry(rmiRegHostName, rmiRegPortNumb);
-            girStub = (InterfaceGeneralInformationRepository) registry.lookup(nameEntryGeneralRepos);
+            girTable = (InterfaceMatchTable<InterfaceGeneralInformationRepository>) registry.lookup(nameEntryGeneralRepos);
         } catch (RemoteException e) {
             System.out.println("Excepção na localização do General Information Repository: " + e.getMessage() + "!");
             e.printStackTrace();
@@ -108,24 +117,11 @@ public class ServerRefereeSite {
             System.exit(1);
         }
 
-        /* instantiate a referee site object */
-        RefereeSite refereesite = RefereeSite.getInstance(girStub);
-        InterfaceRefereeSite refereesiteStub = null;
-
-        try {
-            refereesiteStub = (InterfaceRefereeSite) UnicastRemoteObject.exportObject(refereesite, portNumb);
-        } catch (RemoteException e) {
-            System.out.println("Referee site stub generation exception: " + e.getMessage());
-            e.printStackTrace();
-            System.exit(1);
-        }
-        System.out.println("Referee site stub was generated!");
-
-        /* register it with the general registry service */
+        /* get the match configuration from the general registry service */
 
         String nameEntryBase = "RegisterHandler";
-        String nameEntryObject = "RefereeSite";
         Register reg = null;
+        MatchConfig config = null;
 
         try {
             reg = (Register) registry.lookup(nameEntryBase);
@@ -140,6 +136,35 @@ public class ServerRefereeSite {
         }
 
         try {
+            config = reg.getMatchConfig();
+        } catch (RemoteException e) {
+            System.out.println("Match configuration exception: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+
+        /* instantiate the table of the referee sites, one for each match */
+
+        MatchTable<InterfaceRefereeSite> refereesiteTable = createTable(girTable, config, portNumb);
+        InterfaceMatchTable<InterfaceRefereeSite> refereesiteTableStub = null;
+        InterfaceRefereeSite refereesiteStub = null;
+
+        try {
+            refereesiteTableStub = (InterfaceMatchTable<InterfaceRefereeSite>) UnicastRemoteObject.exportObject(refereesiteTable, portNumb);
+            refereesiteStub = refereesiteTable.getMatch(0);
+        } catch (RemoteException e) {
+            System.out.println("Referee site stub generation exception: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+        System.out.println("Referee site stub was generated!");
+
+        /* register the table, and the first match under the name of the region, with the general registry service */
+
+        String nameEntryObject = "RefereeSite";
+
+        try {
+            reg.bind(nameEntryObject + InterfaceMatchTable.SUFFIX, refereesiteTableStub);
             reg.bind(nameEntryObject, refereesiteStub);
         } catch (RemoteException e) {
             System.out.println("Referee site registration exception: " + e.getMessage());
@@ -153,5 +178,30 @@ public class ServerRefereeSite {
 
         out.println("Referee site object was registered!");
 
+        /* print the statistics of the remote methods, if asked for */
+
+        Instrumentation.startDump();
+
+    }
+
+    /**
+     * Creates the table of the referee sites. The referee site of a match uses
+     * the general repository of the same match, and its calls to the
+     * repository are measured as waits.
+     *
+     * @param girTable table of the general repositories
+     * @param config configuration of the matches
+     * @param portNumb port number for listening to service requests
+     * @return table of the referee sites
+     */
+    private static MatchTable<InterfaceRefereeSite> createTable(
+            InterfaceMatchTable<InterfaceGeneralInformationRepository> girTable, MatchConfig config, int portNumb) {
+        return new MatchTable<>(match -> {
+            InterfaceGeneralInformationRepository gir = Instrumentation.outbound(
+                    InterfaceGeneralInformationRepository.class, girTable.getMatch(match));
+
+            return Instrumentation.instrument(InterfaceRefereeSite.class, new RefereeSite(gir, config, match),
+                    "RefereeSite");
+        }, portNumb);
     }
 }
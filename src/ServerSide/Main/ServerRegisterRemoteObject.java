@@ -1,6 +1,7 @@
 package ServerSide.Main;
 
 import Interfaces.Register;
+import Others.MatchConfig;
 import ServerSide.Objects.RegisterRemoteObject;
 import static java.lang.System.out;
 import java.rmi.RemoteException;
@@ -23,6 +24,8 @@ public class ServerRegisterRemoteObject {
    *        args[0] - port number for listening to service requests
    *        args[1] - name of the platform where is located the RMI registering service
    *        args[2] - port nunber where the registering service is listening to service requests
+   *        args[3..] - optional match parameters as name=value: roster, pullers, trials,
+   *                    games and knockout
    */
    public static void main(String[] args) {
 
@@ -30,7 +33,7 @@ public class ServerRegisterRemoteObject {
         String rmiRegHostName;                                         // name of the platform where is located the RMI registering service
         int rmiRegPortNumb = -1;                                       // port number where the registering service is listening to service requests
 
-        if (args.length != 3)
+        if (args.length < 3)
            { 
                 out.println("Wrong number of parameters!");
                 System.exit (1);
@@ -64,6 +67,17 @@ public class ServerRegisterRemoteObject {
                 out.println("args[2] is not a valid port number!");
                 System.exit (1);
            }
+        MatchConfig config = null;                                     // configuration of the match
+        try
+        {
+            config = MatchConfig.parse (args, 3);
+        }
+        catch (IllegalArgumentException e)
+        {
+            out.println("Invalid match parameters: " + e.getMessage ());
+            System.exit (1);
+        }
+        out.println("Match configuration: " + config);
 
         /* create and install the security manager */
 
@@ -74,7 +88,7 @@ public class ServerRegisterRemoteObject {
 
         /* instantiate a registration remote object and generate a stub for it */
 
-        RegisterRemoteObject regEngine = new RegisterRemoteObject (rmiRegHostName, rmiRegPortNumb);  // object that enables the registration
+        RegisterRemoteObject regEngine = new RegisterRemoteObject (rmiRegHostName, rmiRegPortNumb, config);  // object that enables the registration
                                                                                                      // of other remote objects
         Register regEngineStub = null;                                                               // remote reference to it
 
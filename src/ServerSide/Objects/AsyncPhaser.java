@@ -0,0 +1,95 @@
+package ServerSide.Objects;
+
+import ServerSide.Instrumentation.Instrumentation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Phaser;
+
+/**
+ * Phaser that can also be waited on through futures. A future asked for a
+ * phase is completed, with the number of the next phase, when that phase
+ * advances; at once if it has already advanced. The time a thread waits for
+ * a phase to advance is added to its wait time in the instrumentation.
+ */
+class AsyncPhaser extends Phaser {
+
+    private final Map<Integer, CompletableFuture<Integer>> waiting;   // futures of the phases not yet advanced
+    private int advanced;                                             // last phase advanced, -1 for none
+
+    /**
+     * Package-private constructor
+     *
+     * @param parties number of parties that arrive at each phase
+     */
+    AsyncPhaser(int parties) {
+        super(parties);
+
+        waiting = new HashMap<>();
+        advanced = -1;
+    }
+
+    /**
+     * Gets a future of the advance of a phase
+     *
+     * @param phase to be waited for
+     * @return future completed with the next phase when the phase advances
+     */
+    CompletableFuture<Integer> whenAdvanced(int phase) {
+        synchronized (waiting) {
+            if (phase <= advanced) {
+                return CompletableFuture.completedFuture(phase + 1);
+            }
+
+            return waiting.computeIfAbsent(phase, p -> new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Waits for a phase to advance, adding the time waited to the wait time
+     * of the thread
+     *
+     * @param phase to be waited for
+     * @return next phase
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Override
+    public int awaitAdvanceInterruptibly(int phase) throws InterruptedException {
+        if (!Instrumentation.ENABLED || (getPhase() != phase)) {
+            return super.awaitAdvanceInterruptibly(phase);
+        }
+
+        long start = System.nanoTime();
+
+        Instrumentation.startWait();
+        try {
+            return super.awaitAdvanceInterruptibly(phase);
+        } finally {
+            Instrumentation.endWait(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Completes the futures of the phase advancing. Subclasses overriding it
+     * are to call it.
+     *
+     * @param phase advancing
+     * @param registeredParties number of parties registered
+     * @return false, the phaser never terminates
+     */
+    @Override
+    protected boolean onAdvance(int phase, int registeredParties) {
+        CompletableFuture<Integer> advancing;
+
+        synchronized (waiting) {
+            advanced = phase;
+            advancing = waiting.remove(phase);
+        }
+
+        if (advancing != null) {
+            advancing.complete(phase + 1);
+        }
+
+        return false;
+    }
+}
@@ -1,145 +1,188 @@
 package ServerSide.Objects;
 
 import Interfaces.InterfaceContestantsBench;
+import Interfaces.InterfaceContestantsBenchAsync;
 import Interfaces.InterfaceGeneralInformationRepository;
-import Interfaces.InterfaceRefereeSite;
-import Others.Triple;
+import Others.MatchConfig;
 import Others.Tuple;
+import Others.UpdateBatch;
 import Others.InterfaceCoach.CoachState;
 import Others.InterfaceContestant.ContestantState;
+import ServerSide.Instrumentation.InstrumentedLock;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * This is an passive class that describes the contestants bench for each team
+ *
+ * Each condition the synchronous callers wait on has a wait list beside it
+ * for the asynchronous callers, released wherever the condition is signalled.
  */
-public class ContestantsBench implements InterfaceContestantsBench {
+public class ContestantsBench implements InterfaceContestantsBench, InterfaceContestantsBenchAsync {
 
     // conditions for waiting
-    private final Lock lock;
+    private final InstrumentedLock[] lock;      // one lock per team, teams never block each other
     private final Condition[] allPlayersSeated;
-    private final Condition[] playersSelected;
+    private final Condition[][] contestantSelected; // one per contestant, signalled when selected
     private final Condition[] waitForNextTrial;
     private final Condition[] waitForCoach;
 
-    // structure that contains the players in the bench
-    private final List<Triple<Integer, ContestantState, Integer>>[] bench;
+    // asynchronous callers waiting, beside the conditions above
+    private final WaitList[] seated;
+    private final WaitList[][] selected;
+    private final WaitList[] nextTrial;
+    private final WaitList[] coachReady;
 
-    // selected contestants to play the trial
-    private final List<Integer>[] selectedContestants;
+    // players in the bench of each team, indexed by contestant id - 1
+    private final long[] present;               // bit of each contestant seated at the bench
+    private final int[][] benchState;           // state ordinal of each contestant
+    private final int[][] benchStrength;        // strength of each contestant
 
-    private boolean[] coachWaiting; // sets if the coach is waiting
-    private static int shutdownVotes; // counts if everyone's ready to shutdown
+    // selected contestants to play the trial, bit id - 1 of each one
+    private final long[] selectedContestants;
+
+    private final int[] selectionGeneration;    // number of selections made by each coach
+    private final boolean[] matchEnded;         // set when the team is interrupted at the end of the match
 
-    // referee site implementation to be used
-    private final InterfaceRefereeSite refereeSite;
+    private boolean[] coachWaiting; // sets if the coach is waiting
+    private final boolean[] coachCalled;        // set when the waiting coach is called for the next trial
+    private final AtomicInteger shutdownVotes; // counts if everyone's ready to shutdown
 
     // general Information repository implementation to be used
     private final InterfaceGeneralInformationRepository informationRepository;
 
+    // configuration of the match
+    private final MatchConfig config;
+
 
     /**
      * Public constructor to be used in the doubleton
      * 
-     * @param refSiteInt
      * @param girInt
      */
-    public ContestantsBench(InterfaceRefereeSite refSiteStub, InterfaceGeneralInformationRepository girStub) {
-        lock = new ReentrantLock();
+    public ContestantsBench(InterfaceGeneralInformationRepository girStub) {
+        this(girStub, MatchConfig.getDefault());
+    }
+
+    /**
+     * Public constructor with a given match configuration
+     *
+     * @param girStub
+     * @param config configuration of the match
+     */
+    public ContestantsBench(InterfaceGeneralInformationRepository girStub, MatchConfig config) {
+        this.config = config;
+
+        lock = new InstrumentedLock[2];
         
         allPlayersSeated = new Condition[2];
-        playersSelected = new Condition[2];
+        contestantSelected = new Condition[2][config.getRoster()];
         waitForNextTrial = new Condition[2];
         waitForCoach = new Condition[2];
         coachWaiting = new boolean[2];
+        coachCalled = new boolean[2];
+        seated = new WaitList[2];
+        selected = new WaitList[2][config.getRoster()];
+        nextTrial = new WaitList[2];
+        coachReady = new WaitList[2];
+        selectionGeneration = new int[2];
+        matchEnded = new boolean[2];
         
-        bench = new List[2];
-        selectedContestants = new List[2];
+        present = new long[2];
+        benchState = new int[2][config.getRoster()];
+        benchStrength = new int[2][config.getRoster()];
+        selectedContestants = new long[2];
         
         for(int i = 0; i < 2; i++) {
-            allPlayersSeated[i] = lock.newCondition();
-            playersSelected[i] = lock.newCondition();
-            waitForNextTrial[i] = lock.newCondition();
-            waitForCoach[i] = lock.newCondition();
+            lock[i] = new InstrumentedLock("ContestantsBench");
+            allPlayersSeated[i] = lock[i].newCondition("allPlayersSeated");
+            for (int j = 0; j < config.getRoster(); j++) {
+                contestantSelected[i][j] = lock[i].newCondition("contestantSelected");
+            }
+            waitForNextTrial[i] = lock[i].newCondition("waitForNextTrial");
+            waitForCoach[i] = lock[i].newCondition("waitForCoach");
+            seated[i] = new WaitList();
+            for (int j = 0; j < config.getRoster(); j++) {
+                selected[i][j] = new WaitList();
+            }
+            nextTrial[i] = new WaitList();
+            coachReady[i] = new WaitList();
             coachWaiting[i] = false;
-            
-            bench[i] = new ArrayList<>();
-            selectedContestants[i] = new ArrayList<>();
+            selectedContestants[i] = 0;
         }
         
-        refereeSite = refSiteStub;
         informationRepository = girStub;
         
-        shutdownVotes = 0;
+        shutdownVotes = new AtomicInteger(0);
 
     }
 
     @Override
     public Tuple<Integer, Integer> addContestant(int id, int team, int state, int strength) throws RemoteException{
 
-        lock.lock();
-
-        bench[team-1].add(new Triple<>(id, ContestantState.SEAT_AT_THE_BENCH, strength));
-
-        if (ContestantState.getStateById(state) != ContestantState.SEAT_AT_THE_BENCH) {
-            informationRepository.updateContestant(id, team, state, strength);
-            informationRepository.printLineUpdate();
-        }
+        int generation = sitDown(id, team, state, strength);
 
-        if (allPlayersAreSeated(team)) {
-            allPlayersSeated[team-1].signalAll();
-        }
+        lock[team-1].lock();
 
         try {
-            do {
-                playersSelected[team-1].await();
-            } while (!playerIsSelected(id, team) && !refereeSite.isMatchEnded());
+            while (!isCalled(id, team, generation)) {
+                contestantSelected[team-1][id-1].await();
+            }
         } catch (InterruptedException ex) {
             Logger.getLogger(ContestantsBench.class.getName()).log(Level.SEVERE, null, ex);
-            lock.unlock();
+            lock[team-1].unlock();
             return null;
         }
 
-        Tuple<Integer, Integer> tmp = null;
+        Tuple<Integer, Integer> tmp = benchEntry(id, team);
 
-        for (Triple<Integer, ContestantState, Integer> ct : bench[team-1]){
-            if(ct.getFirst() == id)
-                tmp = new Tuple<>(ct.getSecond().getId(), ct.getThird());
-        }
-
-        lock.unlock();
+        lock[team-1].unlock();
 
         return tmp;
     }
 
     @Override
-    public void getContestant(int id, int team) throws RemoteException{
+    public CompletableFuture<Tuple<Integer, Integer>> addContestantAsync(int id, int team, int state, int strength)
+            throws RemoteException {
+
+        int generation = sitDown(id, team, state, strength);
+        CompletableFuture<Void> called;
+
+        lock[team-1].lock();
 
-        lock.lock();
+        called = isCalled(id, team, generation) ? CompletableFuture.completedFuture(null) : selected[team-1][id-1].add();
 
-        Iterator<Triple<Integer, ContestantState, Integer>> it = bench[team-1].iterator();
+        lock[team-1].unlock();
 
-        while (it.hasNext()) {
-            Triple<Integer, ContestantState, Integer> temp = it.next();
+        return called.thenApply(ready -> {
+            lock[team-1].lock();
 
-            if (temp.getFirst() == id) {
-                it.remove();
-                break;
+            try {
+                return benchEntry(id, team);
+            } finally {
+                lock[team-1].unlock();
             }
-        }
+        });
+    }
+
+    @Override
+    public void getContestant(int id, int team) throws RemoteException{
 
-        lock.unlock();
+        lock[team-1].lock();
+
+        present[team-1] &= ~(1L << (id-1));
+
+        lock[team-1].unlock();
     }
 
     @Override
@@ -147,7 +190,7 @@ public class ContestantsBench implements InterfaceContestantsBench {
 
         Set<Tuple<Integer, Integer>> temp;
 
-        lock.lock();
+        lock[team-1].lock();
 
         try {
             while (!allPlayersAreSeated(team)) {
@@ -155,43 +198,89 @@ public class ContestantsBench implements InterfaceContestantsBench {
             }
         } catch (InterruptedException ex) {
             Logger.getLogger(ContestantsBench.class.getName()).log(Level.SEVERE, null, ex);
-            lock.unlock();
+            lock[team-1].unlock();
             return null;
         }
 
-        temp = new HashSet<>();
-
-        for (Triple<Integer, ContestantState, Integer> contestant : bench[team-1])
-            temp.add(new Tuple<>(contestant.getFirst(), contestant.getThird()));
+        temp = seatedContestants(team);
 
-        lock.unlock();
+        lock[team-1].unlock();
 
         return temp;
     }
 
+    @Override
+    public CompletableFuture<Set<Tuple<Integer, Integer>>> getBenchAsync(int team) throws RemoteException {
+        return whenSeated(team).thenApply(ready -> {
+            lock[team-1].lock();
+
+            try {
+                return seatedContestants(team);
+            } finally {
+                lock[team-1].unlock();
+            }
+        });
+    }
+
     @Override
     public void setSelectedContestants(int team, Set<Integer> selected) throws RemoteException{
+        long mask = 0;
+
+        for (int id : selected) {
+            mask |= 1L << (id-1);
+        }
+
+        setSelectedMask(team, mask);
+    }
+
+    @Override
+    public void setSelectedMask(int team, long selected) throws RemoteException{
+
+        List<CompletableFuture<Void>> called = new ArrayList<>();
 
-        lock.lock();
+        lock[team-1].lock();
 
-        selectedContestants[team-1].clear();
-        selectedContestants[team-1].addAll(selected);
+        selectedContestants[team-1] = selected;
+        selectionGeneration[team-1]++;
 
-        playersSelected[team-1].signalAll();
+        // wake up only the selected contestants
+        for (long mask = selected; mask != 0; mask &= mask - 1) {
+            int contestant = Long.numberOfTrailingZeros(mask);
 
-        lock.unlock();
+            contestantSelected[team-1][contestant].signal();
+            called.addAll(this.selected[team-1][contestant].takeAll());
+        }
+
+        lock[team-1].unlock();
+
+        WaitList.release(called);
     }
 
     @Override
     public Set<Integer> getSelectedContestants(int team) throws RemoteException{
 
-        Set<Integer> selected;
+        Set<Integer> selected = new TreeSet<>();
+        long mask = getSelectedMask(team);
+
+        for (int id = 1; mask != 0; id++, mask >>>= 1) {
+            if ((mask & 1) != 0) {
+                selected.add(id);
+            }
+        }
+
+        return selected;
+    }
+
+    @Override
+    public long getSelectedMask(int team) throws RemoteException{
+
+        long selected;
 
-        lock.lock();
+        lock[team-1].lock();
 
-        selected = new TreeSet<>(selectedContestants[team-1]);
+        selected = selectedContestants[team-1];
 
-        lock.unlock();
+        lock[team-1].unlock();
 
         return selected;
     }
@@ -199,7 +288,7 @@ public class ContestantsBench implements InterfaceContestantsBench {
     @Override
     public void pickYourTeam(int team) throws RemoteException{
 
-        lock.lock();
+        lock[team-1].lock();
 
         try {
             while (!coachWaiting[team-1]) {
@@ -209,100 +298,111 @@ public class ContestantsBench implements InterfaceContestantsBench {
             Logger.getLogger(ContestantsBench.class.getName()).log(Level.SEVERE, null, ex);
         }
 
-        waitForNextTrial[team-1].signal();
+        lock[team-1].unlock();
 
-        lock.unlock();
+        callCoach(team);
     }
 
     @Override
-    public int waitForNextTrial(int team, int status) throws RemoteException{
+    public CompletableFuture<Void> pickYourTeamAsync(int team) throws RemoteException {
+        return whenCoachWaiting(team).thenRun(() -> callCoach(team));
+    }
 
-        lock.lock();
+    @Override
+    public int waitForNextTrial(int team, int status) throws RemoteException{
 
-        informationRepository.updateCoach(team, status);
-        informationRepository.printLineUpdate();
+        coachWaits(team, status);
 
-        coachWaiting[team-1] = true;
-        waitForCoach[team-1].signal();
+        lock[team-1].lock();
 
         try {
-            waitForNextTrial[team-1].await();
+            while (!coachCalled[team-1] && !matchEnded[team-1]) {
+                waitForNextTrial[team-1].await();
+            }
         } catch (InterruptedException ex) {
             Logger.getLogger(ContestantsBench.class.getName()).log(Level.SEVERE, null, ex);
         }
 
         coachWaiting[team-1] = false;
 
-        lock.unlock();
+        lock[team-1].unlock();
 
         return CoachState.WAIT_FOR_REFEREE_COMMAND.getId();
     }
 
     @Override
-    public void updateContestantStrength(int id, int team, int delta) throws RemoteException{
+    public CompletableFuture<Integer> waitForNextTrialAsync(int team, int status) throws RemoteException {
+        CompletableFuture<Void> called;
 
-        lock.lock();
+        coachWaits(team, status);
 
-        Triple<Integer, ContestantState, Integer> sub = null;
-        Iterator<Triple<Integer, ContestantState, Integer>> it = bench[team-1].iterator();
+        lock[team-1].lock();
 
-        while (it.hasNext()) {
-            Triple<Integer, ContestantState, Integer> temp = it.next();
+        called = (coachCalled[team-1] || matchEnded[team-1]) ? CompletableFuture.completedFuture(null)
+                : nextTrial[team-1].add();
 
-            if (temp.getFirst() == id) {
-                it.remove();
-                sub = new Triple<>(id, temp.getSecond(), temp.getThird() + delta);
-                informationRepository.updateContestantStrength(team, id, temp.getThird() + delta);
-                informationRepository.printLineUpdate();
-                bench[team-1].add(sub);
-                break;
-            }
-        }
+        lock[team-1].unlock();
+
+        return called.thenApply(ready -> {
+            lock[team-1].lock();
 
-        lock.unlock();
+            coachWaiting[team-1] = false;
+
+            lock[team-1].unlock();
+
+            return CoachState.WAIT_FOR_REFEREE_COMMAND.getId();
+        });
     }
 
     @Override
-    public void interrupt(int team) throws RemoteException{
+    public void updateContestantStrength(int id, int team, int delta) throws RemoteException{
 
-        lock.lock();
-
-        while (!allPlayersAreSeated(team)) {
-            try {
-                allPlayersSeated[team-1].await();
-            } catch (InterruptedException ex) {
-                lock.unlock();
-                return;
-            }
+        lock[team-1].lock();
 
+        if (isSeated(id, team)) {
+            benchStrength[team-1][id-1] += delta;
+            informationRepository.applyUpdates(new UpdateBatch()
+                    .updateContestantStrength(team, id, benchStrength[team-1][id-1])
+                    .printLineUpdate());
         }
 
-        playersSelected[team-1].signalAll();
+        lock[team-1].unlock();
+    }
 
-        while (!coachWaiting[team-1]) {
-            try {
-                waitForCoach[team-1].await();
-            } catch (InterruptedException ex) {
-                lock.unlock();
-                return;
-            }
+    @Override
+    public void interrupt(int team) throws RemoteException{
+
+        List<CompletableFuture<Void>> released = new ArrayList<>();
+
+        lock[team-1].lock();
+
+        // contestants and coach check the flag before waiting, so there is no
+        // need to wait for them to be at the bench
+        matchEnded[team-1] = true;
 
+        for (int i = 0; i < config.getRoster(); i++) {
+            contestantSelected[team-1][i].signal();
+            released.addAll(selected[team-1][i].takeAll());
         }
+
         waitForNextTrial[team-1].signal();
+        released.addAll(nextTrial[team-1].takeAll());
+
+        lock[team-1].unlock();
 
-        lock.unlock();
+        WaitList.release(released);
     }
 
     @Override
     public void waitForEveryoneToStart(int team) throws RemoteException{
 
-        lock.lock();
+        lock[team-1].lock();
 
         while (!allPlayersAreSeated(team)) {
             try {
                 allPlayersSeated[team-1].await();
             } catch (InterruptedException ex) {
-                lock.unlock();
+                lock[team-1].unlock();
             }
 
         }
@@ -311,50 +411,217 @@ public class ContestantsBench implements InterfaceContestantsBench {
             try {
                 waitForCoach[team-1].await();
             } catch (InterruptedException ex) {
-                lock.unlock();
+                lock[team-1].unlock();
             }
 
         }
 
-        lock.unlock();
+        lock[team-1].unlock();
+    }
+
+    @Override
+    public CompletableFuture<Void> waitForEveryoneToStartAsync(int team) throws RemoteException {
+        return whenSeated(team).thenCompose(ready -> whenCoachWaiting(team));
     }
 
     @Override
     public boolean shutdown() throws RemoteException{
-        boolean result;
+        return shutdownVotes.incrementAndGet() == config.getShutdownVotes();
+    }
+
+    /**
+     * Seats a contestant at the bench
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @param state of the contestant
+     * @param strength of the contestant
+     * @return number of selections made before the contestant sat down
+     * @throws RemoteException if the general information repository can not be updated
+     */
+    private int sitDown(int id, int team, int state, int strength) throws RemoteException {
+        List<CompletableFuture<Void>> everyoneSeated = null;
+        int generation;
+
+        lock[team-1].lock();
 
-        lock.lock();
+        // only a selection made after sitting down calls the contestant
+        generation = selectionGeneration[team-1];
 
-        shutdownVotes++;
+        try {
+            present[team-1] |= 1L << (id-1);
+            benchState[team-1][id-1] = ContestantState.SEAT_AT_THE_BENCH.getId();
+            benchStrength[team-1][id-1] = strength;
+
+            if (ContestantState.getStateById(state) != ContestantState.SEAT_AT_THE_BENCH) {
+                informationRepository.applyUpdates(new UpdateBatch()
+                        .updateContestant(id, team, state, strength)
+                        .printLineUpdate());
+            }
 
-        result = shutdownVotes == (1 + 2 * (1 + 5));
+            if (allPlayersAreSeated(team)) {
+                allPlayersSeated[team-1].signalAll();
+                everyoneSeated = seated[team-1].takeAll();
+            }
+        } finally {
+            lock[team-1].unlock();
+        }
 
-        lock.unlock();
+        WaitList.release(everyoneSeated);
 
-        return result;
+        return generation;
     }
 
     /**
-     * Checks if the player is selected
+     * Marks the coach as waiting for the next trial, calling whoever waits
+     * for the coach
      *
-     * @param id
-     * @param team
-     * @return boolean
+     * @param team of the coach
+     * @param status of the coach
+     * @throws RemoteException if the general information repository can not be updated
      */
-    private boolean playerIsSelected(int id, int team) {
+    private void coachWaits(int team, int status) throws RemoteException {
+        List<CompletableFuture<Void>> ready;
+
+        lock[team-1].lock();
+
+        try {
+            informationRepository.applyUpdates(new UpdateBatch()
+                    .updateCoach(team, status)
+                    .printLineUpdate());
+
+            coachWaiting[team-1] = true;
+            coachCalled[team-1] = false;
+            waitForCoach[team-1].signal();
+            ready = coachReady[team-1].takeAll();
+        } finally {
+            lock[team-1].unlock();
+        }
+
+        WaitList.release(ready);
+    }
+
+    /**
+     * Calls the coach waiting for the next trial
+     *
+     * @param team of the coach
+     */
+    private void callCoach(int team) {
+        List<CompletableFuture<Void>> called;
+
+        lock[team-1].lock();
+
+        coachCalled[team-1] = true;
+        waitForNextTrial[team-1].signal();
+        called = nextTrial[team-1].takeAll();
 
-        boolean result = false;
+        lock[team-1].unlock();
 
-        Iterator<Integer> it = selectedContestants[team-1].iterator();
+        WaitList.release(called);
+    }
+
+    /**
+     * Gets a future of every contestant of the team being seated
+     *
+     * @param team of the bench
+     * @return future completed when the whole team is seated
+     */
+    private CompletableFuture<Void> whenSeated(int team) {
+        CompletableFuture<Void> ready;
+
+        lock[team-1].lock();
 
-        while (it.hasNext()) {
-            if (id == it.next()) {
-                result = true;
-                break;
+        ready = allPlayersAreSeated(team) ? CompletableFuture.completedFuture(null) : seated[team-1].add();
+
+        lock[team-1].unlock();
+
+        return ready;
+    }
+
+    /**
+     * Gets a future of the coach waiting for the next trial
+     *
+     * @param team of the coach
+     * @return future completed when the coach is waiting
+     */
+    private CompletableFuture<Void> whenCoachWaiting(int team) {
+        CompletableFuture<Void> ready;
+
+        lock[team-1].lock();
+
+        ready = coachWaiting[team-1] ? CompletableFuture.completedFuture(null) : coachReady[team-1].add();
+
+        lock[team-1].unlock();
+
+        return ready;
+    }
+
+    /**
+     * Checks if a contestant waiting at the bench has been called, either
+     * selected after sitting down or released at the end of the match
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @param generation number of selections made before the contestant sat down
+     * @return true if the contestant is to leave the bench
+     */
+    private boolean isCalled(int id, int team, int generation) {
+        return (selectionGeneration[team-1] != generation && playerIsSelected(id, team)) || matchEnded[team-1];
+    }
+
+    /**
+     * Gets the state and strength of a contestant, with the lock held
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @return state and strength, null if the contestant is not seated
+     */
+    private Tuple<Integer, Integer> benchEntry(int id, int team) {
+        if (!isSeated(id, team)) {
+            return null;
+        }
+
+        return new Tuple<>(benchState[team-1][id-1], benchStrength[team-1][id-1]);
+    }
+
+    /**
+     * Gets the ids and strengths of the contestants seated, with the lock held
+     *
+     * @param team of the bench
+     * @return contestants seated
+     */
+    private Set<Tuple<Integer, Integer>> seatedContestants(int team) {
+        Set<Tuple<Integer, Integer>> temp = new HashSet<>();
+
+        for (int id = 1; id <= config.getRoster(); id++) {
+            if (isSeated(id, team)) {
+                temp.add(new Tuple<>(id, benchStrength[team-1][id-1]));
             }
         }
 
-        return result;
+        return temp;
+    }
+
+    /**
+     * Checks if the player is selected
+     *
+     * @param id
+     * @param team
+     * @return boolean
+     */
+    private boolean playerIsSelected(int id, int team) {
+        return (selectedContestants[team-1] & (1L << (id-1))) != 0;
+    }
+
+    /**
+     * Checks if a player is seated on bench.
+     *
+     * @param id
+     * @param team
+     * @return true if the player is seated
+     */
+    private boolean isSeated(int id, int team) {
+        return (present[team-1] & (1L << (id-1))) != 0;
     }
 
     /**
@@ -364,6 +631,6 @@ public class ContestantsBench implements InterfaceContestantsBench {
      * @return true if all players seated
      */
     private boolean allPlayersAreSeated(int team) {
-        return bench[team-1].size() == 5;
+        return Long.bitCount(present[team-1]) == config.getRoster();
     }
 }
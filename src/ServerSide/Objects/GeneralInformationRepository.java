@@ -5,18 +5,23 @@ import java.io.PrintWriter;
 import java.rmi.RemoteException;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import Interfaces.InterfaceGeneralInformationRepository;
 import Interfaces.InterfaceRefereeSite.GameScore;
-import Others.InterfaceContestant;
-import Others.Tuple;
 import Others.InterfaceCoach.CoachState;
 import Others.InterfaceContestant.ContestantState;
 import Others.InterfaceReferee.RefereeState;
+import Others.MatchConfig;
+import Others.UpdateBatch;
+import ServerSide.Instrumentation.InstrumentedLock;
+import ServerSide.Logging.BinaryEventLog;
+import ServerSide.Logging.EventKind;
+import ServerSide.Logging.LogEntries;
+import ServerSide.Logging.LogWriter;
+import ServerSide.Logging.StateSnapshot;
+import ServerSide.Logging.SyncLogWriter;
 
 /**
  * This is an passive class that logs entities activity
@@ -26,12 +31,15 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     private static GeneralInformationRepository instance; // singleton
 
     // locking condtions
-    private final Lock lock;
+    private final InstrumentedLock lock;
 
-    private PrintWriter printer;
+    private final LogWriter writer;                 // writer of the text log entries, null if not used
+    private final BinaryEventLog eventLog;          // binary log of the events, null if not used
+    private final MatchConfig config;               // configuration of the match
 
     // variables to store current game status and update accordingly to changes
-    private final List<Tuple<ContestantState, Integer>[]> teamsState;
+    private final ContestantState[][] contestantsState; // contestants state tracking
+    private final int[][] contestantsStrength;      // contestants strength tracking
     private final CoachState[] coachesState;        // coaches state tracking
     private RefereeState refereeState;              // referee state tracking
     private final List<Integer> team1Placement;     // list containing team contestants
@@ -56,23 +64,52 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     }
 
     /**
-     * Public constructor for the singleton
+     * Public constructor for the singleton. The log is printed synchronously
+     * to gameResults.log
      */
     public GeneralInformationRepository() {
-        lock = new ReentrantLock();
+        this(openLog("gameResults.log"));
+    }
 
-        try {
-            printer = new PrintWriter("gameResults.log");
-        } catch (FileNotFoundException ex) {
-            Logger.getLogger(GeneralInformationRepository.class.getName()).log(Level.SEVERE, null, ex);
-            printer = null;
-        }
+    /**
+     * Public constructor using a given log writer
+     *
+     * @param writer to be used for printing the log
+     */
+    public GeneralInformationRepository(LogWriter writer) {
+        this(writer, null);
+    }
+
+    /**
+     * Public constructor using a given text log writer and binary event log.
+     * Any of them may be null if not wanted.
+     *
+     * @param writer to be used for printing the log
+     * @param eventLog to be used for recording the events
+     */
+    public GeneralInformationRepository(LogWriter writer, BinaryEventLog eventLog) {
+        this(writer, eventLog, MatchConfig.getDefault());
+    }
+
+    /**
+     * Public constructor using a given text log writer, binary event log and
+     * match configuration. Any of the logs may be null if not wanted.
+     *
+     * @param writer to be used for printing the log
+     * @param eventLog to be used for recording the events
+     * @param config configuration of the match
+     */
+    public GeneralInformationRepository(LogWriter writer, BinaryEventLog eventLog, MatchConfig config) {
+        lock = new InstrumentedLock("GeneralRepository");
+
+        this.writer = writer;
+        this.eventLog = eventLog;
+        this.config = config;
 
         headerPrinted = false;
 
-        teamsState = new LinkedList<>();
-        teamsState.add(new Tuple[5]);
-        teamsState.add(new Tuple[5]);
+        contestantsState = new ContestantState[2][config.getRoster()];
+        contestantsStrength = new int[2][config.getRoster()];
 
         coachesState = new CoachState[2];
 
@@ -87,12 +124,31 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
         shutdownVotes = 0;
     }
 
+    /**
+     * Opens a log file to be printed synchronously
+     *
+     * @param fileName name of the log file
+     * @return log writer of the file
+     */
+    private static LogWriter openLog(String fileName) {
+        PrintWriter printer;
+
+        try {
+            printer = new PrintWriter(fileName);
+        } catch (FileNotFoundException ex) {
+            Logger.getLogger(GeneralInformationRepository.class.getName()).log(Level.SEVERE, null, ex);
+            printer = null;
+        }
+
+        return new SyncLogWriter(printer);
+    }
+
     @Override
     public void updateReferee(int status) throws RemoteException{
 
         lock.lock();
 
-        refereeState = RefereeState.getStateById(status);
+        doUpdateReferee(status);
 
         lock.unlock();
     }
@@ -102,9 +158,7 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
 
         lock.lock();
 
-        this.teamsState.get(team-1)[id-1] = new Tuple<>(
-                ContestantState.getStateById(status), 
-                strength);
+        doUpdateContestant(id, team, status, strength);
 
         lock.unlock();
     }
@@ -114,9 +168,7 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
 
         lock.lock();
 
-        ContestantState state = teamsState.get(team - 1)[id - 1].getLeft();
-
-        this.teamsState.get(team - 1)[id - 1] = new Tuple<>(state, strength);
+        doUpdateContestantStrength(team, id, strength);
 
         lock.unlock();
     }
@@ -126,7 +178,7 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
 
         lock.lock();
 
-        this.coachesState[team-1] = CoachState.getStateById(status);
+        doUpdateCoach(team, status);
 
         lock.unlock();
     }
@@ -135,7 +187,7 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void setGameNumber(int gameNumber) throws RemoteException{
         lock.lock();
 
-        this.gameNumber = gameNumber;
+        doSetGameNumber(gameNumber);
 
         lock.unlock();
     }
@@ -144,7 +196,7 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void setTrialNumber(int trialNumber) throws RemoteException{
         lock.lock();
 
-        this.trialNumber = trialNumber;
+        doSetTrialNumber(trialNumber);
 
         lock.unlock();
     }
@@ -153,7 +205,7 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void setFlagPosition(int flagPosition) throws RemoteException{
         lock.lock();
 
-        this.flagPosition = flagPosition;
+        doSetFlagPosition(flagPosition);
 
         lock.unlock();
     }
@@ -163,37 +215,60 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
 
         lock.lock();
 
-        switch (team) {
-            case 1:
-                team1Placement.add(id);
-                break;
-            case 2:
-                team2Placement.add(id);
-                break;
-            default:
-                System.out.println("Error: team number");
-                break;
-        }
+        doSetTeamPlacement(id, team);
 
         lock.unlock();
     }
 
     @Override
     public void resetTeamPlacement(int id, int team) throws RemoteException{
-        InterfaceContestant contestant = (InterfaceContestant) Thread.currentThread();
+        lock.lock();
+
+        doResetTeamPlacement(id, team);
 
+        lock.unlock();
+    }
+
+    @Override
+    public void applyUpdates(UpdateBatch batch) throws RemoteException{
         lock.lock();
 
-        switch (team) {
-            case 1:
-                team1Placement.remove(team1Placement.indexOf(id));
-                break;
-            case 2:
-                team2Placement.remove(team2Placement.indexOf(id));
-                break;
-            default:
-                System.out.println("Error: team number");
-                break;
+        for (int i = 0; i < batch.size(); i++) {
+            switch (batch.getType(i)) {
+                case CONTESTANT:
+                    doUpdateContestant(batch.getArgument(i, 0), batch.getArgument(i, 1),
+                            batch.getArgument(i, 2), batch.getArgument(i, 3));
+                    break;
+                case CONTESTANT_STRENGTH:
+                    doUpdateContestantStrength(batch.getArgument(i, 0), batch.getArgument(i, 1),
+                            batch.getArgument(i, 2));
+                    break;
+                case COACH:
+                    doUpdateCoach(batch.getArgument(i, 0), batch.getArgument(i, 1));
+                    break;
+                case REFEREE:
+                    doUpdateReferee(batch.getArgument(i, 0));
+                    break;
+                case GAME_NUMBER:
+                    doSetGameNumber(batch.getArgument(i, 0));
+                    break;
+                case TRIAL_NUMBER:
+                    doSetTrialNumber(batch.getArgument(i, 0));
+                    break;
+                case FLAG_POSITION:
+                    doSetFlagPosition(batch.getArgument(i, 0));
+                    break;
+                case SET_TEAM_PLACEMENT:
+                    doSetTeamPlacement(batch.getArgument(i, 0), batch.getArgument(i, 1));
+                    break;
+                case RESET_TEAM_PLACEMENT:
+                    doResetTeamPlacement(batch.getArgument(i, 0), batch.getArgument(i, 1));
+                    break;
+            }
+        }
+
+        if (batch.getPrintDirective() == UpdateBatch.PrintDirective.LINE_UPDATE) {
+            doPrintLineUpdate();
         }
 
         lock.unlock();
@@ -203,9 +278,10 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void printGameHeader() throws RemoteException{
         lock.lock();
 
-        printer.printf("Game %1d%n", gameNumber);
-        printColumnHeader();
-        printer.flush();
+        if (writer != null) {
+            writer.write(LogEntries.gameHeader(gameNumber, config));
+        }
+        record(EventKind.GAME_HEADER, 0, 0, 0, 0);
 
         lock.unlock();
     }
@@ -214,12 +290,7 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void printLineUpdate() throws RemoteException{
         lock.lock();
 
-        if (headerPrinted) {
-            printActiveEntitiesStates();
-            printTrialResult(trialNumber, flagPosition);
-
-            printer.flush();
-        }
+        doPrintLineUpdate();
 
         lock.unlock();
     }
@@ -228,23 +299,11 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void printGameResult(GameScore score) throws RemoteException{
         lock.lock();
 
-        switch (score) {
-            case VICTORY_TEAM_1_BY_KNOCKOUT:
-                printGameWinnerByKnockOut(gameNumber, 1, trialNumber);
-                break;
-            case VICTORY_TEAM_1_BY_POINTS:
-                printGameWinnerByPoints(gameNumber, 1);
-                break;
-            case VICTORY_TEAM_2_BY_KNOCKOUT:
-                printGameWinnerByKnockOut(gameNumber, 2, trialNumber);
-                break;
-            case VICTORY_TEAM_2_BY_POINTS:
-                printGameWinnerByPoints(gameNumber, 1);
-                break;
-            case DRAW:
-                printGameDraw(gameNumber);
-                break;
+        if (writer != null) {
+            writer.write(LogEntries.gameResult(score, gameNumber, trialNumber));
         }
+        record(EventKind.GAME_RESULT, 0, 0, score.ordinal(), 0);
+        flushEvents();
 
         lock.unlock();
     }
@@ -253,8 +312,11 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void printMatchWinner(int team, int score1, int score2) throws RemoteException{
         lock.lock();
 
-        printer.printf("Match was won by team %d (%d-%d).%n", team, score1, score2);
-        printer.flush();
+        if (writer != null) {
+            writer.write(LogEntries.matchWinner(team, score1, score2));
+        }
+        record(EventKind.MATCH_WINNER, team, score1, score2, 0);
+        flushEvents();
 
         lock.unlock();
     }
@@ -263,8 +325,11 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void printMatchDraw() throws RemoteException{
         lock.lock();
 
-        printer.printf("Match was a draw.%n");
-        printer.flush();
+        if (writer != null) {
+            writer.write(LogEntries.matchDraw());
+        }
+        record(EventKind.MATCH_DRAW, 0, 0, 0, 0);
+        flushEvents();
 
         lock.unlock();
     }
@@ -273,15 +338,10 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void printLegend() throws RemoteException{
         lock.lock();
 
-        printer.printf("Legend:%n");
-        printer.printf("Ref Sta – state of the referee%n");
-        printer.printf("Coa # Stat - state of the coach of team # (# - 1 .. 2)%n");
-        printer.printf("Cont # Sta – state of the contestant # (# - 1 .. 5) of team whose coach was listed to the immediate left%n");
-        printer.printf("Cont # SG – strength of the contestant # (# - 1 .. 5) of team whose coach was listed to the immediate left%n");
-        printer.printf("TRIAL – ? – contestant identification at the position ? at the end of the rope for present trial (? - 1 .. 3)%n");
-        printer.printf("TRIAL – NB – trial number%n");
-        printer.printf("TRIAL – PS – position of the centre of the rope at the beginning of the trial%n");
-        printer.flush();
+        if (writer != null) {
+            writer.write(LogEntries.legend(config));
+        }
+        record(EventKind.LEGEND, 0, 0, 0, 0);
 
         lock.unlock();
     }
@@ -290,12 +350,10 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     public void printHeader() throws RemoteException{
         lock.lock();
 
-        printer.printf("Game of the Rope - Description of the internal state%n");
-        printer.printf("%n");
-        printColumnHeader();
-        printActiveEntitiesStates();
-        printEmptyResult();
-        printer.flush();
+        if (writer != null) {
+            writer.write(LogEntries.header(snapshot(), config));
+        }
+        record(EventKind.HEADER, 0, 0, 0, 0);
 
         headerPrinted = true;
 
@@ -303,133 +361,209 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
     }
 
     /**
-     * Prints game column header
-     * 
+     * Updates the referee state. Must be called while holding the lock.
+     *
+     * @param status id of the new state
      */
-    private void printColumnHeader() throws RemoteException{
-        lock.lock();
-
-        printer.printf("Ref Coa 1 Cont 1 Cont 2 Cont 3 Cont 4 Cont 5 Coa 2 Cont 1 Cont 2 Cont 3 Cont 4 Cont 5 Trial%n");
-        printer.printf("Sta  Stat Sta SG Sta SG Sta SG Sta SG Sta SG  Stat Sta SG Sta SG Sta SG Sta SG Sta SG 3 2 1 . 1 2 3 NB PS%n");
-        printer.flush();
-
-        lock.unlock();
+    private void doUpdateReferee(int status) {
+        refereeState = RefereeState.getStateById(status);
+        record(EventKind.REFEREE, 0, 0, status, 0);
     }
 
     /**
-     * Prints active entities states
+     * Updates the state and strength of a contestant. Must be called while
+     * holding the lock.
+     *
+     * @param id of the contestant
+     * @param team of the entity
+     * @param status id of the new state
+     * @param strength of the contestant
      */
-    private void printActiveEntitiesStates() throws RemoteException{
-        lock.lock();
+    private void doUpdateContestant(int id, int team, int status, int strength) {
+        contestantsState[team-1][id-1] = ContestantState.getStateById(status);
+        contestantsStrength[team-1][id-1] = strength;
+        record(EventKind.CONTESTANT, team, id, status, strength);
+    }
 
-        printer.printf("%3s", refereeState);
+    /**
+     * Updates the strength of a contestant. Must be called while holding the lock.
+     *
+     * @param team of the entity
+     * @param id of the contestant
+     * @param strength of the contestant
+     */
+    private void doUpdateContestantStrength(int team, int id, int strength) {
+        contestantsStrength[team - 1][id - 1] = strength;
+        record(EventKind.CONTESTANT_STRENGTH, team, id, 0, strength);
+    }
 
-        // Printing teams state
-        for (int i = 0; i < coachesState.length; i++) {
-            printer.printf("  %4s", coachesState[i]);
+    /**
+     * Updates the state of a coach. Must be called while holding the lock.
+     *
+     * @param team of the entity
+     * @param status id of the new state
+     */
+    private void doUpdateCoach(int team, int status) {
+        this.coachesState[team-1] = CoachState.getStateById(status);
+        record(EventKind.COACH, team, 0, status, 0);
+    }
 
-            for (int j = 0; j < teamsState.get(i).length; j++) {
-                printer.printf(" %3s %2d", teamsState.get(i)[j].getLeft(), teamsState.get(i)[j].getRight());
-            }
-        }
+    /**
+     * Sets the game number. Must be called while holding the lock.
+     *
+     * @param gameNumber to set
+     */
+    private void doSetGameNumber(int gameNumber) {
+        this.gameNumber = gameNumber;
+        record(EventKind.GAME_NUMBER, 0, 0, 0, 0);
+    }
 
-        lock.unlock();
+    /**
+     * Sets the trial number. Must be called while holding the lock.
+     *
+     * @param trialNumber to set
+     */
+    private void doSetTrialNumber(int trialNumber) {
+        this.trialNumber = trialNumber;
+        record(EventKind.TRIAL_NUMBER, 0, 0, 0, 0);
     }
 
     /**
-     * Prints an empty result
+     * Sets the flag position. Must be called while holding the lock.
+     *
+     * @param flagPosition to set
      */
-    private void printEmptyResult() throws RemoteException{
-        lock.lock();
+    private void doSetFlagPosition(int flagPosition) {
+        this.flagPosition = flagPosition;
+        record(EventKind.FLAG_POSITION, 0, 0, 0, 0);
+    }
 
-        printer.printf(" - - - . - - - -- --%n");
-        printer.flush();
+    /**
+     * Places a contestant at the rope. Must be called while holding the lock.
+     *
+     * @param id of the contestant
+     * @param team of the entity
+     */
+    private void doSetTeamPlacement(int id, int team) {
+        switch (team) {
+            case 1:
+                team1Placement.add(id);
+                break;
+            case 2:
+                team2Placement.add(id);
+                break;
+            default:
+                System.out.println("Error: team number");
+                break;
+        }
 
-        lock.unlock();
+        record(EventKind.SET_TEAM_PLACEMENT, team, id, 0, 0);
     }
 
     /**
-     * Prints trial result
+     * Removes a contestant from the rope. Must be called while holding the lock.
      *
-     * @param trialNumber number of the trial
-     * @param flagPosition position of the flag
+     * @param id of the contestant
+     * @param team of the entity
      */
-    private void printTrialResult(int trialNumber, int flagPosition) throws RemoteException{
-        lock.lock();
-        for (int i = 0; i < 3; i++) {
-            if (i >= team1Placement.size()) {
-                printer.printf(" -");
-            } else {
-                printer.printf(" %1d", team1Placement.get(i));
-            }
+    private void doResetTeamPlacement(int id, int team) {
+        switch (team) {
+            case 1:
+                team1Placement.remove(team1Placement.indexOf(id));
+                break;
+            case 2:
+                team2Placement.remove(team2Placement.indexOf(id));
+                break;
+            default:
+                System.out.println("Error: team number");
+                break;
         }
 
-        printer.printf(" .");
+        record(EventKind.RESET_TEAM_PLACEMENT, team, id, 0, 0);
+    }
 
-        for (int i = 0; i < 3; i++) {
-            if (i >= team2Placement.size()) {
-                printer.printf(" -");
-            } else {
-                printer.printf(" %1d", team2Placement.get(i));
+    /**
+     * Prints a line with the updated game state. Must be called while holding
+     * the lock.
+     */
+    private void doPrintLineUpdate() {
+        if (headerPrinted) {
+            if (writer != null) {
+                writer.write(snapshot());
             }
+            record(EventKind.LINE_UPDATE, 0, 0, 0, 0);
         }
-
-        printer.printf(" %2d %2d%n", trialNumber, flagPosition);
-
-        lock.unlock();
     }
 
     /**
-     * Prints a game winner by knock out
+     * Appends a record to the binary event log, if there is one. Must be
+     * called while holding the lock.
      *
-     * @param game number of the game
-     * @param team number of the team
-     * @param trials in how many trials
+     * @param kind of the event
+     * @param team of the entity, 0 if not applicable
+     * @param id of the contestant, 0 if not applicable
+     * @param state id of the entity state, 0 if not applicable
+     * @param strength of the contestant, 0 if not applicable
      */
-    private void printGameWinnerByKnockOut(int game, int team, int trials) throws RemoteException{
-        lock.lock();
-
-        printer.printf("Game %d was won by team %d by knock out in %d trials.%n", game, team, trials);
-        printer.flush();
+    private void record(EventKind kind, int team, int id, int state, int strength) {
+        if (eventLog != null) {
+            eventLog.append(kind, team, id, state, strength, trialNumber, gameNumber, flagPosition);
+        }
+    }
 
-        lock.unlock();
+    /**
+     * Writes the buffered records of the binary event log, if there is one.
+     * Must be called while holding the lock.
+     */
+    private void flushEvents() {
+        if (eventLog != null) {
+            eventLog.flush();
+        }
     }
 
     /**
-     * Prints that a game was won by points
+     * Takes an immutable copy of the current game status. Must be called
+     * while holding the lock.
      *
-     * @param game number of the game
-     * @param team that won the game
+     * @return snapshot of the game status
      */
-    private void printGameWinnerByPoints(int game, int team) throws RemoteException{
-        lock.lock();
+    private StateSnapshot snapshot() {
+        int[][] teamsPlacement = new int[2][];
 
-        printer.printf("Game %d was won by team %d by points.%n", game, team);
-        printer.flush();
+        teamsPlacement[0] = toArray(team1Placement);
+        teamsPlacement[1] = toArray(team2Placement);
 
-        lock.unlock();
+        return new StateSnapshot(refereeState, coachesState, contestantsState,
+                contestantsStrength, teamsPlacement, config.getPullers(), trialNumber, flagPosition);
     }
 
     /**
-     * Print that the game was a draw
+     * Converts a team placement to an array
      *
-     * @param game number that was a draw
+     * @param placement list of contestants at the rope
+     * @return array with the contestants at the rope
      */
-    private void printGameDraw(int game) throws RemoteException{
-        lock.lock();
+    private static int[] toArray(List<Integer> placement) {
+        int[] result = new int[placement.size()];
+        int i = 0;
 
-        printer.printf("Game %d was a draw.%n", game);
-        printer.flush();
+        for (int id : placement) {
+            result[i++] = id;
+        }
 
-        lock.unlock();
+        return result;
     }
 
     @Override
     public void close() throws RemoteException{
         lock.lock();
 
-        printer.flush();
-        printer.close();
+        if (writer != null) {
+            writer.close();
+        }
+        if (eventLog != null) {
+            eventLog.close();
+        }
 
         lock.unlock();
     }
@@ -442,7 +576,7 @@ public class GeneralInformationRepository implements InterfaceGeneralInformation
 
         shutdownVotes++;
 
-        if (shutdownVotes == (1 + 2 * (1 + 5))) {
+        if (shutdownVotes == config.getShutdownVotes()) {
             result = true;
             close();
         }
@@ -0,0 +1,200 @@
+package ServerSide.Objects;
+
+import Interfaces.InterfaceMatchTable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This is a passive class that keeps the shared regions of every match hosted
+ * by a server. The region of a match is created, and exported when the table
+ * has a port, the first time the match is asked for; matches being created at
+ * the same time do not wait for each other. Once every entity of a match has
+ * voted for the shutdown of its region, the region is unexported and dropped
+ * from the table, so that a later request for the same id starts a new match.
+ *
+ * @param <T> interface of the shared region
+ */
+public class MatchTable<T extends Remote> implements InterfaceMatchTable<T> {
+
+    /**
+     * Name of the system property with the number of match ids a table
+     * accepts
+     */
+    public static final String MAX_MATCHES_PROPERTY = "ropegame.matches.max";
+
+    private static final int MAX_MATCHES = Integer.getInteger(MAX_MATCHES_PROPERTY, 1024);
+
+    /**
+     * Creates the shared region of a match
+     *
+     * @param <T> interface of the shared region
+     */
+    public interface Factory<T extends Remote> {
+
+        /**
+         * Creates the shared region of a match
+         *
+         * @param match id of the match
+         * @return shared region of the match
+         * @throws RemoteException if the region could not be created
+         */
+        public T create(int match) throws RemoteException;
+    }
+
+    private final Factory<T> factory;
+    private final int portNumb;                                         // port the regions are exported on, -1 if local
+    private final ConcurrentMap<Integer, CompletableFuture<T>> matches; // region of each match, once created
+
+    /**
+     * Public constructor of a table of local regions
+     *
+     * @param factory to create the region of each match
+     */
+    public MatchTable(Factory<T> factory) {
+        this(factory, -1);
+    }
+
+    /**
+     * Public constructor of a table of regions exported on a port
+     *
+     * @param factory to create the region of each match
+     * @param portNumb port number for listening to service requests
+     */
+    public MatchTable(Factory<T> factory, int portNumb) {
+        this.factory = factory;
+        this.portNumb = portNumb;
+
+        matches = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public T getMatch(int match) throws RemoteException {
+        if (match < 0 || match >= MAX_MATCHES) {
+            throw new IllegalArgumentException("Invalid match id: " + match);
+        }
+
+        CompletableFuture<T> region = matches.get(match);
+
+        if (region == null) {
+            CompletableFuture<T> created = new CompletableFuture<>();
+
+            region = matches.putIfAbsent(match, created);
+
+            if (region == null) {
+                region = created;
+                open(match, created);
+            }
+        }
+
+        try {
+            return region.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RemoteException) {
+                throw (RemoteException) ex.getCause();
+            }
+            throw (RuntimeException) ex.getCause();
+        }
+    }
+
+    @Override
+    public int getMatchCount() throws RemoteException {
+        return matches.size();
+    }
+
+    /**
+     * Creates and exports the region of a match, outside of the map. The
+     * region is proxied with every interface it implements. A failure is
+     * handed to every caller waiting for the region and the match is
+     * dropped, so that it may be asked for again.
+     *
+     * @param match id of the match
+     * @param created future of the region of the match
+     */
+    @SuppressWarnings("unchecked")
+    private void open(int match, CompletableFuture<T> created) {
+        try {
+            T target = factory.create(match);
+            T region = (T) Proxy.newProxyInstance(target.getClass().getClassLoader(),
+                    target.getClass().getInterfaces(), new ShutdownHandler(match, created, target));
+
+            created.complete((portNumb < 0) ? region : (T) UnicastRemoteObject.exportObject(region, portNumb));
+        } catch (RemoteException | RuntimeException ex) {
+            matches.remove(match, created);
+            created.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Drops the region of a match from the table and unexports it
+     *
+     * @param match id of the match
+     * @param created future of the region of the match
+     * @param region region, as exported
+     */
+    private void retire(int match, CompletableFuture<T> created, Object region) {
+        matches.remove(match, created);
+
+        if (portNumb >= 0) {
+            try {
+                UnicastRemoteObject.unexportObject((Remote) region, true);
+            } catch (NoSuchObjectException ex) {
+                Logger.getLogger(MatchTable.class.getName()).log(Level.FINE, "Region of match " + match
+                        + " was not exported", ex);
+            }
+        }
+    }
+
+    /**
+     * Forwards the calls to the region of a match and retires the match when
+     * its shutdown votes are met
+     */
+    private class ShutdownHandler implements InvocationHandler {
+
+        private final int match;                        // id of the match
+        private final CompletableFuture<T> created;     // future of the region in the table
+        private final Object target;                    // region called
+
+        /**
+         * Private constructor, the handlers are created by the table
+         *
+         * @param match id of the match
+         * @param created future of the region in the table
+         * @param target region called
+         */
+        private ShutdownHandler(int match, CompletableFuture<T> created, Object target) {
+            this.match = match;
+            this.created = created;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+
+            if (method.getName().equals("shutdown") && Boolean.TRUE.equals(result)) {
+                retire(match, created, proxy);
+            }
+
+            return result;
+        }
+    }
+}
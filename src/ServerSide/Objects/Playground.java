@@ -1,41 +1,67 @@
 package ServerSide.Objects;
 
 import Interfaces.InterfacePlayground;
+import Interfaces.InterfacePlaygroundAsync;
 import Interfaces.InterfaceGeneralInformationRepository;
+import Others.MatchConfig;
+import Others.MatchEvents.RopePulledEvent;
+import Others.PullDurationModel;
 import Others.Triple;
+import Others.UpdateBatch;
 import Others.InterfaceCoach.CoachState;
 import Others.InterfaceContestant.ContestantState;
 import Others.InterfaceReferee.RefereeState;
+import ServerSide.Instrumentation.InstrumentedLock;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import jdk.jfr.EventType;
+
 /**
  * General Description: This is an passive class that describes the Playground
+ *
+ * The trial lifecycle is kept by three phasers, each phase being one trial:
+ * the referee starts the trial, the pullers arrive as they pull and the last
+ * one moves the flag, the referee asserts the result. Waiting threads keep
+ * the phase they must see completed, so a late wait returns at once and a
+ * wakeup can not be lost. The asynchronous operations wait on the same
+ * phases through futures.
  */
-public class Playground implements InterfacePlayground {
+public class Playground implements InterfacePlayground, InterfacePlaygroundAsync {
+
+    private static final EventType ROPE_PULLED_EVENT = EventType.getEventType(RopePulledEvent.class);
 
     // locking and waiting conditions
-    private final Lock lock;
-    private final Condition startTrial;         // condition for waiting the trial start
+    private final InstrumentedLock lock;
     private final Condition teamsInPosition;    // condition for waiting to the teams to be in position
-    private final Condition finishedPulling;    // condition for waiting the contestants finished pulling the rope
-    private final Condition resultAssert;       // condition for waiting for the result to be asserted
+    private final WaitList[] teamInPosition;    // asynchronous coaches waiting for each team to be in position
+
+    // trial lifecycle
+    private final AsyncPhaser trialStarted;     // advanced by the referee when the trial starts
+    private final AsyncPhaser ropePulled;       // advanced when every puller has pulled the rope
+    private final AsyncPhaser resultAsserted;   // advanced by the referee when the result is asserted
+    private final int[] watchPhase;             // result phase each coach is going to watch
+    private RopePulledEvent ropePulledEvent;    // event of the trial being pulled, null if not recorded, handed to the last puller by the phasers
 
-    private int pullCounter;                    // how many pulls the contestants made
-    private int flagPosition;                   // current flag position
-    private int lastFlagPosition;               // last flag position
+    private volatile int flagPosition;          // current flag position
+    private volatile int lastFlagPosition;      // last flag position
     private int shutdownVotes;                  // count if all votes are met to shutdown
+    private int game;                           // game being played, from 1
+    private int trial;                          // trial of the game being pulled, from 1
 
     private final List<Triple<Integer, ContestantState, Integer>>[] teams;  // list containing the Contestant in both teams
+    private final int[] teamStrength;                                       // joint strength of the contestants in each team
     private final InterfaceGeneralInformationRepository informationRepository;
+    private final PullDurationModel pullDuration;                           // time each pull takes
+    private final MatchConfig config;                                       // configuration of the match
+    private final int match;                                                // id of the match
 
     /**
     * Public constructor to be used in the singleton
@@ -43,60 +69,88 @@ public class Playground implements InterfacePlayground {
     * @param girStub
     */
     public Playground(InterfaceGeneralInformationRepository girStub) {
-        lock = new ReentrantLock();
-        startTrial = lock.newCondition();
-        teamsInPosition = lock.newCondition();
-        finishedPulling = lock.newCondition();
-        resultAssert = lock.newCondition();
+        this(girStub, PullDurationModel.random(1, 3), MatchConfig.getDefault(), 0);
+    }
+
+    /**
+    * Public constructor with a given pull duration model and match configuration
+    *
+    * @param girStub
+    * @param pullDuration time each pull takes
+    * @param config configuration of the match
+    * @param match id of the match
+    */
+    public Playground(InterfaceGeneralInformationRepository girStub, PullDurationModel pullDuration,
+            MatchConfig config, int match) {
+        this.config = config;
+        this.match = match;
+
+        lock = new InstrumentedLock("Playground");
+        teamsInPosition = lock.newCondition("teamsInPosition");
+        teamInPosition = new WaitList[]{new WaitList(), new WaitList()};
+
+        trialStarted = new AsyncPhaser(1);
+        ropePulled = new AsyncPhaser(2 * config.getPullers()) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                updateFlagPosition();
+                return super.onAdvance(phase, registeredParties);
+            }
+        };
+        resultAsserted = new AsyncPhaser(1);
+        watchPhase = new int[2];
 
         flagPosition = 0;
         lastFlagPosition = 0;
-        pullCounter = 0;
         teams = new List[2];
+        teamStrength = new int[2];
 
         for (int i = 0; i < 2; i++) {
             teams[i] = new ArrayList<>();
         }
 
         informationRepository = girStub;
+        this.pullDuration = pullDuration;
 
         shutdownVotes = 0;
+        game = 0;
+        trial = 0;
     }
 
     @Override
     public int addContestant(int id, int team, int state, int strength) throws RemoteException{
 
-        lock.lock();
+        int phase = takePosition(id, team, strength);
 
         try {
-            teams[team - 1].add(new Triple<>(id, ContestantState.STAND_IN_POSITION, strength));
-
-            informationRepository.updateContestant(id, team, ContestantState.STAND_IN_POSITION.getId(), strength);
-            informationRepository.setTeamPlacement(id, team);
-            informationRepository.printLineUpdate();
-
-            if (isTeamInPlace(team)) {
-                teamsInPosition.signalAll();
-            }
-
-            startTrial.await();
+            trialStarted.awaitAdvanceInterruptibly(phase);
         } catch (InterruptedException ex) {
-            lock.unlock();
             return (Integer) null;
         }
 
-        lock.unlock();
-
         return ContestantState.STAND_IN_POSITION.getId();
     }
 
+    @Override
+    public CompletableFuture<Integer> addContestantAsync(int id, int team, int state, int strength)
+            throws RemoteException {
+
+        int phase = takePosition(id, team, strength);
+
+        return trialStarted.whenAdvanced(phase).thenApply(next -> ContestantState.STAND_IN_POSITION.getId());
+    }
+
     @Override
     public int checkTeamPlacement(int team) throws RemoteException{
 
         lock.lock();
 
-        informationRepository.updateCoach(team, CoachState.ASSEMBLE_TEAM.getId());
-        informationRepository.printLineUpdate();
+        informationRepository.applyUpdates(new UpdateBatch()
+                .updateCoach(team, CoachState.ASSEMBLE_TEAM.getId())
+                .printLineUpdate());
+
+        // the result of the trial can not be asserted before the team is in place
+        watchPhase[team - 1] = resultAsserted.getPhase();
 
         try {
             while (!isTeamInPlace(team)) {
@@ -113,87 +167,138 @@ public class Playground implements InterfacePlayground {
         return CoachState.ASSEMBLE_TEAM.getId();
     }
 
+    @Override
+    public CompletableFuture<Integer> checkTeamPlacementAsync(int team) throws RemoteException {
+        CompletableFuture<Void> inPlace;
+
+        lock.lock();
+
+        try {
+            informationRepository.applyUpdates(new UpdateBatch()
+                    .updateCoach(team, CoachState.ASSEMBLE_TEAM.getId())
+                    .printLineUpdate());
+
+            watchPhase[team - 1] = resultAsserted.getPhase();
+
+            inPlace = isTeamInPlace(team) ? CompletableFuture.completedFuture(null) : teamInPosition[team - 1].add();
+        } finally {
+            lock.unlock();
+        }
+
+        return inPlace.thenApply(ready -> CoachState.ASSEMBLE_TEAM.getId());
+    }
+
     @Override
     public int watchTrial(int team) throws RemoteException{
+        int phase;
 
         lock.lock();
 
-        informationRepository.updateCoach(team, CoachState.WATCH_TRIAL.getId());
-        informationRepository.printLineUpdate();
+        phase = watchPhase[team - 1];
+
+        lock.unlock();
+
+        informationRepository.applyUpdates(new UpdateBatch()
+                .updateCoach(team, CoachState.WATCH_TRIAL.getId())
+                .printLineUpdate());
 
         try {
-            resultAssert.await();
+            resultAsserted.awaitAdvanceInterruptibly(phase);
         } catch (InterruptedException ex) {
-            lock.unlock();
             return (Integer) null;
         }
 
-        lock.unlock();
-
         return CoachState.WATCH_TRIAL.getId();
     }
 
     @Override
-    public void pullRope() throws RemoteException{
+    public CompletableFuture<Integer> watchTrialAsync(int team) throws RemoteException {
+        int phase;
 
         lock.lock();
 
-        try {
-            long waitTime = (long) (1 + Math.random() * (3 - 1));
+        phase = watchPhase[team - 1];
 
-            Thread.currentThread().sleep(waitTime);
+        lock.unlock();
 
-            this.pullCounter++;
+        informationRepository.applyUpdates(new UpdateBatch()
+                .updateCoach(team, CoachState.WATCH_TRIAL.getId())
+                .printLineUpdate());
 
-            if (this.pullCounter == 2 * 3) {
-                updateFlagPosition();
-                this.finishedPulling.signal();
-            }
+        return resultAsserted.whenAdvanced(phase).thenApply(next -> CoachState.WATCH_TRIAL.getId());
+    }
 
-            this.resultAssert.await();
+    @Override
+    public void pullRope() throws RemoteException{
+
+        // the result can not be asserted before this puller arrives
+        int phase = resultAsserted.getPhase();
+
+        // pulling happens outside the critical section, so the pullers pull together
+        try {
+            pullDuration.pull();
         } catch (InterruptedException ex) {
-            lock.unlock();
             return;
         }
 
-        lock.unlock();
+        ropePulled.arrive();
+
+        try {
+            resultAsserted.awaitAdvanceInterruptibly(phase);
+        } catch (InterruptedException ex) {
+            return;
+        }
     }
 
     @Override
-    public void resultAsserted() throws RemoteException{
-        lock.lock();
+    public CompletableFuture<Void> pullRopeAsync() throws RemoteException {
 
-        this.pullCounter = 0;
+        int phase = resultAsserted.getPhase();
 
-        this.resultAssert.signalAll();
+        return pullDuration.pullAsync()
+                .thenCompose(pulled -> {
+                    ropePulled.arrive();
+                    return resultAsserted.whenAdvanced(phase);
+                })
+                .thenAccept(next -> {
+                });
+    }
 
-        lock.unlock();
+    @Override
+    public void resultAsserted() throws RemoteException{
+        resultAsserted.arrive();
     }
 
     @Override
     public int startPulling() throws RemoteException{
 
-        lock.lock();
+        startTrial();
 
-        startTrial.signalAll();
+        informationRepository.applyUpdates(new UpdateBatch()
+                .updateReferee(RefereeState.WAIT_FOR_TRIAL_CONCLUSION.getId())
+                .printLineUpdate());
 
-        informationRepository.updateReferee(RefereeState.WAIT_FOR_TRIAL_CONCLUSION.getId());
-        informationRepository.printLineUpdate();
-
-        if (pullCounter != 2 * 3) {
-            try {
-                finishedPulling.await();
-            } catch (InterruptedException ex) {
-                lock.unlock();
-                return (Integer) null;
-            }
+        try {
+            waitForPulls();
+        } catch (InterruptedException ex) {
+            return (Integer) null;
         }
 
-        lock.unlock();
-
         return RefereeState.WAIT_FOR_TRIAL_CONCLUSION.getId();
     }
 
+    @Override
+    public CompletableFuture<Integer> startPullingAsync() throws RemoteException {
+
+        startTrial();
+
+        informationRepository.applyUpdates(new UpdateBatch()
+                .updateReferee(RefereeState.WAIT_FOR_TRIAL_CONCLUSION.getId())
+                .printLineUpdate());
+
+        return whenPulled(ropePulled.getPhase()).thenApply(pulled -> RefereeState.WAIT_FOR_TRIAL_CONCLUSION.getId());
+    }
+
     @Override
     public void getContestant(int id, int team) throws RemoteException{
 
@@ -205,24 +310,31 @@ public class Playground implements InterfacePlayground {
             Triple<Integer, ContestantState, Integer> temp = it.next();
 
             if (temp.getFirst() == id) {
+                teamStrength[team - 1] -= temp.getThird();
                 it.remove();
                 break;
             }
         }
 
-        informationRepository.resetTeamPlacement(id, team);
-        informationRepository.printLineUpdate();
+        informationRepository.applyUpdates(new UpdateBatch()
+                .resetTeamPlacement(id, team)
+                .printLineUpdate());
 
         lock.unlock();
     }
 
     @Override
     public int getFlagPosition() throws RemoteException{
-        int result;
+        return this.flagPosition;
+    }
+
+    @Override
+    public int[] getTeamStrengths() throws RemoteException{
+        int[] result;
 
         lock.lock();
 
-        result = this.flagPosition;
+        result = teamStrength.clone();
 
         lock.unlock();
 
@@ -231,15 +343,7 @@ public class Playground implements InterfacePlayground {
 
     @Override
     public int getLastFlagPosition() throws RemoteException{
-        int result;
-
-        lock.lock();
-
-        result = this.lastFlagPosition;
-
-        lock.unlock();
-
-        return result;
+        return this.lastFlagPosition;
     }
 
     @Override
@@ -250,23 +354,30 @@ public class Playground implements InterfacePlayground {
         this.lastFlagPosition = flagPosition;
         this.flagPosition = flagPosition;
 
+        // the referee sets the flag only when it announces a game
+        game++;
+        trial = 0;
+
         lock.unlock();
     }
 
     @Override
     public void allHavePulled() throws RemoteException{
-        lock.lock();
         try {
-            this.finishedPulling.await();
+            waitForPulls();
         } catch (InterruptedException ex) {
             Logger.getLogger(Playground.class.getName()).log(Level.SEVERE, null, ex);
         }
-        lock.unlock();
+    }
+
+    @Override
+    public CompletableFuture<Void> allHavePulledAsync() throws RemoteException {
+        return whenPulled(ropePulled.getPhase());
     }
 
     @Override
     public boolean areAllContestantsReady() {
-        return (teams[0].size() + teams[1].size()) == 3 * 2;
+        return (teams[0].size() + teams[1].size()) == config.getPullers() * 2;
     }
 
 
@@ -278,7 +389,7 @@ public class Playground implements InterfacePlayground {
 
         shutdownVotes++;
 
-        result = shutdownVotes == (1 + 2 * (1 + 5));
+        result = shutdownVotes == config.getShutdownVotes();
 
         lock.unlock();
 
@@ -286,21 +397,104 @@ public class Playground implements InterfacePlayground {
     }
 
     /**
-     * Updates the flag position accordingly with the teams joint forces
+     * Waits until every puller of the last started trial has pulled the rope
+     *
+     * @throws InterruptedException if interrupted while waiting
      */
-    private void updateFlagPosition() {
-        int team1 = 0;
-        int team2 = 0;
+    private void waitForPulls() throws InterruptedException {
+        int phase;
+
+        while ((phase = ropePulled.getPhase()) < trialStarted.getPhase()) {
+            ropePulled.awaitAdvanceInterruptibly(phase);
+        }
+    }
+
+    /**
+     * Gets a future of every puller of the last started trial having pulled
+     * the rope. The phase is passed along instead of read again, since the
+     * futures are completed before the phaser moves to the next phase.
+     *
+     * @param phase of the pulls seen so far
+     * @return future completed when the pulls of the trial are over
+     */
+    private CompletableFuture<Void> whenPulled(int phase) {
+        if (phase >= trialStarted.getPhase()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return ropePulled.whenAdvanced(phase).thenCompose(this::whenPulled);
+    }
+
+    /**
+     * Places a contestant in the position of the team
+     *
+     * @param id of the contestant
+     * @param team of the contestant
+     * @param strength of the contestant
+     * @return phase of the trial the contestant is going to pull in
+     * @throws RemoteException if the general information repository can not be updated
+     */
+    private int takePosition(int id, int team, int strength) throws RemoteException {
+        List<CompletableFuture<Void>> inPosition = null;
+        int phase;
+
+        lock.lock();
+
+        // the trial can not start before the team is complete
+        phase = trialStarted.getPhase();
+
+        try {
+            teams[team - 1].add(new Triple<>(id, ContestantState.STAND_IN_POSITION, strength));
+            teamStrength[team - 1] += strength;
+
+            informationRepository.applyUpdates(new UpdateBatch()
+                    .updateContestant(id, team, ContestantState.STAND_IN_POSITION.getId(), strength)
+                    .setTeamPlacement(id, team)
+                    .printLineUpdate());
 
-        // id, state, strength
-        for (Triple<Integer, ContestantState, Integer> contestant : this.teams[0]) {
-            team1 += contestant.getThird();
+            if (isTeamInPlace(team)) {
+                teamsInPosition.signalAll();
+                inPosition = teamInPosition[team - 1].takeAll();
+            }
+        } finally {
+            lock.unlock();
         }
 
-        for (Triple<Integer, ContestantState, Integer> contestant : this.teams[1]) {
-            team2 += contestant.getThird();
+        WaitList.release(inPosition);
+
+        return phase;
+    }
+
+    /**
+     * Starts a trial, letting the contestants in position pull
+     */
+    private void startTrial() {
+        ropePulledEvent = ROPE_PULLED_EVENT.isEnabled() ? new RopePulledEvent() : null;
+        if (ropePulledEvent != null) {
+            ropePulledEvent.begin();
         }
 
+        lock.lock();
+
+        trial++;
+
+        lock.unlock();
+
+        trialStarted.arrive();
+    }
+
+    /**
+     * Updates the flag position accordingly with the teams joint forces. Run
+     * by the last puller of the trial.
+     */
+    private void updateFlagPosition() {
+        lock.lock();
+
+        int team1 = teamStrength[0];
+        int team2 = teamStrength[1];
+        int game = this.game;
+        int trial = this.trial;
+
         lastFlagPosition = flagPosition;
 
         if (team1 > team2) {
@@ -308,6 +502,26 @@ public class Playground implements InterfacePlayground {
         } else if (team1 < team2) {
             this.flagPosition++;
         }
+
+        lock.unlock();
+
+        RopePulledEvent event = ropePulledEvent;
+
+        if (event == null) {
+            return;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.match = match;
+            event.game = game;
+            event.trial = trial;
+            event.strengthTeam1 = team1;
+            event.strengthTeam2 = team2;
+            event.flagDelta = flagPosition - lastFlagPosition;
+            event.flagPosition = flagPosition;
+            event.commit();
+        }
     }
 
     /**
@@ -317,6 +531,6 @@ public class Playground implements InterfacePlayground {
      * @return true if team in place and ready.
      */
     private boolean isTeamInPlace(int teamId) {
-        return this.teams[teamId - 1].size() == 3;
+        return this.teams[teamId - 1].size() == config.getPullers();
     }
 }
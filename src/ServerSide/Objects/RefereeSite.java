@@ -2,29 +2,35 @@ package ServerSide.Objects;
 
 import Interfaces.InterfaceGeneralInformationRepository;
 import Interfaces.InterfaceRefereeSite;
+import Interfaces.InterfaceRefereeSiteAsync;
+import Others.MatchConfig;
+import Others.MatchEvents.ScoreEvent;
 import Others.InterfaceReferee.RefereeState;
+import ServerSide.Instrumentation.InstrumentedLock;
 
 import static java.lang.System.out;
 
 import java.rmi.RemoteException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import jdk.jfr.EventType;
+
 /**
  * This is an passive class that describes the Referee Site
  */
-public class RefereeSite implements InterfaceRefereeSite {
+public class RefereeSite implements InterfaceRefereeSite, InterfaceRefereeSiteAsync {
 
-    private static RefereeSite instance;        // singleton
+    private static final EventType SCORE_EVENT = EventType.getEventType(ScoreEvent.class);
 
     // locking and waiting condtions
-    private final Lock lock;
+    private final InstrumentedLock lock;
     private final Condition informReferee;      // condition for referee wait for the coaches
+    private final WaitList teamsReady;          // asynchronous referee waiting for the coaches
 
     private int informRefereeCounter;           // counter of how many coaches informed the referee  
     private boolean hasMatchEnded;
@@ -34,33 +40,39 @@ public class RefereeSite implements InterfaceRefereeSite {
     private final List<GameScore> gameStatus;   // current game status
 
     private final InterfaceGeneralInformationRepository informationRepository;
+    private final MatchConfig config;           // configuration of the match
+    private final int match;                    // id of the match
 
 
     /**
-     * The method returns the RefereeSite object. The method is thread-safe and
-     * uses the implicit monitor of the class.
+     * Public constructor for a referee site with the default match configuration
      *
      * @param informationRepository interface to use
-     * @return referee site object to be used
      */
-    public static synchronized RefereeSite getInstance(InterfaceGeneralInformationRepository informationRepository) {
-        if (instance == null) {
-            instance = new RefereeSite(informationRepository);
-        }
-
-        return instance;
+    public RefereeSite(InterfaceGeneralInformationRepository informationRepository) {
+        this(informationRepository, MatchConfig.getDefault(), 0);
     }
 
     /**
-     * Private constructor to be used in singleton
+     * Public constructor for a referee site. There is one referee site for
+     * each match, so the site keeps no state shared with other matches.
+     *
+     * @param informationRepository interface to use
+     * @param config configuration of the match
+     * @param match id of the match
      */
-    private RefereeSite(InterfaceGeneralInformationRepository informationRepository) {
-        lock = new ReentrantLock();
+    public RefereeSite(InterfaceGeneralInformationRepository informationRepository, MatchConfig config,
+            int match) {
+        this.config = config;
+        this.match = match;
+
+        lock = new InstrumentedLock("RefereeSite");
 
         trialStatus = new LinkedList<>();
         gameStatus = new LinkedList<>();
 
-        informReferee = lock.newCondition();
+        informReferee = lock.newCondition("informReferee");
+        teamsReady = new WaitList();
         informRefereeCounter = 0;
         hasMatchEnded = false;
         this.informationRepository = informationRepository;
@@ -108,7 +120,7 @@ public class RefereeSite implements InterfaceRefereeSite {
 
         lock.lock();
 
-        remaining = 6 - this.trialStatus.size();
+        remaining = config.getTrials() - this.trialStatus.size();
 
         lock.unlock();
 
@@ -121,7 +133,7 @@ public class RefereeSite implements InterfaceRefereeSite {
 
         lock.lock();
 
-        remaining = 3 - this.gameStatus.size();
+        remaining = config.getGames() - this.gameStatus.size();
 
         lock.unlock();
 
@@ -130,21 +142,35 @@ public class RefereeSite implements InterfaceRefereeSite {
 
     @Override
     public void addGamePoint(GameScore score) throws RemoteException{
+        int game;
+        int trial;
+
         lock.lock();
 
         this.gameStatus.add(score);
+        game = gameStatus.size();
+        trial = trialStatus.size();
         this.trialStatus.clear();
 
         lock.unlock();
+
+        scored("game", score.name(), game, trial);
     }
 
     @Override
     public void addTrialPoint(TrialScore score) throws RemoteException{
+        int game;
+        int trial;
+
         lock.lock();
 
         this.trialStatus.add(score);
+        game = gameStatus.size() + 1;
+        trial = trialStatus.size();
 
         lock.unlock();
+
+        scored("trial", score.name(), game, trial);
     }
 
     @Override
@@ -169,17 +195,47 @@ public class RefereeSite implements InterfaceRefereeSite {
         return RefereeState.TEAMS_READY.getId();
     }
 
+    @Override
+    public CompletableFuture<Integer> bothTeamsReadyAsync() throws RemoteException {
+        CompletableFuture<Void> ready;
+
+        lock.lock();
+
+        try {
+            informationRepository.printLineUpdate();
+
+            ready = (informRefereeCounter == 2) ? CompletableFuture.completedFuture(null) : teamsReady.add();
+        } finally {
+            lock.unlock();
+        }
+
+        return ready.thenApply(informed -> {
+            lock.lock();
+
+            informRefereeCounter = 0;
+
+            lock.unlock();
+
+            return RefereeState.TEAMS_READY.getId();
+        });
+    }
+
     @Override
     public void informReferee() throws RemoteException{
+        List<CompletableFuture<Void>> ready = null;
+
         lock.lock();
 
         informRefereeCounter++;
 
         if (informRefereeCounter == 2) {
             informReferee.signal();
+            ready = teamsReady.takeAll();
         }
 
         lock.unlock();
+
+        WaitList.release(ready);
     }
 
     @Override
@@ -214,11 +270,36 @@ public class RefereeSite implements InterfaceRefereeSite {
 
         shutdownVotes++;
 
-        result = shutdownVotes == (1 + 2 * (1 + 5));
+        result = shutdownVotes == config.getShutdownVotes();
 
         lock.unlock();
 
         return result;
     }
 
+    /**
+     * Emits the event of a point scored
+     *
+     * @param kind trial or game
+     * @param score scored
+     * @param game game the point was scored in
+     * @param trial trials of the game played
+     */
+    private void scored(String kind, String score, int game, int trial) {
+        if (!SCORE_EVENT.isEnabled()) {
+            return;
+        }
+
+        ScoreEvent event = new ScoreEvent();
+
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.score = score;
+            event.match = match;
+            event.game = game;
+            event.trial = trial;
+            event.commit();
+        }
+    }
+
 }
@@ -3,6 +3,7 @@ package ServerSide.Objects;
 import java.rmi.registry.*;
 import java.rmi.*;
 import Interfaces.*;
+import Others.MatchConfig;
 
 /**
  *   Generic functionality to register in the local RMI registry service objects located
@@ -24,6 +25,12 @@ public class RegisterRemoteObject implements Register
 
    private int rmiRegPortNumb = 1099;
 
+  /**
+   *  Configuration of the match published to the servers and clients.
+   */
+
+   private final MatchConfig config;
+
   /**
    *  Instantiation of a registering object.
    *
@@ -33,6 +40,22 @@ public class RegisterRemoteObject implements Register
 
    public RegisterRemoteObject (String rmiRegHostName, int rmiRegPortNumb)
    {
+      this (rmiRegHostName, rmiRegPortNumb, MatchConfig.getDefault ());
+   }
+
+  /**
+   *  Instantiation of a registering object that publishes a match configuration.
+   *
+   *     @param rmiRegHostName name of local host
+   *     @param rmiRegPortNumb port number where the local registering service is listening to
+   *     @param config configuration of the match
+   */
+
+   public RegisterRemoteObject (String rmiRegHostName, int rmiRegPortNumb, MatchConfig config)
+   {
+      if (config == null)
+         throw new NullPointerException ("RegisterRemoteObject: null match configuration on instantiation!");
+      this.config = config;
       if ((rmiRegHostName == null) || ("".equals (rmiRegHostName)))
          throw new NullPointerException ("RegisterRemoteObject: null parameter on instantiation!");
       this.rmiRegHostName = rmiRegHostName;
@@ -102,4 +125,16 @@ public class RegisterRemoteObject implements Register
      registry = LocateRegistry.getRegistry (rmiRegHostName, rmiRegPortNumb);
      registry.rebind (name, ref);
    }
+
+  /**
+   *  Gets the configuration of the match, which every server and client reads at startup.
+   *
+   *    @return match configuration
+   */
+
+   @Override
+   public MatchConfig getMatchConfig ()
+   {
+     return config;
+   }
 }
@@ -0,0 +1,69 @@
+package ServerSide.Objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Futures of the asynchronous callers waiting on a condition of a shared
+ * region, kept beside the condition the synchronous callers wait on. It is
+ * guarded by the lock of the region; the futures taken out are completed
+ * after the lock is released, so what runs on completion does not run in
+ * the critical section.
+ */
+class WaitList {
+
+    private List<CompletableFuture<Void>> waiting;    // futures not yet completed, null if none
+
+    /**
+     * Package-private constructor
+     */
+    WaitList() {
+        waiting = null;
+    }
+
+    /**
+     * Adds a waiting caller
+     *
+     * @return future completed when the caller is released
+     */
+    CompletableFuture<Void> add() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        if (waiting == null) {
+            waiting = new ArrayList<>(2);
+        }
+        waiting.add(future);
+
+        return future;
+    }
+
+    /**
+     * Takes out every waiting caller
+     *
+     * @return futures to be completed once the lock is released
+     */
+    List<CompletableFuture<Void>> takeAll() {
+        List<CompletableFuture<Void>> taken = (waiting == null) ? Collections.emptyList() : waiting;
+
+        waiting = null;
+
+        return taken;
+    }
+
+    /**
+     * Releases the callers taken out of a wait list
+     *
+     * @param taken futures to be completed, may be null
+     */
+    static void release(List<CompletableFuture<Void>> taken) {
+        if (taken == null) {
+            return;
+        }
+
+        for (CompletableFuture<Void> future : taken) {
+            future.complete(null);
+        }
+    }
+}